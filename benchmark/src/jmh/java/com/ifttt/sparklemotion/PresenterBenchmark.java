@@ -0,0 +1,146 @@
+package com.ifttt.sparklemotion;
+
+import android.content.Context;
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+import com.ifttt.sparklemotion.animations.TranslationAnimation;
+import com.ifttt.sparklemotion.stress.StressScene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the presenter hot paths, measured in ns per frame. Run with the gc profiler (the default of
+ * this module), {@code gc.alloc.rate.norm} is the number of bytes allocated per frame.
+ * <p/>
+ * Every invocation advances the scroll by one frame, sweeping the ViewPager from the first to the last page in
+ * {@link #FRAMES_PER_PAGE} frames per page.
+ * <p/>
+ * Scenes are generated by {@link StressScene}, so that the scaling curves over page count and Decor count measure
+ * the same mix of animations and pages as the scenes of the demo and the tests.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PresenterBenchmark {
+
+    private static final int PAGE_WIDTH = 1080;
+    private static final int PAGE_HEIGHT = 1920;
+
+    private static final int FRAMES_PER_PAGE = 30;
+
+    /**
+     * Number of animated Views in every page.
+     */
+    private static final int ANIMATED_VIEWS_PER_PAGE = 4;
+
+    @Param({ "5", "25", "100" })
+    public int pageCount;
+
+    @Param({ "4", "16", "64" })
+    public int decorCount;
+
+    @Param({ "1", "4" })
+    public int animationsPerView;
+
+    @Param({ "1", "8" })
+    public int hierarchyDepth;
+
+    private SparkleMotion presenter;
+    private ViewPager viewPager;
+    private Animation animation;
+    private View animationTarget;
+
+    private int frame;
+    private int position;
+    private float offset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Context context = new Context();
+        StressScene scene = new StressScene.Builder()
+                .pageCount(pageCount)
+                .decorCount(decorCount)
+                .animationsPerTarget(animationsPerView)
+                .animatedViewsPerPage(ANIMATED_VIEWS_PER_PAGE)
+                .hierarchyDepth(hierarchyDepth)
+                .build();
+
+        SparkleViewPagerLayout layout = new SparkleViewPagerLayout(context);
+        viewPager = new ViewPager(context);
+        viewPager.layout(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+        layout.addView(viewPager);
+        for (int i = 0; i < pageCount; i++) {
+            View page = scene.buildPage(context);
+            page.layout(i * PAGE_WIDTH, 0, (i + 1) * PAGE_WIDTH, PAGE_HEIGHT);
+            viewPager.addView(page);
+        }
+
+        ExternalAnimationBuilder builder = SparkleMotion.newBuilder(layout);
+        scene.animate(builder);
+        for (View decor : scene.addDecors(builder, layout)) {
+            decor.layout(0, 0, PAGE_WIDTH / 4, PAGE_WIDTH / 4);
+        }
+        presenter = builder.presenter;
+
+        animation = new TranslationAnimation(0, 0, PAGE_WIDTH, PAGE_HEIGHT, true);
+        animationTarget = new View(context);
+
+        // Resolve caches and indices before measuring.
+        for (int i = 0; i < FRAMES_PER_PAGE * pageCount; i++) {
+            advance();
+            viewPager.scrollTo(position, offset);
+        }
+    }
+
+    /**
+     * A full frame, dispatched the same way as a ViewPager does: the OnPageChangeListener runs the Decor animations,
+     * then the PageTransformer runs the in-page animations of every page within the offscreen limit.
+     */
+    @Benchmark
+    public void frame() {
+        advance();
+        viewPager.scrollTo(position, offset);
+    }
+
+    @Benchmark
+    public void presentAnimations() {
+        advance();
+
+        int first = Math.max(0, position - viewPager.getOffscreenPageLimit());
+        int last = Math.min(pageCount - 1, position + viewPager.getOffscreenPageLimit() + 1);
+        for (int i = first; i <= last; i++) {
+            float pagePosition = i - position - offset;
+            presenter.presentAnimations(viewPager, viewPager.getChildAt(i), pagePosition,
+                    PAGE_WIDTH * -pagePosition);
+        }
+    }
+
+    @Benchmark
+    public void presentDecorAnimations() {
+        advance();
+        presenter.presentDecorAnimations(position, offset);
+    }
+
+    @Benchmark
+    public void animate() {
+        advance();
+        animation.animate(animationTarget, offset, PAGE_WIDTH * -offset);
+    }
+
+    private void advance() {
+        frame = (frame + 1) % (Math.max(1, pageCount - 1) * FRAMES_PER_PAGE);
+        position = frame / FRAMES_PER_PAGE;
+        offset = (float) (frame % FRAMES_PER_PAGE) / FRAMES_PER_PAGE;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ifttt.sparklemotion;
+
+import android.content.Context;
+import android.view.View;
+import android.view.animation.AccelerateInterpolator;
+
+import com.ifttt.sparklemotion.animations.KeyframeAnimation;
+import com.ifttt.sparklemotion.scene.Scene;
+import com.ifttt.sparklemotion.scene.SceneLoader;
+import com.ifttt.sparklemotion.scene.compiler.SceneCompiler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of loading a compiled scene, measured in us per scene, against building the same animations in code
+ * with {@link KeyframeAnimation.Builder}.
+ * <p/>
+ * Every animation of the scene fades its target in, scales it, and moves it along a curve sampled with
+ * {@link #PATH_INTERVALS} intervals, over a range of {@link #PAGES_PER_ANIMATION} pages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SceneLoaderBenchmark {
+
+    private static final int PAGES_PER_ANIMATION = 2;
+    private static final int PATH_INTERVALS = 32;
+    private static final int TARGET_COUNT = 16;
+
+    private static final SceneLoader.IdResolver RESOLVER = new SceneLoader.IdResolver() {
+        @Override
+        public int getId(String name) {
+            return Integer.parseInt(name.substring(name.lastIndexOf('_') + 1)) + 1;
+        }
+    };
+
+    @Param({ "10", "500" })
+    public int animationCount;
+
+    private byte[] compiledScene;
+    private ByteBuffer directScene;
+    private File sceneFile;
+
+    /**
+     * Path samples of every animation, as they would be computed by PathMeasure when building in code.
+     */
+    private float[][] pathXs;
+    private float[][] pathYs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < animationCount; i++) {
+            int page = i % 10;
+            source.append("animate target_").append(i % TARGET_COUNT)
+                    .append(" pages ").append(page).append('-').append(page + PAGES_PER_ANIMATION - 1).append('\n')
+                    .append("    alpha ").append(page).append(":0 ").append(page + 1).append(":1\n")
+                    .append("    scale_x ").append(page).append(":1 ")
+                    .append(page + PAGES_PER_ANIMATION).append(":0.5:accelerate\n")
+                    .append("    path ").append(page).append(' ').append(page + PAGES_PER_ANIMATION).append(' ')
+                    .append(PATH_INTERVALS).append(" \"M0 0 C").append(i).append(" 0 200 300 400 300\"\n");
+        }
+
+        compiledScene = SceneCompiler.compile(source.toString());
+        directScene = ByteBuffer.allocateDirect(compiledScene.length);
+        directScene.put(compiledScene).flip();
+
+        sceneFile = File.createTempFile("scene", ".bin");
+        FileOutputStream outputStream = new FileOutputStream(sceneFile);
+        try {
+            outputStream.write(compiledScene);
+        } finally {
+            outputStream.close();
+        }
+
+        View view = new View(new Context());
+        Scene scene = SceneLoader.load(ByteBuffer.wrap(compiledScene), RESOLVER);
+        pathXs = new float[animationCount][PATH_INTERVALS + 1];
+        pathYs = new float[animationCount][PATH_INTERVALS + 1];
+        for (int i = 0; i < animationCount; i++) {
+            int page = i % 10;
+            Animation animation = scene.getAnimation(i);
+            for (int j = 0; j <= PATH_INTERVALS; j++) {
+                animation.setScrollPosition(page + (float) PAGES_PER_ANIMATION * j / PATH_INTERVALS);
+                animation.onAnimate(view, 0f, 0f);
+                pathXs[i][j] = view.getTranslationX();
+                pathYs[i][j] = view.getTranslationY();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (!sceneFile.delete()) {
+            sceneFile.deleteOnExit();
+        }
+    }
+
+    /**
+     * Load the scene from a direct buffer, as read from a compressed asset.
+     */
+    @Benchmark
+    public Scene loadDirectBuffer() {
+        return SceneLoader.load(directScene, RESOLVER);
+    }
+
+    /**
+     * Load the scene from a memory-mapped file, as for an uncompressed asset.
+     */
+    @Benchmark
+    public Scene loadMappedFile() throws IOException {
+        return SceneLoader.load(sceneFile, RESOLVER);
+    }
+
+    /**
+     * Build the same animations one by one, given precomputed path samples.
+     */
+    @Benchmark
+    public Animation[] buildInCode() {
+        AccelerateInterpolator interpolator = new AccelerateInterpolator();
+        Animation[] animations = new Animation[animationCount];
+        for (int i = 0; i < animationCount; i++) {
+            int page = i % 10;
+            KeyframeAnimation.Builder builder = new KeyframeAnimation.Builder()
+                    .keyframe(KeyframeAnimation.ALPHA, page, 0f)
+                    .keyframe(KeyframeAnimation.ALPHA, page + 1, 1f)
+                    .keyframe(KeyframeAnimation.SCALE_X, page, 1f)
+                    .keyframe(KeyframeAnimation.SCALE_X, page + PAGES_PER_ANIMATION, 0.5f, interpolator);
+            for (int j = 0; j <= PATH_INTERVALS; j++) {
+                float position = page + (float) PAGES_PER_ANIMATION * j / PATH_INTERVALS;
+                builder.keyframe(KeyframeAnimation.TRANSLATION_X, position, pathXs[i][j])
+                        .keyframe(KeyframeAnimation.TRANSLATION_Y, position, pathYs[i][j]);
+            }
+
+            animations[i] = builder.build();
+            animations[i].setPage(Page.pageRange(page, page + PAGES_PER_ANIMATION - 1));
+        }
+
+        return animations;
+    }
+}
@@ -0,0 +1,25 @@
+package android.content;
+
+import android.content.res.AssetManager;
+import android.content.res.Resources;
+
+/**
+ * JVM stand-in for {@code android.content.Context}, mostly used as a constructor argument of Views.
+ */
+public class Context {
+
+    private final Resources resources = new Resources();
+    private final AssetManager assets = new AssetManager();
+
+    public Resources getResources() {
+        return resources;
+    }
+
+    public AssetManager getAssets() {
+        return assets;
+    }
+
+    public String getPackageName() {
+        return "com.ifttt.sparklemotion";
+    }
+}
@@ -0,0 +1,30 @@
+package android.content.res;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * JVM stand-in for {@code android.content.res.AssetFileDescriptor}.
+ */
+public class AssetFileDescriptor implements Closeable {
+
+    private AssetFileDescriptor() {
+    }
+
+    public FileInputStream createInputStream() throws IOException {
+        throw new IOException("No assets");
+    }
+
+    public long getStartOffset() {
+        return 0;
+    }
+
+    public long getLength() {
+        return 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+}
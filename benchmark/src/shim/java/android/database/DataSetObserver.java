@@ -0,0 +1,13 @@
+package android.database;
+
+/**
+ * JVM stand-in for {@code android.database.DataSetObserver}.
+ */
+public abstract class DataSetObserver {
+
+    public void onChanged() {
+    }
+
+    public void onInvalidated() {
+    }
+}
@@ -0,0 +1,7 @@
+package android.graphics;
+
+/**
+ * JVM stand-in for {@code android.graphics.Paint}.
+ */
+public class Paint {
+}
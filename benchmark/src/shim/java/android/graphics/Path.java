@@ -0,0 +1,31 @@
+package android.graphics;
+
+import java.util.Arrays;
+
+/**
+ * JVM stand-in for {@code android.graphics.Path}, supporting polylines only.
+ */
+public class Path {
+
+    float[] points = new float[16];
+    int pointCount;
+
+    public void moveTo(float x, float y) {
+        pointCount = 0;
+        lineTo(x, y);
+    }
+
+    public void lineTo(float x, float y) {
+        if ((pointCount + 1) * 2 > points.length) {
+            points = Arrays.copyOf(points, points.length * 2);
+        }
+
+        points[pointCount * 2] = x;
+        points[pointCount * 2 + 1] = y;
+        pointCount++;
+    }
+
+    public void reset() {
+        pointCount = 0;
+    }
+}
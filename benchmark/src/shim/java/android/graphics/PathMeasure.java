@@ -0,0 +1,63 @@
+package android.graphics;
+
+/**
+ * JVM stand-in for {@code android.graphics.PathMeasure}, measuring the polyline of a {@link Path} by walking its
+ * segments, like the platform implementation walks the contours.
+ */
+public class PathMeasure {
+
+    private final float[] points;
+    private final int pointCount;
+
+    public PathMeasure(Path path, boolean forceClosed) {
+        points = path.points.clone();
+        pointCount = path.pointCount;
+    }
+
+    public float getLength() {
+        float length = 0;
+        for (int i = 1; i < pointCount; i++) {
+            length += segmentLength(i);
+        }
+
+        return length;
+    }
+
+    public boolean getPosTan(float distance, float[] pos, float[] tan) {
+        if (pointCount == 0) {
+            return false;
+        }
+
+        for (int i = 1; i < pointCount; i++) {
+            float segmentLength = segmentLength(i);
+            if (distance <= segmentLength || i == pointCount - 1) {
+                float fraction = segmentLength == 0 ? 0 : Math.min(distance / segmentLength, 1f);
+                float dx = points[i * 2] - points[i * 2 - 2];
+                float dy = points[i * 2 + 1] - points[i * 2 - 1];
+                if (pos != null) {
+                    pos[0] = points[i * 2 - 2] + fraction * dx;
+                    pos[1] = points[i * 2 - 1] + fraction * dy;
+                }
+                if (tan != null) {
+                    tan[0] = segmentLength == 0 ? 1 : dx / segmentLength;
+                    tan[1] = segmentLength == 0 ? 0 : dy / segmentLength;
+                }
+                return true;
+            }
+
+            distance -= segmentLength;
+        }
+
+        if (pos != null) {
+            pos[0] = points[0];
+            pos[1] = points[1];
+        }
+        return true;
+    }
+
+    private float segmentLength(int i) {
+        float dx = points[i * 2] - points[i * 2 - 2];
+        float dy = points[i * 2 + 1] - points[i * 2 - 1];
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,28 @@
+package android.os;
+
+/**
+ * JVM stand-in for {@code android.os.Build}, reporting the latest API level.
+ */
+public final class Build {
+
+    private Build() {
+    }
+
+    public static final class VERSION {
+
+        public static final int SDK_INT = 25;
+
+        private VERSION() {
+        }
+    }
+
+    public static final class VERSION_CODES {
+
+        public static final int JELLY_BEAN = 16;
+        public static final int JELLY_BEAN_MR2 = 18;
+        public static final int LOLLIPOP = 21;
+
+        private VERSION_CODES() {
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package android.os;
+
+/**
+ * JVM stand-in for {@code android.os.Handler}, which runs posted messages immediately.
+ */
+public class Handler {
+
+    public Handler() {
+    }
+
+    public Handler(Looper looper) {
+    }
+
+    public boolean post(Runnable r) {
+        r.run();
+        return true;
+    }
+
+    public boolean postDelayed(Runnable r, long delayMillis) {
+        r.run();
+        return true;
+    }
+
+    public boolean postAtFrontOfQueue(Runnable r) {
+        r.run();
+        return true;
+    }
+
+    public void removeCallbacks(Runnable r) {
+    }
+}
@@ -0,0 +1,20 @@
+package android.os;
+
+/**
+ * JVM stand-in for {@code android.os.Looper}, with a single main looper.
+ */
+public final class Looper {
+
+    private static final Looper MAIN = new Looper();
+
+    private Looper() {
+    }
+
+    public static Looper getMainLooper() {
+        return MAIN;
+    }
+
+    public static Looper myLooper() {
+        return MAIN;
+    }
+}
@@ -0,0 +1,16 @@
+package android.os;
+
+/**
+ * JVM stand-in for {@code android.os.Trace}, dropping all sections.
+ */
+public final class Trace {
+
+    private Trace() {
+    }
+
+    public static void beginSection(String sectionName) {
+    }
+
+    public static void endSection() {
+    }
+}
@@ -0,0 +1,76 @@
+package android.support.v4.util;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for {@code android.support.v4.util.SimpleArrayMap}, keeping entries in insertion order.
+ */
+public class SimpleArrayMap<K, V> {
+
+    private final ArrayList<K> keys;
+    private final ArrayList<V> values;
+
+    public SimpleArrayMap() {
+        this(0);
+    }
+
+    public SimpleArrayMap(int capacity) {
+        keys = new ArrayList<>(capacity);
+        values = new ArrayList<>(capacity);
+    }
+
+    public V get(Object key) {
+        int index = keys.indexOf(key);
+        return index < 0 ? null : values.get(index);
+    }
+
+    public V put(K key, V value) {
+        int index = keys.indexOf(key);
+        if (index < 0) {
+            keys.add(key);
+            values.add(value);
+            return null;
+        }
+
+        return values.set(index, value);
+    }
+
+    public V remove(Object key) {
+        int index = keys.indexOf(key);
+        return index < 0 ? null : removeAt(index);
+    }
+
+    public V removeAt(int index) {
+        keys.remove(index);
+        return values.remove(index);
+    }
+
+    public int indexOfKey(Object key) {
+        return keys.indexOf(key);
+    }
+
+    public boolean containsKey(Object key) {
+        return keys.contains(key);
+    }
+
+    public K keyAt(int index) {
+        return keys.get(index);
+    }
+
+    public V valueAt(int index) {
+        return values.get(index);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public boolean isEmpty() {
+        return keys.isEmpty();
+    }
+
+    public void clear() {
+        keys.clear();
+        values.clear();
+    }
+}
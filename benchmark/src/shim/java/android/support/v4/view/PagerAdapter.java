@@ -0,0 +1,33 @@
+package android.support.v4.view;
+
+import android.database.DataSetObserver;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for {@code android.support.v4.view.PagerAdapter}.
+ */
+public abstract class PagerAdapter {
+
+    private final ArrayList<DataSetObserver> observers = new ArrayList<>();
+
+    public abstract int getCount();
+
+    public float getPageWidth(int position) {
+        return 1f;
+    }
+
+    public void registerDataSetObserver(DataSetObserver observer) {
+        observers.add(observer);
+    }
+
+    public void unregisterDataSetObserver(DataSetObserver observer) {
+        observers.remove(observer);
+    }
+
+    public void notifyDataSetChanged() {
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).onChanged();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package android.support.v4.view;
+
+import android.view.View;
+
+/**
+ * JVM stand-in for {@code android.support.v4.view.ViewCompat}.
+ */
+public final class ViewCompat {
+
+    private ViewCompat() {
+    }
+
+    public static boolean isLaidOut(View view) {
+        return view.getWidth() > 0 || view.getHeight() > 0;
+    }
+
+    public static boolean isAttachedToWindow(View view) {
+        return view.isAttachedToWindow();
+    }
+}
@@ -0,0 +1,155 @@
+package android.support.v4.view;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for {@code android.support.v4.view.ViewPager}. It doesn't scroll by itself, instead
+ * {@link #scrollTo(int, float)} dispatches the same callbacks as the platform ViewPager does for a scroll: the
+ * {@link OnPageChangeListener}s first, then the {@link PageTransformer} for every child.
+ */
+public class ViewPager extends ViewGroup {
+
+    public static final int SCROLL_STATE_IDLE = 0;
+    public static final int SCROLL_STATE_DRAGGING = 1;
+    public static final int SCROLL_STATE_SETTLING = 2;
+
+    public interface PageTransformer {
+        void transformPage(View page, float position);
+    }
+
+    public interface OnPageChangeListener {
+        void onPageScrolled(int position, float positionOffset, int positionOffsetPixels);
+
+        void onPageSelected(int position);
+
+        void onPageScrollStateChanged(int state);
+    }
+
+    public static class SimpleOnPageChangeListener implements OnPageChangeListener {
+        @Override
+        public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        }
+
+        @Override
+        public void onPageSelected(int position) {
+        }
+
+        @Override
+        public void onPageScrollStateChanged(int state) {
+        }
+    }
+
+    public static class LayoutParams extends ViewGroup.LayoutParams {
+        public boolean isDecor;
+
+        public LayoutParams() {
+            super(MATCH_PARENT, MATCH_PARENT);
+        }
+    }
+
+    private final ArrayList<OnPageChangeListener> listeners = new ArrayList<>();
+    private PageTransformer transformer;
+    private PagerAdapter adapter;
+    private int currentItem;
+    private int pageMargin;
+    private int offscreenPageLimit = 1;
+
+    public ViewPager(Context context) {
+        super(context);
+    }
+
+    public void addOnPageChangeListener(OnPageChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeOnPageChangeListener(OnPageChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public int getOnPageChangeListenerCount() {
+        return listeners.size();
+    }
+
+    public void setPageTransformer(boolean reverseDrawingOrder, PageTransformer transformer) {
+        this.transformer = transformer;
+    }
+
+    public PageTransformer getPageTransformer() {
+        return transformer;
+    }
+
+    public PagerAdapter getAdapter() {
+        return adapter;
+    }
+
+    public void setAdapter(PagerAdapter adapter) {
+        this.adapter = adapter;
+    }
+
+    public int getCurrentItem() {
+        return currentItem;
+    }
+
+    public void setCurrentItem(int item) {
+        if (item != currentItem) {
+            currentItem = item;
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).onPageSelected(item);
+            }
+        }
+    }
+
+    public int getPageMargin() {
+        return pageMargin;
+    }
+
+    public void setPageMargin(int pageMargin) {
+        this.pageMargin = pageMargin;
+    }
+
+    public int getOffscreenPageLimit() {
+        return offscreenPageLimit;
+    }
+
+    public void setOffscreenPageLimit(int limit) {
+        offscreenPageLimit = limit;
+    }
+
+    /**
+     * Dispatch the callbacks of a scroll to the given position, assuming child {@code i} is the page at adapter
+     * position {@code i}. Like the platform ViewPager, only the pages within the offscreen page limit of the
+     * current page are transformed.
+     *
+     * @param position Position of the page on the left of the screen.
+     * @param offset   Offset of the scroll from that page, in the range [0, 1).
+     */
+    public void scrollTo(int position, float offset) {
+        int width = getWidth();
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onPageScrolled(position, offset, (int) (offset * width));
+        }
+
+        if (transformer != null) {
+            int first = Math.max(0, position - offscreenPageLimit);
+            int last = Math.min(getChildCount() - 1, position + offscreenPageLimit + 1);
+            for (int i = first; i <= last; i++) {
+                transformer.transformPage(getChildAt(i), i - position - offset);
+            }
+        }
+    }
+
+    /**
+     * Dispatch a scroll state change to the listeners.
+     *
+     * @param state New scroll state.
+     */
+    public void setScrollState(int state) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onPageScrollStateChanged(state);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package android.util;
+
+/**
+ * JVM stand-in for {@code android.util.AttributeSet}.
+ */
+public interface AttributeSet {
+}
@@ -0,0 +1,18 @@
+package android.util;
+
+/**
+ * JVM stand-in for {@code android.util.Log}, which drops all messages.
+ */
+public final class Log {
+
+    private Log() {
+    }
+
+    public static int d(String tag, String msg) {
+        return 0;
+    }
+
+    public static int w(String tag, String msg) {
+        return 0;
+    }
+}
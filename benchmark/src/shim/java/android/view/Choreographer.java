@@ -0,0 +1,27 @@
+package android.view;
+
+/**
+ * JVM stand-in for {@code android.view.Choreographer}, which runs frame callbacks immediately.
+ */
+public final class Choreographer {
+
+    private static final Choreographer INSTANCE = new Choreographer();
+
+    private Choreographer() {
+    }
+
+    public static Choreographer getInstance() {
+        return INSTANCE;
+    }
+
+    public void postFrameCallback(FrameCallback callback) {
+        callback.doFrame(System.nanoTime());
+    }
+
+    public void removeFrameCallback(FrameCallback callback) {
+    }
+
+    public interface FrameCallback {
+        void doFrame(long frameTimeNanos);
+    }
+}
@@ -0,0 +1,304 @@
+package android.view;
+
+import android.content.Context;
+import android.graphics.Paint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * JVM stand-in for {@code android.view.View}. Properties are plain fields, and like the platform View every
+ * property setter invalidates the View when the value changes, which is counted by {@link #getInvalidateCount()}.
+ */
+public class View {
+
+    public static final int VISIBLE = 0;
+    public static final int INVISIBLE = 4;
+    public static final int GONE = 8;
+
+    public static final int LAYER_TYPE_NONE = 0;
+    public static final int LAYER_TYPE_SOFTWARE = 1;
+    public static final int LAYER_TYPE_HARDWARE = 2;
+
+    public static final int NO_ID = -1;
+
+    public interface OnClickListener {
+        void onClick(View v);
+    }
+
+    public interface OnAttachStateChangeListener {
+        void onViewAttachedToWindow(View v);
+
+        void onViewDetachedFromWindow(View v);
+    }
+
+    private final Context context;
+    private final ViewTreeObserver viewTreeObserver = new ViewTreeObserver();
+    private final ArrayList<OnAttachStateChangeListener> attachStateChangeListeners = new ArrayList<>();
+
+    private int[] tagKeys = new int[0];
+    private Object[] tagValues = new Object[0];
+
+    private int id = NO_ID;
+    private ViewParent parent;
+    private ViewGroup.LayoutParams layoutParams;
+    private boolean attachedToWindow;
+    private int layerType;
+    private int invalidateCount;
+
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+
+    private float translationX;
+    private float translationY;
+    private float scaleX = 1f;
+    private float scaleY = 1f;
+    private float rotation;
+    private float alpha = 1f;
+
+    public View(Context context) {
+        this.context = context;
+    }
+
+    public Context getContext() {
+        return context;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public Object getTag(int key) {
+        for (int i = 0; i < tagKeys.length; i++) {
+            if (tagKeys[i] == key) {
+                return tagValues[i];
+            }
+        }
+
+        return null;
+    }
+
+    public void setTag(int key, Object tag) {
+        for (int i = 0; i < tagKeys.length; i++) {
+            if (tagKeys[i] == key) {
+                tagValues[i] = tag;
+                return;
+            }
+        }
+
+        int length = tagKeys.length;
+        tagKeys = Arrays.copyOf(tagKeys, length + 1);
+        tagValues = Arrays.copyOf(tagValues, length + 1);
+        tagKeys[length] = key;
+        tagValues[length] = tag;
+    }
+
+    public final View findViewById(int id) {
+        if (id == NO_ID) {
+            return null;
+        }
+
+        return findViewTraversal(id);
+    }
+
+    protected View findViewTraversal(int id) {
+        return id == this.id ? this : null;
+    }
+
+    public final ViewParent getParent() {
+        return parent;
+    }
+
+    void assignParent(ViewParent parent) {
+        this.parent = parent;
+    }
+
+    public ViewTreeObserver getViewTreeObserver() {
+        return viewTreeObserver;
+    }
+
+    public void layout(int l, int t, int r, int b) {
+        left = l;
+        top = t;
+        right = r;
+        bottom = b;
+    }
+
+    public final int getLeft() {
+        return left;
+    }
+
+    public final int getTop() {
+        return top;
+    }
+
+    public final int getRight() {
+        return right;
+    }
+
+    public final int getBottom() {
+        return bottom;
+    }
+
+    public final int getWidth() {
+        return right - left;
+    }
+
+    public final int getHeight() {
+        return bottom - top;
+    }
+
+    public ViewGroup.LayoutParams getLayoutParams() {
+        return layoutParams;
+    }
+
+    public void setLayoutParams(ViewGroup.LayoutParams params) {
+        layoutParams = params;
+    }
+
+    public int getPaddingLeft() {
+        return 0;
+    }
+
+    public int getPaddingRight() {
+        return 0;
+    }
+
+    public int getScrollX() {
+        return 0;
+    }
+
+    public int getVisibility() {
+        return VISIBLE;
+    }
+
+    public float getTranslationX() {
+        return translationX;
+    }
+
+    public void setTranslationX(float translationX) {
+        if (this.translationX != translationX) {
+            this.translationX = translationX;
+            invalidate();
+        }
+    }
+
+    public float getTranslationY() {
+        return translationY;
+    }
+
+    public void setTranslationY(float translationY) {
+        if (this.translationY != translationY) {
+            this.translationY = translationY;
+            invalidate();
+        }
+    }
+
+    public float getScaleX() {
+        return scaleX;
+    }
+
+    public void setScaleX(float scaleX) {
+        if (this.scaleX != scaleX) {
+            this.scaleX = scaleX;
+            invalidate();
+        }
+    }
+
+    public float getScaleY() {
+        return scaleY;
+    }
+
+    public void setScaleY(float scaleY) {
+        if (this.scaleY != scaleY) {
+            this.scaleY = scaleY;
+            invalidate();
+        }
+    }
+
+    public float getRotation() {
+        return rotation;
+    }
+
+    public void setRotation(float rotation) {
+        if (this.rotation != rotation) {
+            this.rotation = rotation;
+            invalidate();
+        }
+    }
+
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(float alpha) {
+        if (this.alpha != alpha) {
+            this.alpha = alpha;
+            invalidate();
+        }
+    }
+
+    public int getLayerType() {
+        return layerType;
+    }
+
+    public void setLayerType(int layerType, Paint paint) {
+        this.layerType = layerType;
+    }
+
+    public void setBackgroundColor(int color) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        invalidateCount++;
+    }
+
+    /**
+     * @return Number of times this View has been invalidated.
+     */
+    public int getInvalidateCount() {
+        return invalidateCount;
+    }
+
+    public boolean isAttachedToWindow() {
+        return attachedToWindow;
+    }
+
+    public void addOnAttachStateChangeListener(OnAttachStateChangeListener listener) {
+        attachStateChangeListeners.add(listener);
+    }
+
+    public void removeOnAttachStateChangeListener(OnAttachStateChangeListener listener) {
+        attachStateChangeListeners.remove(listener);
+    }
+
+    /**
+     * Attach or detach this View and its children, notifying the {@link OnAttachStateChangeListener}s.
+     *
+     * @param attached Whether the View is attached to a window.
+     */
+    public void dispatchAttachedToWindow(boolean attached) {
+        if (attachedToWindow == attached) {
+            return;
+        }
+
+        attachedToWindow = attached;
+        for (OnAttachStateChangeListener listener : new ArrayList<>(attachStateChangeListeners)) {
+            if (attached) {
+                listener.onViewAttachedToWindow(this);
+            } else {
+                listener.onViewDetachedFromWindow(this);
+            }
+        }
+    }
+
+    public void setOnClickListener(OnClickListener listener) {
+    }
+}
@@ -0,0 +1,98 @@
+package android.view;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for {@code android.view.ViewGroup}.
+ */
+public class ViewGroup extends View implements ViewParent {
+
+    public static class LayoutParams {
+        public static final int MATCH_PARENT = -1;
+        public static final int WRAP_CONTENT = -2;
+
+        public int width;
+        public int height;
+
+        public LayoutParams(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    private final ArrayList<View> children = new ArrayList<>();
+
+    public ViewGroup(Context context) {
+        super(context);
+    }
+
+    public int getChildCount() {
+        return children.size();
+    }
+
+    public View getChildAt(int index) {
+        return children.get(index);
+    }
+
+    public void addView(View child) {
+        addView(child, -1, null);
+    }
+
+    public void addView(View child, int index) {
+        addView(child, index, null);
+    }
+
+    public void addView(View child, int index, LayoutParams params) {
+        if (index < 0) {
+            children.add(child);
+        } else {
+            children.add(index, child);
+        }
+
+        if (params != null) {
+            child.setLayoutParams(params);
+        }
+
+        child.assignParent(this);
+        child.dispatchAttachedToWindow(isAttachedToWindow());
+    }
+
+    public void removeView(View child) {
+        if (children.remove(child)) {
+            child.assignParent(null);
+            child.dispatchAttachedToWindow(false);
+        }
+    }
+
+    public void removeAllViews() {
+        while (!children.isEmpty()) {
+            removeView(children.get(children.size() - 1));
+        }
+    }
+
+    @Override
+    public void dispatchAttachedToWindow(boolean attached) {
+        super.dispatchAttachedToWindow(attached);
+        for (int i = 0; i < children.size(); i++) {
+            children.get(i).dispatchAttachedToWindow(attached);
+        }
+    }
+
+    @Override
+    protected View findViewTraversal(int id) {
+        if (id == getId()) {
+            return this;
+        }
+
+        for (int i = 0; i < children.size(); i++) {
+            View view = children.get(i).findViewTraversal(id);
+            if (view != null) {
+                return view;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,8 @@
+package android.view;
+
+/**
+ * JVM stand-in for {@code android.view.ViewParent}.
+ */
+public interface ViewParent {
+    ViewParent getParent();
+}
@@ -0,0 +1,30 @@
+package android.view;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for {@code android.view.ViewTreeObserver}. There is no drawing on the JVM, so
+ * {@link #dispatchOnPreDraw()} has to be called to run the pre-draw listeners.
+ */
+public final class ViewTreeObserver {
+
+    public interface OnPreDrawListener {
+        boolean onPreDraw();
+    }
+
+    private final ArrayList<OnPreDrawListener> preDrawListeners = new ArrayList<>();
+
+    public void addOnPreDrawListener(OnPreDrawListener listener) {
+        preDrawListeners.add(listener);
+    }
+
+    public void removeOnPreDrawListener(OnPreDrawListener listener) {
+        preDrawListeners.remove(listener);
+    }
+
+    public void dispatchOnPreDraw() {
+        for (OnPreDrawListener listener : new ArrayList<>(preDrawListeners)) {
+            listener.onPreDraw();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package android.view.animation;
+
+/**
+ * JVM stand-in for {@code android.view.animation.AccelerateDecelerateInterpolator}.
+ */
+public class AccelerateDecelerateInterpolator implements Interpolator {
+
+    @Override
+    public float getInterpolation(float input) {
+        return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+    }
+}
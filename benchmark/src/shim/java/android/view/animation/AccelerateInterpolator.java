@@ -0,0 +1,12 @@
+package android.view.animation;
+
+/**
+ * JVM stand-in for {@code android.view.animation.AccelerateInterpolator}, with the default factor.
+ */
+public class AccelerateInterpolator implements Interpolator {
+
+    @Override
+    public float getInterpolation(float input) {
+        return input * input;
+    }
+}
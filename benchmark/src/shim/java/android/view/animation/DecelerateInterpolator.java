@@ -0,0 +1,12 @@
+package android.view.animation;
+
+/**
+ * JVM stand-in for {@code android.view.animation.DecelerateInterpolator}, with the default factor.
+ */
+public class DecelerateInterpolator implements Interpolator {
+
+    @Override
+    public float getInterpolation(float input) {
+        return 1f - (1f - input) * (1f - input);
+    }
+}
@@ -0,0 +1,8 @@
+package android.view.animation;
+
+/**
+ * JVM stand-in for {@code android.view.animation.Interpolator}.
+ */
+public interface Interpolator {
+    float getInterpolation(float input);
+}
@@ -0,0 +1,33 @@
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.ViewGroup;
+
+/**
+ * JVM stand-in for {@code android.widget.FrameLayout}.
+ */
+public class FrameLayout extends ViewGroup {
+
+    public static class LayoutParams extends ViewGroup.LayoutParams {
+        public int gravity;
+        public int leftMargin;
+        public int topMargin;
+
+        public LayoutParams(int width, int height) {
+            super(width, height);
+        }
+    }
+
+    public FrameLayout(Context context) {
+        super(context);
+    }
+
+    public FrameLayout(Context context, AttributeSet attrs) {
+        super(context);
+    }
+
+    public FrameLayout(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context);
+    }
+}
@@ -0,0 +1,205 @@
+package com.ifttt.sparklemotion;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.fail;
+
+/**
+ * Harness measuring the bytes allocated by the frame loop of {@link SparkleMotion} on the JVM. The presenter is
+ * driven through {@link SparkleMotion#presentAnimations(android.support.v4.view.ViewPager, View, float, float)} and
+ * {@link SparkleMotion#presentDecorAnimations(int, float)} for {@link #WARM_UP_FRAMES} frames, then for rounds
+ * of {@link #FRAME_COUNT} frames while the allocations of the thread are counted, sweeping the scrolling offset
+ * across the on-screen and off-screen ranges. The bytes allocated by a whole round are compared to
+ * {@link #TOLERANCE}, so that even an allocation every few frames is caught.
+ * <p/>
+ * The Views are the stand-ins of this module, which keep their properties and tags in plain fields like the
+ * platform Views, so that the frame loop runs as it does on a device.
+ * <p/>
+ * Custom animations that are known to allocate can be allowed with {@link #allow(Class)}.
+ */
+final class FrameAllocationHarness {
+
+    static final int WARM_UP_FRAMES = 2000;
+    static final int FRAME_COUNT = 5000;
+    static final int ROUND_COUNT = 3;
+
+    /**
+     * Bytes that a round may allocate without failing, less than a single small object allocated once per sweep of
+     * {@link #FRAMES_PER_SWEEP} frames.
+     */
+    static final long TOLERANCE = 64;
+
+    /**
+     * Id of the page View animated by the in-page animations.
+     */
+    static final int PAGE_ID = 1;
+
+    static final int PAGE_WIDTH = 1080;
+    static final int PAGE_HEIGHT = 1920;
+
+    private static final int FRAMES_PER_SWEEP = 600;
+
+    private final Set<Class<? extends Animation>> allowlist = new HashSet<>();
+
+    /**
+     * @return True if the JVM can count the bytes allocated by a thread.
+     */
+    static boolean isSupported() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Allow animations of the given class to allocate while they run.
+     *
+     * @param type Class of the animations.
+     * @return This harness.
+     */
+    FrameAllocationHarness allow(Class<? extends Animation> type) {
+        allowlist.add(type);
+        return this;
+    }
+
+    /**
+     * Fail if the animation allocates when run as an in-page animation, unless its class is allowed.
+     *
+     * @param animation Animation to check, not added to any presenter yet.
+     */
+    void checkInPage(Animation animation) {
+        if (allowlist.contains(animation.getClass())) {
+            return;
+        }
+
+        check(animation, "in-page", measureInPage(animation));
+    }
+
+    /**
+     * Fail if the animation allocates when run as a Decor animation, unless its class is allowed.
+     *
+     * @param animation Animation to check, not added to any presenter yet.
+     */
+    void checkDecor(Animation animation) {
+        if (allowlist.contains(animation.getClass())) {
+            return;
+        }
+
+        check(animation, "Decor", measureDecor(animation));
+    }
+
+    /**
+     * Fail if the in-page and Decor animations of the presenter allocate, whatever their classes.
+     *
+     * @param presenter Presenter to run.
+     * @param page      Page View of the in-page animations.
+     */
+    void checkFrames(SparkleMotion presenter, View page) {
+        long bytesPerRound = measure(presenter, page);
+        if (bytesPerRound > TOLERANCE) {
+            fail("Frames allocate " + bytesPerRound + " bytes in " + FRAME_COUNT + " frames");
+        }
+    }
+
+    private static void check(Animation animation, String kind, long bytesPerRound) {
+        if (bytesPerRound > TOLERANCE) {
+            fail(animation.getClass().getSimpleName() + " allocates " + bytesPerRound + " bytes in " + FRAME_COUNT
+                    + " frames as " + kind + " animation");
+        }
+    }
+
+    /**
+     * @param animation Animation run on the page View.
+     * @return Steady-state bytes allocated by a round of {@link #FRAME_COUNT} frames.
+     */
+    long measureInPage(Animation animation) {
+        SparkleMotion presenter = new SparkleMotion();
+        presenter.addAnimation(PAGE_ID, animation);
+        return measure(presenter, newPage());
+    }
+
+    /**
+     * @param animation Animation run on a Decor.
+     * @return Steady-state bytes allocated by a round of {@link #FRAME_COUNT} frames.
+     */
+    long measureDecor(Animation animation) {
+        SparkleMotion presenter = new SparkleMotion();
+        presenter.addAnimation(newDecorView(), animation);
+        return measure(presenter, newPage());
+    }
+
+    /**
+     * Run the in-page and Decor animations of the presenter, and return the bytes allocated by a round of
+     * {@link #FRAME_COUNT} frames once warmed up. {@link #ROUND_COUNT} rounds are measured and the lowest count is
+     * kept, so that one-off allocations of the JVM, for example while compiling the loop, are not accounted to the
+     * frames.
+     *
+     * @param presenter Presenter to run.
+     * @param page      Page View of the in-page animations.
+     * @return Steady-state bytes allocated by a round of {@link #FRAME_COUNT} frames.
+     */
+    long measure(SparkleMotion presenter, View page) {
+        runFrames(presenter, page, WARM_UP_FRAMES);
+
+        // Reading the counter may allocate by itself, which is not accounted to the frames.
+        long before = allocatedBytes();
+        long overhead = allocatedBytes() - before;
+
+        long lowest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUND_COUNT; round++) {
+            long start = allocatedBytes();
+            runFrames(presenter, page, FRAME_COUNT);
+            lowest = Math.min(lowest, allocatedBytes() - start - overhead);
+        }
+
+        return Math.max(0, lowest);
+    }
+
+    private static void runFrames(SparkleMotion presenter, View page, int frameCount) {
+        for (int frame = 0; frame < frameCount; frame++) {
+            // Sweep the scrolling position over [-1.5, 1.5], so that off-screen callbacks run too.
+            float scroll = 3f * (frame % FRAMES_PER_SWEEP) / FRAMES_PER_SWEEP - 1.5f;
+            int position = (int) Math.floor(scroll);
+            float offset = scroll - position;
+
+            presenter.beginFrame();
+            presenter.presentDecorAnimations(position, offset);
+            presenter.presentAnimations(null, page, scroll, 0);
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return Laid out page View, with the id of the targets of in-page animations.
+     */
+    static View newPage() {
+        View page = new View(new Context());
+        page.setId(PAGE_ID);
+        page.layout(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+        return page;
+    }
+
+    /**
+     * @return Laid out View of a Decor, within a parent the size of a page.
+     */
+    static View newDecorView() {
+        Context context = new Context();
+        FrameLayout parent = new FrameLayout(context);
+        parent.layout(0, 0, PAGE_WIDTH, PAGE_HEIGHT);
+
+        View view = new View(context);
+        parent.addView(view);
+        view.layout(0, 0, PAGE_WIDTH / 2, PAGE_HEIGHT / 2);
+        return view;
+    }
+}
@@ -0,0 +1,119 @@
+package com.ifttt.sparklemotion;
+
+import android.graphics.Path;
+import android.view.View;
+
+import com.ifttt.sparklemotion.animations.AlphaAnimation;
+import com.ifttt.sparklemotion.animations.KeyframeAnimation;
+import com.ifttt.sparklemotion.animations.NoMovementAnimation;
+import com.ifttt.sparklemotion.animations.ParallaxAnimation;
+import com.ifttt.sparklemotion.animations.PathAnimation;
+import com.ifttt.sparklemotion.animations.RotationAnimation;
+import com.ifttt.sparklemotion.animations.ScaleAnimation;
+import com.ifttt.sparklemotion.animations.SlideInAnimation;
+import com.ifttt.sparklemotion.animations.SlideOutAnimation;
+import com.ifttt.sparklemotion.animations.TranslationAnimation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Unit test for the allocations of the frame loop of {@link SparkleMotion}, see {@link FrameAllocationHarness}.
+ */
+public class FrameAllocationTest {
+
+    private FrameAllocationHarness mHarness;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue(FrameAllocationHarness.isSupported());
+        mHarness = new FrameAllocationHarness();
+    }
+
+    @Test
+    public void testInPageAnimations() throws Exception {
+        for (Animation animation : newBuiltInAnimations()) {
+            mHarness.checkInPage(animation);
+        }
+    }
+
+    @Test
+    public void testDecorAnimations() throws Exception {
+        for (Animation animation : newBuiltInAnimations()) {
+            mHarness.checkDecor(animation);
+        }
+
+        mHarness.checkDecor(new SlideInAnimation());
+        mHarness.checkDecor(new SlideOutAnimation());
+    }
+
+    @Test
+    public void testAllAnimationsInOneFrame() throws Exception {
+        SparkleMotion presenter = new SparkleMotion();
+        for (Animation animation : newBuiltInAnimations()) {
+            presenter.addAnimation(FrameAllocationHarness.PAGE_ID, animation);
+        }
+        presenter.addAnimation(FrameAllocationHarness.newDecorView(), newBuiltInAnimations());
+
+        mHarness.checkFrames(presenter, FrameAllocationHarness.newPage());
+    }
+
+    @Test
+    public void testAllowlist() throws Exception {
+        assertTrue(mHarness.measureInPage(new AllocatingAnimation()) > FrameAllocationHarness.TOLERANCE);
+
+        // Would fail without the allowlist.
+        mHarness.allow(AllocatingAnimation.class).checkInPage(new AllocatingAnimation());
+    }
+
+    private static Animation[] newBuiltInAnimations() {
+        int sampleCount = 8;
+        float[] bakedValues = new float[(sampleCount + 2) * FrameComposer.PROPERTY_COUNT];
+        int[] bakedMasks = new int[sampleCount + 2];
+        Arrays.fill(bakedMasks, 1 << FrameComposer.ALPHA);
+
+        return new Animation[]{
+                new AlphaAnimation(0f, 1f),
+                new RotationAnimation(0f, 90f),
+                new ScaleAnimation(1f, 1f, 0.5f, 0.5f),
+                new TranslationAnimation(0f, 0f, 100f, 50f, true),
+                new ParallaxAnimation(2f),
+                new NoMovementAnimation(),
+                new PathAnimation(newPath(), true),
+                new PathAnimation(newPath(), false, 16),
+                new KeyframeAnimation.Builder()
+                        .keyframe(KeyframeAnimation.ALPHA, 0f, 0f)
+                        .keyframe(KeyframeAnimation.ALPHA, 1f, 1f)
+                        .keyframe(KeyframeAnimation.ROTATION, -1f, 0f)
+                        .keyframe(KeyframeAnimation.ROTATION, 1f, 180f)
+                        .build(),
+                new BakedAnimation(sampleCount, bakedValues, bakedMasks),
+        };
+    }
+
+    private static Path newPath() {
+        Path path = new Path();
+        path.moveTo(0, 0);
+        path.lineTo(100, 0);
+        path.lineTo(100, 100);
+        return path;
+    }
+
+    /**
+     * Custom animation allocating on every frame.
+     */
+    private static final class AllocatingAnimation extends Animation {
+
+        float[] values;
+
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+            values = new float[]{offset, offsetInPixel};
+        }
+    }
+}
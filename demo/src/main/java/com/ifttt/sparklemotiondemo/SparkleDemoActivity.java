@@ -32,6 +32,16 @@ import com.ifttt.sparklemotion.animations.TranslationAnimation;
  */
 public final class SparkleDemoActivity extends Activity {
 
+    /**
+     * Time budget of the animations of a frame, half of a 60 fps frame.
+     */
+    private static final float FRAME_BUDGET_MILLIS = 8f;
+
+    /**
+     * Number of steps of the paper plane path while its animation is degraded.
+     */
+    private static final int DEGRADED_PLANE_STEPS = 20;
+
     private SparkleViewPagerLayout sparkleViewPagerLayout;
 
     @Override
@@ -44,6 +54,9 @@ public final class SparkleDemoActivity extends Activity {
 
         ExternalAnimationBuilder sparkleMotion = SparkleMotion.newBuilder(sparkleViewPagerLayout);
 
+        // Degrade the paper plane while frames run over budget.
+        sparkleMotion.frameBudget(FRAME_BUDGET_MILLIS);
+
         // Build Decors for different pages.
         buildDecorForPage0(sparkleViewPagerLayout, sparkleMotion);
         buildDecorForPage1(sparkleViewPagerLayout, sparkleMotion);
@@ -67,6 +80,7 @@ public final class SparkleDemoActivity extends Activity {
         sparkleMotion.animate(new ParallaxAnimation(-0.5f), allPages, R.id.rotation_btn);
         sparkleMotion.animate(new ParallaxAnimation(-0.25f), allPages, R.id.parallax_btn);
         sparkleMotion.animate(new ParallaxAnimation(-0.1f), allPages, R.id.zoom_out_btn);
+        sparkleMotion.animate(new ParallaxAnimation(-0.05f), allPages, R.id.stress_scene_btn);
 
         sparkleViewPagerLayout.getViewPager().setAdapter(new PagerAdapter());
     }
@@ -124,13 +138,26 @@ public final class SparkleDemoActivity extends Activity {
         final PaperPlaneView view = (PaperPlaneView) LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.sparkle_page_2_plane, parent, false);
 
-        builder.animate(new Animation() {
+        Animation planeAnimation = new Animation() {
+            private float lastOffset = -1;
+
             @Override
             public void onAnimate(View v, float offset, float offsetInPixel) {
                 offset = Math.abs(offset);
+                if (isDegraded()) {
+                    // Update the path at a lower rate while degraded.
+                    offset = Math.round(offset * DEGRADED_PLANE_STEPS) / (float) DEGRADED_PLANE_STEPS;
+                    if (offset == lastOffset) {
+                        return;
+                    }
+                }
+
+                lastOffset = offset;
                 view.animate(offset);
             }
-        }, Page.singlePage(1), view);
+        };
+        planeAnimation.setDegradable(true);
+        builder.animate(planeAnimation, Page.singlePage(1), view);
         builder.animate(new SlideOutAnimation(), Page.singlePage(2), view);
         sparkleViewPagerLayout.addView(view);
 
@@ -276,6 +303,14 @@ public final class SparkleDemoActivity extends Activity {
                 }
             });
 
+            root.findViewById(R.id.stress_scene_btn).setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    Intent i = new Intent(context, StressSceneActivity.class);
+                    context.startActivity(i);
+                }
+            });
+
             return root;
         }
     }
@@ -0,0 +1,67 @@
+package com.ifttt.sparklemotiondemo;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.os.Bundle;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.ifttt.sparklemotion.ExternalAnimationBuilder;
+import com.ifttt.sparklemotion.SparkleMotion;
+import com.ifttt.sparklemotion.SparkleViewPagerLayout;
+import com.ifttt.sparklemotion.stress.StressScene;
+
+/**
+ * Demo Activity for {@link StressScene}, showing a generated scene far larger than the main demo. The size of the
+ * scene can be set through the Intent extras, for example
+ * {@code adb shell am start -n com.ifttt.sparklemotiondemo/.StressSceneActivity --ei page_count 200}.
+ */
+public final class StressSceneActivity extends Activity {
+
+    public static final String EXTRA_PAGE_COUNT = "page_count";
+    public static final String EXTRA_DECOR_COUNT = "decor_count";
+    public static final String EXTRA_ANIMATIONS_PER_TARGET = "animations_per_target";
+    public static final String EXTRA_ANIMATED_VIEWS_PER_PAGE = "animated_views_per_page";
+    public static final String EXTRA_HIERARCHY_DEPTH = "hierarchy_depth";
+
+    private static final int DEFAULT_PAGE_COUNT = 50;
+    private static final int DEFAULT_DECOR_COUNT = 32;
+    private static final int DEFAULT_ANIMATIONS_PER_TARGET = 3;
+    private static final int DEFAULT_ANIMATED_VIEWS_PER_PAGE = 8;
+    private static final int DEFAULT_HIERARCHY_DEPTH = 6;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        setContentView(R.layout.view_pager_layout);
+
+        Intent intent = getIntent();
+        final StressScene scene = new StressScene.Builder()
+                .pageCount(intent.getIntExtra(EXTRA_PAGE_COUNT, DEFAULT_PAGE_COUNT))
+                .decorCount(intent.getIntExtra(EXTRA_DECOR_COUNT, DEFAULT_DECOR_COUNT))
+                .animationsPerTarget(intent.getIntExtra(EXTRA_ANIMATIONS_PER_TARGET, DEFAULT_ANIMATIONS_PER_TARGET))
+                .animatedViewsPerPage(
+                        intent.getIntExtra(EXTRA_ANIMATED_VIEWS_PER_PAGE, DEFAULT_ANIMATED_VIEWS_PER_PAGE))
+                .hierarchyDepth(intent.getIntExtra(EXTRA_HIERARCHY_DEPTH, DEFAULT_HIERARCHY_DEPTH))
+                .build();
+
+        SparkleViewPagerLayout viewPagerLayout = (SparkleViewPagerLayout) findViewById(R.id.view_pager_layout);
+        ExternalAnimationBuilder builder = SparkleMotion.newBuilder(viewPagerLayout);
+        scene.animate(builder);
+        scene.addDecors(builder, viewPagerLayout);
+        builder.commit();
+
+        viewPagerLayout.getViewPager().setAdapter(new ViewPagerAdapter() {
+            @Override
+            protected View getView(int position, ViewGroup container) {
+                return scene.buildPage(container.getContext());
+            }
+
+            @Override
+            public int getCount() {
+                return scene.getPageCount();
+            }
+        });
+    }
+}
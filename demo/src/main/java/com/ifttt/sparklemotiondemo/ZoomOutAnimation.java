@@ -30,14 +30,19 @@ public class ZoomOutAnimation extends Animation {
         mMinScale = minScale;
     }
 
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
     @Override
     public void onAnimateOffScreenLeft(View v, float offset, float offsetInPixel) {
-        v.setAlpha(0f);
+        setAlpha(v, 0f);
     }
 
     @Override
     public void onAnimateOffScreenRight(View v, float offset, float offsetInPixel) {
-        v.setAlpha(0f);
+        setAlpha(v, 0f);
     }
 
     @Override
@@ -50,16 +55,16 @@ public class ZoomOutAnimation extends Animation {
         float horzMargin = pageWidth * (1 - scaleFactor) / 2;
 
         if (offset < 0) {
-            v.setTranslationX(horzMargin - vertMargin / 2);
+            setTranslationX(v, horzMargin - vertMargin / 2);
         } else {
-            v.setTranslationX(-horzMargin + vertMargin / 2);
+            setTranslationX(v, -horzMargin + vertMargin / 2);
         }
 
         // Scale the page down (between MIN_SCALE and 1)
-        v.setScaleX(scaleFactor);
-        v.setScaleY(scaleFactor);
+        setScaleX(v, scaleFactor);
+        setScaleY(v, scaleFactor);
 
         // Fade the page relative to its size.
-        v.setAlpha(mMinAlpha + (scaleFactor - mMinScale) / (1 - mMinScale) * (1 - mMinAlpha));
+        setAlpha(v, mMinAlpha + (scaleFactor - mMinScale) / (1 - mMinScale) * (1 - mMinAlpha));
     }
 }
@@ -0,0 +1,14 @@
+package com.ifttt.sparklemotion.core;
+
+/**
+ * Easing curve of a tween, mapping the linear fraction of the tween to the fraction of its value. This is the
+ * platform independent counterpart of {@code android.view.animation.Interpolator}.
+ */
+public interface Easing {
+
+    /**
+     * @param fraction Linear fraction of the tween, between 0 and 1.
+     * @return Eased fraction, which may be out of [0, 1] for curves that overshoot.
+     */
+    float ease(float fraction);
+}
@@ -0,0 +1,194 @@
+package com.ifttt.sparklemotion.core;
+
+/**
+ * Evaluator of packed keyframe tracks. Every track animates one {@link Property} through a range of keyframes sorted
+ * by scroll position, so that the keyframes of a whole scene can be held by a few primitive arrays.
+ * <p/>
+ * Before the first keyframe and after the last one, the value of the closest keyframe is used. The segment of the
+ * current frame is found from the segment of the previous frame when scrolling continuously, or by binary search
+ * otherwise, so that evaluating a frame doesn't allocate. The segments of the previous frame are kept by the caller
+ * in a cursor array, so that the same evaluator can be shared by several animations.
+ * <p/>
+ * The arrays are used as is and must not be modified once given to the evaluator.
+ */
+public final class KeyframeEvaluator {
+
+    /**
+     * Property of every track, one of the constants of {@link Property}.
+     */
+    private final int[] properties;
+
+    /**
+     * Index of the first keyframe of every track.
+     */
+    private final int[] trackStarts;
+
+    /**
+     * Number of keyframes of every track, at least 1.
+     */
+    private final int[] trackSizes;
+
+    /**
+     * Scroll positions of all keyframes, sorted within every track.
+     */
+    private final float[] positions;
+
+    /**
+     * Values of all keyframes.
+     */
+    private final float[] values;
+
+    /**
+     * Easing curves of the segments ending at every keyframe, null for linear interpolation.
+     */
+    private final Easing[] easings;
+
+    /**
+     * Constructor for building a KeyframeEvaluator from packed tracks.
+     *
+     * @param properties  Property of every track.
+     * @param trackStarts Index of the first keyframe of every track.
+     * @param trackSizes  Number of keyframes of every track.
+     * @param positions   Scroll positions of all keyframes, sorted within every track.
+     * @param values      Values of all keyframes.
+     * @param easings     Easing curves of the segments ending at every keyframe, null for linear interpolation.
+     *
+     * @throws IllegalArgumentException when the sizes of the arrays don't match, or a track is empty, out of bounds
+     *                                  or not sorted.
+     */
+    public KeyframeEvaluator(int[] properties, int[] trackStarts, int[] trackSizes, float[] positions,
+                             float[] values, Easing[] easings) {
+        if (trackStarts.length != properties.length || trackSizes.length != properties.length) {
+            throw new IllegalArgumentException("Track arrays must have the same length");
+        }
+
+        if (values.length != positions.length || easings.length != positions.length) {
+            throw new IllegalArgumentException("Keyframe arrays must have the same length");
+        }
+
+        for (int i = 0; i < properties.length; i++) {
+            Property.check(properties[i]);
+
+            int start = trackStarts[i];
+            int end = start + trackSizes[i];
+            if (trackSizes[i] < 1 || start < 0 || end > positions.length) {
+                throw new IllegalArgumentException("Invalid track: " + i);
+            }
+
+            for (int j = start + 1; j < end; j++) {
+                if (positions[j] < positions[j - 1]) {
+                    throw new IllegalArgumentException("Keyframes of track " + i + " are not sorted");
+                }
+            }
+        }
+
+        this.properties = properties;
+        this.trackStarts = trackStarts;
+        this.trackSizes = trackSizes;
+        this.positions = positions;
+        this.values = values;
+        this.easings = easings;
+    }
+
+    /**
+     * @return Number of tracks.
+     */
+    public int getTrackCount() {
+        return properties.length;
+    }
+
+    /**
+     * @param track Index of the track.
+     * @return Property of the track, one of the constants of {@link Property}.
+     */
+    public int getProperty(int track) {
+        return properties[track];
+    }
+
+    /**
+     * Evaluate a range of tracks at the given scroll position.
+     *
+     * @param firstTrack Index of the first track.
+     * @param trackCount Number of tracks.
+     * @param position   Scroll position.
+     * @param cursors    Index of the first keyframe of the segment of the previous frame, for every track of the
+     *                   range, updated with the segments of this frame.
+     * @param out        Values of the tracks of the range, written by this method.
+     */
+    public void evaluate(int firstTrack, int trackCount, float position, int[] cursors, float[] out) {
+        for (int i = 0; i < trackCount; i++) {
+            out[i] = evaluate(firstTrack + i, position, cursors, i);
+        }
+    }
+
+    /**
+     * Evaluate a track at the given scroll position.
+     *
+     * @param track    Index of the track.
+     * @param position Scroll position.
+     * @param cursors  Cursors of the segments of the previous frame.
+     * @param cursor   Index of the cursor of the track within {@code cursors}.
+     * @return Value of the track's property.
+     */
+    public float evaluate(int track, float position, int[] cursors, int cursor) {
+        int start = trackStarts[track];
+        int end = start + trackSizes[track] - 1;
+
+        if (position <= positions[start]) {
+            return values[start];
+        }
+
+        if (position >= positions[end]) {
+            return values[end];
+        }
+
+        int segment = findSegment(cursors, cursor, start, end, position);
+        float fraction = (position - positions[segment]) / (positions[segment + 1] - positions[segment]);
+        return Tween.lerp(values[segment], values[segment + 1], Tween.ease(easings[segment + 1], fraction));
+    }
+
+    /**
+     * Find the segment containing the position, given that the position is within the keyframes of the track.
+     *
+     * @return Index of the first keyframe of the segment.
+     */
+    private int findSegment(int[] cursors, int cursor, int start, int end, float position) {
+        // Check the segment of the previous frame and its neighbours first, as the scroll position usually moves
+        // by a fraction of a page between frames.
+        int previous = cursors[cursor];
+        if (previous >= start && previous < end) {
+            if (contains(previous, position)) {
+                return previous;
+            }
+
+            if (previous + 1 < end && contains(previous + 1, position)) {
+                cursors[cursor] = previous + 1;
+                return previous + 1;
+            }
+
+            if (previous > start && contains(previous - 1, position)) {
+                cursors[cursor] = previous - 1;
+                return previous - 1;
+            }
+        }
+
+        // Find the last keyframe at or before the position.
+        int low = start;
+        int high = end - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (positions[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        cursors[cursor] = low;
+        return low;
+    }
+
+    private boolean contains(int segment, float position) {
+        return positions[segment] <= position && position < positions[segment + 1];
+    }
+}
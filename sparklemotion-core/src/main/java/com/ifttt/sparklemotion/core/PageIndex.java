@@ -0,0 +1,130 @@
+package com.ifttt.sparklemotion.core;
+
+import java.util.Arrays;
+
+/**
+ * Index of animation entries keyed by their page range, so that for a given ViewPager position only the
+ * entries active at that position are visited.
+ * <p/>
+ * Entries are referred to by their index in the arrays used to build the index. Entries running on
+ * {@link PageRange#ALL_PAGES} are kept in a separate always-on list. The starts and the ends of every other page
+ * range split the pages into segments, within which the same entries are active, and the entries of every segment are
+ * computed when the index is built. The memory of the index therefore depends on the number of entries only, not on
+ * the size of their page ranges. All lists are sorted by entry index, so that merging the always-on list and the list
+ * of a segment preserves the order in which the entries were added.
+ */
+public final class PageIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Entries that should run on every page.
+     */
+    private final int[] alwaysOn;
+
+    /**
+     * Sorted first pages of the segments, followed by the page after the last segment. Pages are stored as longs, as
+     * the page after a range ending on {@link Integer#MAX_VALUE} does not fit in an int.
+     */
+    private final long[] boundaries;
+
+    /**
+     * Entries that should run on the pages of a segment, indexed by the segment.
+     */
+    private final int[][] segments;
+
+    /**
+     * Build an index from the page ranges of the entries.
+     *
+     * @param starts Starting page of every entry, or {@link PageRange#ALL_PAGES}.
+     * @param ends   Ending page of every entry, or {@link PageRange#ALL_PAGES}.
+     * @param count  Number of entries.
+     */
+    public PageIndex(int[] starts, int[] ends, int count) {
+        int alwaysOnCount = 0;
+        long[] pages = new long[count * 2];
+        int pageCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (starts[i] == PageRange.ALL_PAGES) {
+                alwaysOnCount++;
+            } else if (starts[i] <= ends[i]) {
+                pages[pageCount++] = starts[i];
+                pages[pageCount++] = (long) ends[i] + 1;
+            }
+        }
+
+        Arrays.sort(pages, 0, pageCount);
+        int boundaryCount = 0;
+        for (int i = 0; i < pageCount; i++) {
+            if (boundaryCount == 0 || pages[i] != pages[boundaryCount - 1]) {
+                pages[boundaryCount++] = pages[i];
+            }
+        }
+        boundaries = Arrays.copyOf(pages, boundaryCount);
+
+        int segmentCount = Math.max(0, boundaryCount - 1);
+        int[] segmentSizes = new int[segmentCount];
+        for (int i = 0; i < count; i++) {
+            if (starts[i] == PageRange.ALL_PAGES || starts[i] > ends[i]) {
+                continue;
+            }
+
+            for (int segment = segmentOf(starts[i]); boundaries[segment] <= ends[i]; segment++) {
+                segmentSizes[segment]++;
+            }
+        }
+
+        alwaysOn = alwaysOnCount == 0 ? EMPTY : new int[alwaysOnCount];
+        segments = new int[segmentCount][];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            segments[segment] = segmentSizes[segment] == 0 ? EMPTY : new int[segmentSizes[segment]];
+            segmentSizes[segment] = 0;
+        }
+
+        int alwaysOnIndex = 0;
+        for (int i = 0; i < count; i++) {
+            if (starts[i] == PageRange.ALL_PAGES) {
+                alwaysOn[alwaysOnIndex++] = i;
+                continue;
+            }
+
+            if (starts[i] > ends[i]) {
+                continue;
+            }
+
+            for (int segment = segmentOf(starts[i]); boundaries[segment] <= ends[i]; segment++) {
+                segments[segment][segmentSizes[segment]++] = i;
+            }
+        }
+    }
+
+    /**
+     * @return Sorted indices of the entries that run on every page.
+     */
+    public int[] alwaysOn() {
+        return alwaysOn;
+    }
+
+    /**
+     * Return the entries whose page range contains the given position, excluding the always-on entries.
+     *
+     * @param position Position of the ViewPager.
+     * @return Sorted indices of the entries active at the position.
+     */
+    public int[] activeAt(int position) {
+        if (segments.length == 0 || position < boundaries[0] || position >= boundaries[segments.length]) {
+            return EMPTY;
+        }
+
+        return segments[segmentOf(position)];
+    }
+
+    /**
+     * @param position Page within the segments.
+     * @return Index of the segment containing the page.
+     */
+    private int segmentOf(int position) {
+        int index = Arrays.binarySearch(boundaries, position);
+        return index >= 0 ? index : -index - 2;
+    }
+}
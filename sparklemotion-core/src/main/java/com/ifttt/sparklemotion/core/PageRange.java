@@ -0,0 +1,29 @@
+package com.ifttt.sparklemotion.core;
+
+/**
+ * Page range math of the animations, shared by the in-page and Decor animations. A range is a pair of starting and
+ * ending pages, both inclusive, or {@link #ALL_PAGES} for both to run on every page.
+ */
+public final class PageRange {
+
+    /**
+     * Flag used to indicate that an animation should be run for every page.
+     */
+    public static final int ALL_PAGES = -1;
+
+    private PageRange() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * Check whether a page range contains a page.
+     *
+     * @param start    Starting page of the range, or {@link #ALL_PAGES}.
+     * @param end      Ending page of the range, or {@link #ALL_PAGES}.
+     * @param position Adapter position of the page.
+     * @return True if an animation with this range should run on the page, false otherwise.
+     */
+    public static boolean contains(int start, int end, int position) {
+        return start == ALL_PAGES || start <= position && end >= position;
+    }
+}
@@ -0,0 +1,52 @@
+package com.ifttt.sparklemotion.core;
+
+/**
+ * View properties animated by Sparkle Motion. Values of a property are kept in primitive arrays indexed by the
+ * property constants, with a bit mask of {@code 1 << property} bits telling which properties have been written.
+ * <p/>
+ * When several animations write the same property of a View within a frame, their values are composed: translation
+ * and rotation values are added, scale and alpha values are multiplied.
+ */
+public final class Property {
+
+    public static final int TRANSLATION_X = 0;
+    public static final int TRANSLATION_Y = 1;
+    public static final int SCALE_X = 2;
+    public static final int SCALE_Y = 3;
+    public static final int ROTATION = 4;
+    public static final int ALPHA = 5;
+
+    /**
+     * Number of properties.
+     */
+    public static final int COUNT = 6;
+
+    private Property() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code property} is not one of the property constants.
+     */
+    public static void check(int property) {
+        if (property < 0 || property >= COUNT) {
+            throw new IllegalArgumentException("Unknown property: " + property);
+        }
+    }
+
+    /**
+     * Compose a value written to a property with the value already written to it within the same frame.
+     *
+     * @param property One of the property constants.
+     * @param current  Value already written.
+     * @param value    Value being written.
+     * @return Composed value of the property.
+     */
+    public static float compose(int property, float current, float value) {
+        if (property == SCALE_X || property == SCALE_Y || property == ALPHA) {
+            return current * value;
+        }
+
+        return current + value;
+    }
+}
@@ -0,0 +1,94 @@
+package com.ifttt.sparklemotion.core;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of property values for a number of slots, typically one slot per View written in a frame. Every
+ * slot holds {@link Property#COUNT} values and a bit mask of the properties written, and values written more than
+ * once to the same property of a slot are composed, see {@link Property#compose(int, float, float)}.
+ */
+public final class PropertyBuffer {
+
+    /**
+     * Values of all slots, {@link Property#COUNT} values for each slot.
+     */
+    private float[] values;
+
+    /**
+     * Bit mask of the properties written for every slot.
+     */
+    private int[] masks;
+
+    /**
+     * @param capacity Initial number of slots.
+     */
+    public PropertyBuffer(int capacity) {
+        values = new float[capacity * Property.COUNT];
+        masks = new int[capacity];
+    }
+
+    /**
+     * @return Number of slots of the buffer.
+     */
+    public int getCapacity() {
+        return masks.length;
+    }
+
+    /**
+     * Grow the buffer to hold at least the given number of slots, keeping the values of the existing slots.
+     *
+     * @param capacity Number of slots.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= masks.length) {
+            return;
+        }
+
+        values = Arrays.copyOf(values, capacity * Property.COUNT);
+        masks = Arrays.copyOf(masks, capacity);
+    }
+
+    /**
+     * Clear the properties written to a slot.
+     *
+     * @param slot Index of the slot.
+     */
+    public void clear(int slot) {
+        masks[slot] = 0;
+    }
+
+    /**
+     * Write a property value to a slot, composing it with the value already written to the same property.
+     *
+     * @param slot     Index of the slot.
+     * @param property One of the constants of {@link Property}.
+     * @param value    Value of the property.
+     */
+    public void write(int slot, int property, float value) {
+        int bit = 1 << property;
+        int index = slot * Property.COUNT + property;
+        if ((masks[slot] & bit) == 0) {
+            masks[slot] |= bit;
+            values[index] = value;
+        } else {
+            values[index] = Property.compose(property, values[index], value);
+        }
+    }
+
+    /**
+     * @param slot Index of the slot.
+     * @return Bit mask of the properties written to the slot.
+     */
+    public int getMask(int slot) {
+        return masks[slot];
+    }
+
+    /**
+     * @param slot     Index of the slot.
+     * @param property One of the constants of {@link Property}.
+     * @return Value of the property, only meaningful if it has been written since the slot was last cleared.
+     */
+    public float getValue(int slot, int property) {
+        return values[slot * Property.COUNT + property];
+    }
+}
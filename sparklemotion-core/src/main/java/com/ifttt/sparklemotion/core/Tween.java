@@ -0,0 +1,47 @@
+package com.ifttt.sparklemotion.core;
+
+/**
+ * Tween math shared by the built-in animations, which move every property from a value to another as the offset of
+ * their page goes from 0 to 1 or -1.
+ */
+public final class Tween {
+
+    private Tween() {
+        throw new AssertionError("No instances.");
+    }
+
+    /**
+     * Linearly interpolate between two values.
+     *
+     * @param from     Value at fraction 0.
+     * @param to       Value at fraction 1.
+     * @param fraction Fraction of the tween.
+     * @return Interpolated value.
+     */
+    public static float lerp(float from, float to, float fraction) {
+        return from + fraction * (to - from);
+    }
+
+    /**
+     * Apply an easing curve to a fraction.
+     *
+     * @param easing   Easing curve, or null for linear interpolation.
+     * @param fraction Linear fraction of the tween.
+     * @return Eased fraction.
+     */
+    public static float ease(Easing easing, float fraction) {
+        return easing == null ? fraction : easing.ease(fraction);
+    }
+
+    /**
+     * Interpolate between two values for the offset of a page, which is symmetric around the primary page.
+     *
+     * @param in     Value when the page is the primary page.
+     * @param out    Value when the page is scrolled out of the screen, to either side.
+     * @param offset Offset of the page, between -1 and 1.
+     * @return Interpolated value.
+     */
+    public static float pageOffset(float in, float out, float offset) {
+        return lerp(in, out, Math.abs(offset));
+    }
+}
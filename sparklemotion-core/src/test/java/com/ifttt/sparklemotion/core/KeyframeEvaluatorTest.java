@@ -0,0 +1,89 @@
+package com.ifttt.sparklemotion.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link KeyframeEvaluator}.
+ */
+public class KeyframeEvaluatorTest {
+
+    private static final float DELTA = 1e-5f;
+
+    @Test
+    public void testClampsOutsideOfKeyframes() throws Exception {
+        KeyframeEvaluator evaluator = newEvaluator(null);
+        int[] cursors = new int[2];
+
+        assertEquals(0f, evaluator.evaluate(0, -1f, cursors, 0), DELTA);
+        assertEquals(0.5f, evaluator.evaluate(0, 5f, cursors, 0), DELTA);
+        assertEquals(100f, evaluator.evaluate(1, 3f, cursors, 1), DELTA);
+    }
+
+    @Test
+    public void testInterpolatesSegments() throws Exception {
+        KeyframeEvaluator evaluator = newEvaluator(null);
+        int[] cursors = new int[2];
+        float[] out = new float[2];
+
+        evaluator.evaluate(0, 2, 0.5f, cursors, out);
+        assertArrayEquals(new float[] { 0.5f, 100f }, out, DELTA);
+
+        evaluator.evaluate(0, 2, 1.5f, cursors, out);
+        assertArrayEquals(new float[] { 0.75f, 100f }, out, DELTA);
+    }
+
+    @Test
+    public void testCursorFollowsPosition() throws Exception {
+        KeyframeEvaluator evaluator = newEvaluator(null);
+        int[] cursors = new int[1];
+
+        evaluator.evaluate(0, 0.5f, cursors, 0);
+        assertEquals(0, cursors[0]);
+
+        evaluator.evaluate(0, 1.5f, cursors, 0);
+        assertEquals(1, cursors[0]);
+
+        // A jump is found by binary search, and going back by the neighbour of the cursor.
+        evaluator.evaluate(0, 0.25f, cursors, 0);
+        assertEquals(0, cursors[0]);
+    }
+
+    @Test
+    public void testEasing() throws Exception {
+        Easing square = new Easing() {
+            @Override
+            public float ease(float fraction) {
+                return fraction * fraction;
+            }
+        };
+        KeyframeEvaluator evaluator = newEvaluator(square);
+
+        // The easing of the keyframe ending the segment is used.
+        assertEquals(0.25f, evaluator.evaluate(0, 0.5f, new int[1], 0), DELTA);
+        assertEquals(0.875f, evaluator.evaluate(0, 1.5f, new int[1], 0), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedKeyframes() throws Exception {
+        new KeyframeEvaluator(new int[] { Property.ALPHA }, new int[] { 0 }, new int[] { 2 }, new float[] { 1f, 0f },
+                new float[] { 0f, 1f }, new Easing[2]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownProperty() throws Exception {
+        new KeyframeEvaluator(new int[] { Property.COUNT }, new int[] { 0 }, new int[] { 1 }, new float[] { 0f },
+                new float[] { 0f }, new Easing[1]);
+    }
+
+    /**
+     * Alpha from 0 to 1 over positions 0 to 1, then to 0.5 at position 2 with the easing, and a constant rotation.
+     */
+    private static KeyframeEvaluator newEvaluator(Easing easing) {
+        return new KeyframeEvaluator(new int[] { Property.ALPHA, Property.ROTATION }, new int[] { 0, 3 },
+                new int[] { 3, 1 }, new float[] { 0f, 1f, 2f, 0f }, new float[] { 0f, 1f, 0.5f, 100f },
+                new Easing[] { null, easing, easing, null });
+    }
+}
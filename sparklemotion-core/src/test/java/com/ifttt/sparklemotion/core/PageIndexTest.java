@@ -0,0 +1,68 @@
+package com.ifttt.sparklemotion.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class PageIndexTest {
+
+    @Test
+    public void testAlwaysOn() throws Exception {
+        PageIndex index = new PageIndex(new int[] { PageRange.ALL_PAGES, 0, PageRange.ALL_PAGES },
+                new int[] { PageRange.ALL_PAGES, 0, PageRange.ALL_PAGES }, 3);
+
+        assertArrayEquals(new int[] { 0, 2 }, index.alwaysOn());
+        assertArrayEquals(new int[] { 1 }, index.activeAt(0));
+    }
+
+    @Test
+    public void testPageRanges() throws Exception {
+        PageIndex index = new PageIndex(new int[] { 0, 1, 3, 2 }, new int[] { 2, 1, 4, 2 }, 4);
+
+        assertArrayEquals(new int[0], index.alwaysOn());
+        assertArrayEquals(new int[] { 0 }, index.activeAt(0));
+        assertArrayEquals(new int[] { 0, 1 }, index.activeAt(1));
+        assertArrayEquals(new int[] { 0, 3 }, index.activeAt(2));
+        assertArrayEquals(new int[] { 2 }, index.activeAt(3));
+        assertArrayEquals(new int[] { 2 }, index.activeAt(4));
+    }
+
+    @Test
+    public void testOutOfRange() throws Exception {
+        PageIndex index = new PageIndex(new int[] { 1 }, new int[] { 1 }, 1);
+
+        assertArrayEquals(new int[0], index.activeAt(-1));
+        assertArrayEquals(new int[0], index.activeAt(2));
+    }
+
+    @Test
+    public void testCount() throws Exception {
+        PageIndex index = new PageIndex(new int[] { 0, PageRange.ALL_PAGES }, new int[] { 0, PageRange.ALL_PAGES }, 1);
+
+        assertArrayEquals(new int[0], index.alwaysOn());
+        assertArrayEquals(new int[] { 0 }, index.activeAt(0));
+    }
+
+    @Test
+    public void testMaxValueEnd() throws Exception {
+        PageIndex index = new PageIndex(new int[] { 3, 0 }, new int[] { Integer.MAX_VALUE, 4 }, 2);
+
+        assertArrayEquals(new int[] { 1 }, index.activeAt(2));
+        assertArrayEquals(new int[] { 0, 1 }, index.activeAt(3));
+        assertArrayEquals(new int[] { 0 }, index.activeAt(5));
+        assertArrayEquals(new int[] { 0 }, index.activeAt(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testLargeRanges() throws Exception {
+        PageIndex index = new PageIndex(new int[] { 0, 20000000, 1 }, new int[] { 50000000, 49999999, 1 }, 3);
+
+        assertArrayEquals(new int[] { 0 }, index.activeAt(0));
+        assertArrayEquals(new int[] { 0, 2 }, index.activeAt(1));
+        assertArrayEquals(new int[] { 0 }, index.activeAt(19999999));
+        assertArrayEquals(new int[] { 0, 1 }, index.activeAt(20000000));
+        assertArrayEquals(new int[] { 0, 1 }, index.activeAt(49999999));
+        assertArrayEquals(new int[] { 0 }, index.activeAt(50000000));
+        assertArrayEquals(new int[0], index.activeAt(50000001));
+    }
+}
@@ -0,0 +1,26 @@
+package com.ifttt.sparklemotion.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link PageRange}.
+ */
+public class PageRangeTest {
+
+    @Test
+    public void testAllPages() throws Exception {
+        assertTrue(PageRange.contains(PageRange.ALL_PAGES, PageRange.ALL_PAGES, 0));
+        assertTrue(PageRange.contains(PageRange.ALL_PAGES, PageRange.ALL_PAGES, 100));
+    }
+
+    @Test
+    public void testRange() throws Exception {
+        assertFalse(PageRange.contains(1, 2, 0));
+        assertTrue(PageRange.contains(1, 2, 1));
+        assertTrue(PageRange.contains(1, 2, 2));
+        assertFalse(PageRange.contains(1, 2, 3));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ifttt.sparklemotion.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link PropertyBuffer}.
+ */
+public class PropertyBufferTest {
+
+    @Test
+    public void testComposition() throws Exception {
+        PropertyBuffer buffer = new PropertyBuffer(1);
+        buffer.write(0, Property.TRANSLATION_X, 10f);
+        buffer.write(0, Property.TRANSLATION_X, 5f);
+        buffer.write(0, Property.SCALE_X, 2f);
+        buffer.write(0, Property.SCALE_X, 3f);
+
+        assertEquals((1 << Property.TRANSLATION_X) | (1 << Property.SCALE_X), buffer.getMask(0));
+        assertEquals(15f, buffer.getValue(0, Property.TRANSLATION_X), 0f);
+        assertEquals(6f, buffer.getValue(0, Property.SCALE_X), 0f);
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        PropertyBuffer buffer = new PropertyBuffer(1);
+        buffer.write(0, Property.ALPHA, 0.5f);
+        buffer.clear(0);
+        buffer.write(0, Property.ALPHA, 0.5f);
+
+        assertEquals(1 << Property.ALPHA, buffer.getMask(0));
+        assertEquals(0.5f, buffer.getValue(0, Property.ALPHA), 0f);
+    }
+
+    @Test
+    public void testEnsureCapacity() throws Exception {
+        PropertyBuffer buffer = new PropertyBuffer(1);
+        buffer.write(0, Property.ROTATION, 90f);
+        buffer.ensureCapacity(4);
+        buffer.write(3, Property.ROTATION, 45f);
+
+        assertEquals(4, buffer.getCapacity());
+        assertEquals(90f, buffer.getValue(0, Property.ROTATION), 0f);
+        assertEquals(45f, buffer.getValue(3, Property.ROTATION), 0f);
+    }
+}
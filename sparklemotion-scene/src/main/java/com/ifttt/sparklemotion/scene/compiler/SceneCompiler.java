@@ -0,0 +1,438 @@
+package com.ifttt.sparklemotion.scene.compiler;
+
+import com.ifttt.sparklemotion.scene.SceneFormat;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiler of scene descriptions to the binary {@link SceneFormat} loaded by the library's {@code SceneLoader}.
+ * <p/>
+ * A scene description is a list of animations. Every animation starts with an {@code animate} line naming its
+ * target View, by its resource id name, and optionally its pages, followed by the keyframes of the properties it
+ * animates. Keyframes are placed on the scroll position of the ViewPager, in pages, and can name the interpolator
+ * of the segment ending at them. Paths are sampled into translation keyframes evenly spaced along their length.
+ * <pre>
+ * # Fade the title in over the first page, then scale it down on the third one.
+ * animate title pages all
+ *     alpha 0:0 1:1
+ *     scale_x 2:1 3:0.5:accelerate
+ *     scale_y 2:1 3:0.5:accelerate
+ *
+ * # Fly the plane along a curve from page 1 to page 2, with 64 samples.
+ * animate plane pages 1-2
+ *     path 1 2 64 "M0 0 C200 0 200 300 400 300"
+ * </pre>
+ * Pages are either {@code all}, a single page, or a range of pages such as {@code 1-2}. Properties are
+ * {@code translation_x}, {@code translation_y}, {@code scale_x}, {@code scale_y}, {@code rotation} and
+ * {@code alpha}, and interpolators are {@code linear}, {@code accelerate}, {@code decelerate} and
+ * {@code accelerate_decelerate}. Everything after a {@code #} is a comment.
+ */
+public final class SceneCompiler {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String[] PROPERTIES = {
+            "translation_x", "translation_y", "scale_x", "scale_y", "rotation", "alpha"
+    };
+
+    private static final String[] INTERPOLATORS = {
+            "linear", "accelerate", "decelerate", "accelerate_decelerate"
+    };
+
+    private final List<AnimationEntry> animations = new ArrayList<>();
+    private final Map<String, Integer> names = new LinkedHashMap<>();
+
+    private SceneCompiler() {
+    }
+
+    /**
+     * Compile a scene description.
+     *
+     * @param source Scene description.
+     * @return Compiled scene.
+     *
+     * @throws IllegalArgumentException when the description is invalid.
+     */
+    public static byte[] compile(String source) {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            compile(new StringReader(source), outputStream);
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Compile a scene description from a reader to a stream. Neither is closed.
+     *
+     * @param reader       Reader of the scene description.
+     * @param outputStream Stream receiving the compiled scene.
+     * @throws IOException when the description cannot be read or the scene cannot be written.
+     *
+     * @throws IllegalArgumentException when the description is invalid.
+     */
+    public static void compile(Reader reader, OutputStream outputStream) throws IOException {
+        SceneCompiler compiler = new SceneCompiler();
+        compiler.parse(reader);
+        compiler.write(new DataOutputStream(outputStream));
+    }
+
+    /**
+     * Compile a scene description file to a compiled scene file.
+     *
+     * @param args Path of the scene description and path of the compiled scene.
+     * @throws IOException when either file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: SceneCompiler <scene description> <compiled scene>");
+            System.exit(1);
+        }
+
+        Reader reader = new InputStreamReader(new FileInputStream(args[0]), UTF_8);
+        try {
+            OutputStream outputStream = new FileOutputStream(args[1]);
+            try {
+                compile(reader, outputStream);
+            } finally {
+                outputStream.close();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void parse(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        AnimationEntry current = null;
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+
+            List<String> tokens = tokenize(line, lineNumber);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+
+            try {
+                String keyword = tokens.get(0);
+                if (keyword.equals("animate")) {
+                    current = parseAnimate(tokens);
+                    animations.add(current);
+                } else if (current == null) {
+                    throw new IllegalArgumentException("Expected animate, found " + keyword);
+                } else if (keyword.equals("path")) {
+                    parsePath(current, tokens);
+                } else {
+                    parseKeyframes(current, tokens);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        for (AnimationEntry animation : animations) {
+            if (animation.trackCount() == 0) {
+                throw new IllegalArgumentException("Animation of " + animation.name + " has no keyframes");
+            }
+        }
+    }
+
+    private AnimationEntry parseAnimate(List<String> tokens) {
+        if (tokens.size() != 2 && (tokens.size() != 4 || !tokens.get(2).equals("pages"))) {
+            throw new IllegalArgumentException("Expected animate <target> [pages <pages>]");
+        }
+
+        String name = tokens.get(1);
+        if (name.getBytes(UTF_8).length > 0xffff) {
+            throw new IllegalArgumentException("Target name is too long");
+        }
+
+        Integer nameIndex = names.get(name);
+        if (nameIndex == null) {
+            nameIndex = names.size();
+            names.put(name, nameIndex);
+        }
+
+        AnimationEntry animation = new AnimationEntry(name, nameIndex);
+        String pages = tokens.size() == 4 ? tokens.get(3) : "all";
+        if (pages.equals("all")) {
+            animation.start = SceneFormat.ALL_PAGES;
+            animation.end = SceneFormat.ALL_PAGES;
+        } else {
+            int dash = pages.indexOf('-');
+            animation.start = parsePage(dash < 0 ? pages : pages.substring(0, dash));
+            animation.end = dash < 0 ? animation.start : parsePage(pages.substring(dash + 1));
+            if (animation.end < animation.start) {
+                throw new IllegalArgumentException("Invalid pages: " + pages);
+            }
+        }
+
+        return animation;
+    }
+
+    private void parseKeyframes(AnimationEntry animation, List<String> tokens) {
+        int property = indexOf(PROPERTIES, tokens.get(0), "property");
+        if (tokens.size() < 2) {
+            throw new IllegalArgumentException("Expected keyframes of " + tokens.get(0));
+        }
+
+        for (int i = 1; i < tokens.size(); i++) {
+            String[] parts = tokens.get(i).split(":");
+            if (parts.length != 2 && parts.length != 3) {
+                throw new IllegalArgumentException("Expected <position>:<value>[:<interpolator>], found "
+                        + tokens.get(i));
+            }
+
+            float position = parseFloat(parts[0]);
+            float value = parseFloat(parts[1]);
+            byte interpolator = parts.length == 3
+                    ? (byte) indexOf(INTERPOLATORS, parts[2], "interpolator") : SceneFormat.INTERPOLATOR_LINEAR;
+            animation.add(property, new Keyframe(position, value, interpolator));
+        }
+    }
+
+    private void parsePath(AnimationEntry animation, List<String> tokens) {
+        if (tokens.size() != 5) {
+            throw new IllegalArgumentException("Expected path <from> <to> <intervals> \"<path data>\"");
+        }
+
+        float from = parseFloat(tokens.get(1));
+        float to = parseFloat(tokens.get(2));
+        int intervals;
+        try {
+            intervals = Integer.parseInt(tokens.get(3));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid intervals: " + tokens.get(3));
+        }
+
+        if (intervals < 1 || !(to > from)) {
+            throw new IllegalArgumentException("Path needs at least 1 interval and a range of positions");
+        }
+
+        SvgPath path = SvgPath.parse(tokens.get(4));
+        float[] xs = new float[intervals + 1];
+        float[] ys = new float[intervals + 1];
+        path.sample(intervals, xs, ys);
+
+        for (int i = 0; i <= intervals; i++) {
+            float position = from + (to - from) * i / intervals;
+            animation.add(SceneFormat.PROPERTY_TRANSLATION_X,
+                    new Keyframe(position, xs[i], SceneFormat.INTERPOLATOR_LINEAR));
+            animation.add(SceneFormat.PROPERTY_TRANSLATION_Y,
+                    new Keyframe(position, ys[i], SceneFormat.INTERPOLATOR_LINEAR));
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        int trackCount = 0;
+        int keyframeCount = 0;
+        for (AnimationEntry animation : animations) {
+            trackCount += animation.trackCount();
+            keyframeCount += animation.keyframeCount();
+        }
+
+        out.writeInt(SceneFormat.MAGIC);
+        out.writeInt(SceneFormat.VERSION);
+        out.writeInt(names.size());
+        out.writeInt(animations.size());
+        out.writeInt(trackCount);
+        out.writeInt(keyframeCount);
+
+        for (String name : names.keySet()) {
+            byte[] bytes = name.getBytes(UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+
+        int track = 0;
+        for (AnimationEntry animation : animations) {
+            out.writeInt(animation.nameIndex);
+            out.writeInt(animation.start);
+            out.writeInt(animation.end);
+            out.writeInt(track);
+            out.writeInt(animation.trackCount());
+            track += animation.trackCount();
+        }
+
+        List<Keyframe> keyframes = new ArrayList<>(keyframeCount);
+        for (AnimationEntry animation : animations) {
+            for (int property = 0; property < PROPERTIES.length; property++) {
+                List<Keyframe> trackKeyframes = animation.tracks.get(property);
+                if (trackKeyframes.isEmpty()) {
+                    continue;
+                }
+
+                // Stable, so that keyframes at the same position keep their order.
+                Collections.sort(trackKeyframes);
+                out.writeInt(property);
+                out.writeInt(keyframes.size());
+                out.writeInt(trackKeyframes.size());
+                keyframes.addAll(trackKeyframes);
+            }
+        }
+
+        for (Keyframe keyframe : keyframes) {
+            out.writeFloat(keyframe.position);
+        }
+
+        for (Keyframe keyframe : keyframes) {
+            out.writeFloat(keyframe.value);
+        }
+
+        for (Keyframe keyframe : keyframes) {
+            out.writeByte(keyframe.interpolator);
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Split a line into tokens separated by whitespace. A token within double quotes can contain whitespace.
+     */
+    private static List<String> tokenize(String line, int lineNumber) {
+        List<String> tokens = new ArrayList<>();
+        int index = 0;
+        while (index < line.length()) {
+            char c = line.charAt(index);
+            if (Character.isWhitespace(c)) {
+                index++;
+            } else if (c == '"') {
+                int end = line.indexOf('"', index + 1);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unterminated string");
+                }
+
+                tokens.add(line.substring(index + 1, end));
+                index = end + 1;
+            } else {
+                int start = index;
+                while (index < line.length() && !Character.isWhitespace(line.charAt(index))) {
+                    index++;
+                }
+
+                tokens.add(line.substring(start, index));
+            }
+        }
+
+        return tokens;
+    }
+
+    private static int indexOf(String[] values, String value, String kind) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown " + kind + ": " + value);
+    }
+
+    private static int parsePage(String page) {
+        try {
+            int value = Integer.parseInt(page);
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid page: " + page);
+            }
+
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page: " + page);
+        }
+    }
+
+    private static float parseFloat(String number) {
+        try {
+            float value = Float.parseFloat(number);
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                throw new IllegalArgumentException("Invalid number: " + number);
+            }
+
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + number);
+        }
+    }
+
+    private static final class AnimationEntry {
+
+        final String name;
+        final int nameIndex;
+        int start;
+        int end;
+
+        final List<List<Keyframe>> tracks = new ArrayList<>(PROPERTIES.length);
+
+        AnimationEntry(String name, int nameIndex) {
+            this.name = name;
+            this.nameIndex = nameIndex;
+            for (int i = 0; i < PROPERTIES.length; i++) {
+                tracks.add(new ArrayList<Keyframe>());
+            }
+        }
+
+        void add(int property, Keyframe keyframe) {
+            tracks.get(property).add(keyframe);
+        }
+
+        int trackCount() {
+            int count = 0;
+            for (List<Keyframe> track : tracks) {
+                if (!track.isEmpty()) {
+                    count++;
+                }
+            }
+
+            return count;
+        }
+
+        int keyframeCount() {
+            int count = 0;
+            for (List<Keyframe> track : tracks) {
+                count += track.size();
+            }
+
+            return count;
+        }
+    }
+
+    private static final class Keyframe implements Comparable<Keyframe> {
+
+        final float position;
+        final float value;
+        final byte interpolator;
+
+        Keyframe(float position, float value, byte interpolator) {
+            this.position = position;
+            this.value = value;
+            this.interpolator = interpolator;
+        }
+
+        @Override
+        public int compareTo(Keyframe another) {
+            return Float.compare(position, another.position);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.ifttt.sparklemotion.scene.compiler;
+
+import java.util.Arrays;
+
+/**
+ * Polyline approximation of an SVG path, built from its path data, e.g. {@code "M0 0 C50 0 50 100 100 100"}. All
+ * commands except arcs are supported, in both absolute and relative forms. Curves are flattened into
+ * {@link #CURVE_SEGMENTS} line segments each.
+ */
+final class SvgPath {
+
+    static final int CURVE_SEGMENTS = 32;
+
+    private float[] xs = new float[16];
+    private float[] ys = new float[16];
+
+    /**
+     * Length of the polyline from its first point to every point.
+     */
+    private float[] lengths = new float[16];
+
+    private int size;
+
+    private final String data;
+    private int index;
+
+    private SvgPath(String data) {
+        this.data = data;
+    }
+
+    /**
+     * Parse SVG path data.
+     *
+     * @param data Path data, as in the {@code d} attribute of an SVG {@code path} element.
+     * @return Polyline approximation of the path.
+     *
+     * @throws IllegalArgumentException when the path data is invalid or empty.
+     */
+    static SvgPath parse(String data) {
+        SvgPath path = new SvgPath(data);
+        path.parse();
+        if (path.size == 0) {
+            throw new IllegalArgumentException("Empty path");
+        }
+
+        return path;
+    }
+
+    /**
+     * Sample points evenly spaced along the length of the path.
+     *
+     * @param intervals Number of intervals between the samples, the number of samples is {@code intervals + 1}.
+     * @param outX      Array receiving the x coordinates of the samples.
+     * @param outY      Array receiving the y coordinates of the samples.
+     */
+    void sample(int intervals, float[] outX, float[] outY) {
+        float total = lengths[size - 1];
+        int segment = 0;
+        for (int i = 0; i <= intervals; i++) {
+            float distance = total * i / intervals;
+            while (segment < size - 2 && lengths[segment + 1] < distance) {
+                segment++;
+            }
+
+            if (size == 1) {
+                outX[i] = xs[0];
+                outY[i] = ys[0];
+                continue;
+            }
+
+            float segmentLength = lengths[segment + 1] - lengths[segment];
+            float fraction = segmentLength > 0 ? (distance - lengths[segment]) / segmentLength : 0;
+            fraction = Math.max(0, Math.min(1, fraction));
+            outX[i] = xs[segment] + fraction * (xs[segment + 1] - xs[segment]);
+            outY[i] = ys[segment] + fraction * (ys[segment + 1] - ys[segment]);
+        }
+    }
+
+    /**
+     * @return Total length of the polyline.
+     */
+    float getLength() {
+        return lengths[size - 1];
+    }
+
+    private void parse() {
+        float x = 0;
+        float y = 0;
+        float startX = 0;
+        float startY = 0;
+        // Control point of the previous curve, for the smooth curve commands.
+        float controlX = 0;
+        float controlY = 0;
+        char previous = ' ';
+        char command = ' ';
+
+        skipSeparators();
+        while (index < data.length()) {
+            char c = data.charAt(index);
+            if (Character.isLetter(c)) {
+                command = c;
+                index++;
+            } else if (command == ' ') {
+                throw new IllegalArgumentException("Path must start with a command: " + data);
+            } else if (command == 'M') {
+                // Coordinates following a move command are line commands.
+                command = 'L';
+            } else if (command == 'm') {
+                command = 'l';
+            }
+
+            boolean relative = Character.isLowerCase(command);
+            float baseX = relative ? x : 0;
+            float baseY = relative ? y : 0;
+
+            switch (Character.toUpperCase(command)) {
+                case 'M':
+                    x = baseX + nextNumber();
+                    y = baseY + nextNumber();
+                    startX = x;
+                    startY = y;
+                    moveTo(x, y);
+                    break;
+                case 'L':
+                    x = baseX + nextNumber();
+                    y = baseY + nextNumber();
+                    lineTo(x, y);
+                    break;
+                case 'H':
+                    x = baseX + nextNumber();
+                    lineTo(x, y);
+                    break;
+                case 'V':
+                    y = baseY + nextNumber();
+                    lineTo(x, y);
+                    break;
+                case 'C': {
+                    float x1 = baseX + nextNumber();
+                    float y1 = baseY + nextNumber();
+                    controlX = baseX + nextNumber();
+                    controlY = baseY + nextNumber();
+                    float x2 = baseX + nextNumber();
+                    float y2 = baseY + nextNumber();
+                    cubicTo(x, y, x1, y1, controlX, controlY, x2, y2);
+                    x = x2;
+                    y = y2;
+                    break;
+                }
+                case 'S': {
+                    boolean smooth = "CcSs".indexOf(previous) >= 0;
+                    float x1 = smooth ? 2 * x - controlX : x;
+                    float y1 = smooth ? 2 * y - controlY : y;
+                    controlX = baseX + nextNumber();
+                    controlY = baseY + nextNumber();
+                    float x2 = baseX + nextNumber();
+                    float y2 = baseY + nextNumber();
+                    cubicTo(x, y, x1, y1, controlX, controlY, x2, y2);
+                    x = x2;
+                    y = y2;
+                    break;
+                }
+                case 'Q': {
+                    controlX = baseX + nextNumber();
+                    controlY = baseY + nextNumber();
+                    float x2 = baseX + nextNumber();
+                    float y2 = baseY + nextNumber();
+                    quadTo(x, y, controlX, controlY, x2, y2);
+                    x = x2;
+                    y = y2;
+                    break;
+                }
+                case 'T': {
+                    boolean smooth = "QqTt".indexOf(previous) >= 0;
+                    controlX = smooth ? 2 * x - controlX : x;
+                    controlY = smooth ? 2 * y - controlY : y;
+                    float x2 = baseX + nextNumber();
+                    float y2 = baseY + nextNumber();
+                    quadTo(x, y, controlX, controlY, x2, y2);
+                    x = x2;
+                    y = y2;
+                    break;
+                }
+                case 'Z':
+                    x = startX;
+                    y = startY;
+                    lineTo(x, y);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported path command: " + command);
+            }
+
+            previous = command;
+            skipSeparators();
+        }
+    }
+
+    private void moveTo(float x, float y) {
+        if (size > 0) {
+            throw new IllegalArgumentException("Paths with several contours are not supported: " + data);
+        }
+
+        addPoint(x, y);
+    }
+
+    private void lineTo(float x, float y) {
+        if (size == 0) {
+            addPoint(0, 0);
+        }
+
+        addPoint(x, y);
+    }
+
+    private void quadTo(float x0, float y0, float x1, float y1, float x2, float y2) {
+        for (int i = 1; i <= CURVE_SEGMENTS; i++) {
+            float t = (float) i / CURVE_SEGMENTS;
+            float u = 1 - t;
+            lineTo(u * u * x0 + 2 * u * t * x1 + t * t * x2, u * u * y0 + 2 * u * t * y1 + t * t * y2);
+        }
+    }
+
+    private void cubicTo(float x0, float y0, float x1, float y1, float x2, float y2, float x3, float y3) {
+        for (int i = 1; i <= CURVE_SEGMENTS; i++) {
+            float t = (float) i / CURVE_SEGMENTS;
+            float u = 1 - t;
+            float a = u * u * u;
+            float b = 3 * u * u * t;
+            float c = 3 * u * t * t;
+            float d = t * t * t;
+            lineTo(a * x0 + b * x1 + c * x2 + d * x3, a * y0 + b * y1 + c * y2 + d * y3);
+        }
+    }
+
+    private void addPoint(float x, float y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+            lengths = Arrays.copyOf(lengths, size * 2);
+        }
+
+        xs[size] = x;
+        ys[size] = y;
+        if (size > 0) {
+            float dx = x - xs[size - 1];
+            float dy = y - ys[size - 1];
+            lengths[size] = lengths[size - 1] + (float) Math.sqrt(dx * dx + dy * dy);
+        }
+        size++;
+    }
+
+    private float nextNumber() {
+        skipSeparators();
+        int start = index;
+        if (index < data.length() && (data.charAt(index) == '-' || data.charAt(index) == '+')) {
+            index++;
+        }
+
+        boolean dot = false;
+        while (index < data.length()) {
+            char c = data.charAt(index);
+            if (c == '.' && !dot) {
+                dot = true;
+            } else if (c == 'e' || c == 'E') {
+                index++;
+                if (index < data.length() && (data.charAt(index) == '-' || data.charAt(index) == '+')) {
+                    index++;
+                }
+                continue;
+            } else if (!Character.isDigit(c)) {
+                break;
+            }
+            index++;
+        }
+
+        if (start == index) {
+            throw new IllegalArgumentException("Expected a number at " + index + ": " + data);
+        }
+
+        try {
+            return Float.parseFloat(data.substring(start, index));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number at " + start + ": " + data);
+        }
+    }
+
+    private void skipSeparators() {
+        while (index < data.length()) {
+            char c = data.charAt(index);
+            if (c != ',' && !Character.isWhitespace(c)) {
+                break;
+            }
+            index++;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ifttt.sparklemotion.scene.compiler;
+
+import com.ifttt.sparklemotion.scene.SceneFormat;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link SceneCompiler}.
+ */
+public class SceneCompilerTest {
+
+    @Test
+    public void testHeader() throws Exception {
+        ByteBuffer scene = ByteBuffer.wrap(SceneCompiler.compile(""
+                + "# Two animations of the same target.\n"
+                + "animate title pages 1-2\n"
+                + "    alpha 1:0 2:1:accelerate\n"
+                + "    scale_x 1:1 2:2\n"
+                + "animate title\n"
+                + "    rotation 0:0 4:360\n"));
+
+        assertEquals(SceneFormat.MAGIC, scene.getInt());
+        assertEquals(SceneFormat.VERSION, scene.getInt());
+        assertEquals(1, scene.getInt());
+        assertEquals(2, scene.getInt());
+        assertEquals(3, scene.getInt());
+        assertEquals(6, scene.getInt());
+    }
+
+    @Test
+    public void testLayout() throws Exception {
+        ByteBuffer scene = ByteBuffer.wrap(SceneCompiler.compile(""
+                + "animate title pages 3\n"
+                + "    alpha 2:1 1:0:decelerate\n"));
+        scene.position(SceneFormat.HEADER_SIZE);
+
+        // Target name.
+        assertEquals(5, scene.getShort());
+        scene.position(scene.position() + 5);
+
+        // Animation.
+        assertEquals(0, scene.getInt());
+        assertEquals(3, scene.getInt());
+        assertEquals(3, scene.getInt());
+        assertEquals(0, scene.getInt());
+        assertEquals(1, scene.getInt());
+
+        // Track.
+        assertEquals(SceneFormat.PROPERTY_ALPHA, scene.getInt());
+        assertEquals(0, scene.getInt());
+        assertEquals(2, scene.getInt());
+
+        // Keyframes, sorted by position.
+        assertEquals(1f, scene.getFloat(), 0f);
+        assertEquals(2f, scene.getFloat(), 0f);
+        assertEquals(0f, scene.getFloat(), 0f);
+        assertEquals(1f, scene.getFloat(), 0f);
+        assertEquals(SceneFormat.INTERPOLATOR_DECELERATE, scene.get());
+        assertEquals(SceneFormat.INTERPOLATOR_LINEAR, scene.get());
+        assertEquals(0, scene.remaining());
+    }
+
+    @Test
+    public void testPath() throws Exception {
+        ByteBuffer scene = ByteBuffer.wrap(SceneCompiler.compile(""
+                + "animate plane pages all\n"
+                + "    path 0 1 4 \"M0 0 H100 V100\"\n"));
+        scene.position(12);
+        assertEquals(1, scene.getInt());
+        assertEquals(2, scene.getInt());
+        assertEquals(10, scene.getInt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeyframeWithoutAnimation() throws Exception {
+        SceneCompiler.compile("alpha 0:0 1:1\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownProperty() throws Exception {
+        SceneCompiler.compile("animate title\n    color 0:0 1:1\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPages() throws Exception {
+        SceneCompiler.compile("animate title pages 2-1\n    alpha 0:0 1:1\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyAnimation() throws Exception {
+        SceneCompiler.compile("animate title\n");
+    }
+}
@@ -0,0 +1,49 @@
+package com.ifttt.sparklemotion.scene.compiler;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link SvgPath}.
+ */
+public class SvgPathTest {
+
+    @Test
+    public void testLines() throws Exception {
+        SvgPath path = SvgPath.parse("M0 0 L100 0 l0,100");
+        assertEquals(200f, path.getLength(), 0.001f);
+
+        float[] xs = new float[5];
+        float[] ys = new float[5];
+        path.sample(4, xs, ys);
+        assertEquals(50f, xs[1], 0.001f);
+        assertEquals(0f, ys[1], 0.001f);
+        assertEquals(100f, xs[3], 0.001f);
+        assertEquals(50f, ys[3], 0.001f);
+        assertEquals(100f, ys[4], 0.001f);
+    }
+
+    @Test
+    public void testImplicitLineTo() throws Exception {
+        SvgPath path = SvgPath.parse("m10 10 20 0 v-10 z");
+        assertEquals(20f + 10f + (float) Math.sqrt(20 * 20 + 10 * 10), path.getLength(), 0.001f);
+    }
+
+    @Test
+    public void testCurve() throws Exception {
+        // Quarter of a circle of radius 100, approximated by a cubic curve.
+        SvgPath path = SvgPath.parse("M100 0 C100 55.23 55.23 100 0 100");
+        assertEquals(Math.PI * 50, path.getLength(), 0.5);
+
+        float[] xs = new float[3];
+        float[] ys = new float[3];
+        path.sample(2, xs, ys);
+        assertEquals(xs[1], ys[1], 0.5f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArcUnsupported() throws Exception {
+        SvgPath.parse("M0 0 A50 50 0 0 1 100 0");
+    }
+}
@@ -0,0 +1,305 @@
+package com.ifttt.sparklemotion.stress;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.AnimationBuilder;
+import com.ifttt.sparklemotion.ExternalAnimationBuilder;
+import com.ifttt.sparklemotion.Page;
+import com.ifttt.sparklemotion.SparkleViewPagerLayout;
+import com.ifttt.sparklemotion.animations.AlphaAnimation;
+import com.ifttt.sparklemotion.animations.KeyframeAnimation;
+import com.ifttt.sparklemotion.animations.ParallaxAnimation;
+import com.ifttt.sparklemotion.animations.RotationAnimation;
+import com.ifttt.sparklemotion.animations.ScaleAnimation;
+import com.ifttt.sparklemotion.animations.TranslationAnimation;
+import com.ifttt.sparklemotion.core.PageRange;
+
+import java.util.Random;
+
+/**
+ * Generator of synthetic scenes of configurable size, used to stress the presenter with far more pages, Decors and
+ * animations than a hand-written scene has, and to measure how it scales. Scenes are generated from a seed, so that
+ * the same configuration always generates the same animations.
+ * <p/>
+ * Every page holds {@link Builder#animatedViewsPerPage(int)} animated Views at the bottom of a hierarchy of
+ * {@link Builder#hierarchyDepth(int)} levels, with Views that are not animated at every level. Every animated View
+ * and every Decor runs {@link Builder#animationsPerTarget(int)} animations, picked among the built-in animations and
+ * assigned to all pages, a range of pages or a single page.
+ * <p/>
+ * The generated scene can be shown on a device with {@link #animate(AnimationBuilder)} and
+ * {@link #addDecors(ExternalAnimationBuilder, SparkleViewPagerLayout)}, with pages built by
+ * {@link #buildPage(Context)}, as well as run headlessly in JVM tests and benchmarks.
+ */
+public final class StressScene {
+
+    /**
+     * Id of the first animated View of every page, the other ones follow.
+     */
+    public static final int FIRST_VIEW_ID = 1;
+
+    /**
+     * Size of the animated Views and Decors, in pixels.
+     */
+    private static final int TARGET_SIZE = 96;
+
+    /**
+     * Largest margin of the animated Views and Decors from the top left corner of their parent, in pixels.
+     */
+    private static final int MAX_MARGIN = 640;
+
+    private static final int SIBLINGS_PER_LEVEL = 2;
+
+    private static final int ANIMATION_TYPE_COUNT = 6;
+
+    private static final int[] COLORS = {0xffe53935, 0xff8e24aa, 0xff1e88e5, 0xff43a047, 0xfffdd835, 0xfffb8c00};
+
+    /**
+     * Builder of {@link StressScene}s.
+     */
+    public static final class Builder {
+
+        private int pageCount = 20;
+        private int decorCount = 16;
+        private int animationsPerTarget = 2;
+        private int animatedViewsPerPage = 4;
+        private int hierarchyDepth = 3;
+        private long seed;
+
+        public Builder pageCount(int pageCount) {
+            if (pageCount < 1) {
+                throw new IllegalArgumentException("Invalid page count: " + pageCount);
+            }
+
+            this.pageCount = pageCount;
+            return this;
+        }
+
+        public Builder decorCount(int decorCount) {
+            if (decorCount < 0) {
+                throw new IllegalArgumentException("Invalid Decor count: " + decorCount);
+            }
+
+            this.decorCount = decorCount;
+            return this;
+        }
+
+        public Builder animationsPerTarget(int animationsPerTarget) {
+            if (animationsPerTarget < 1) {
+                throw new IllegalArgumentException("Invalid animation count: " + animationsPerTarget);
+            }
+
+            this.animationsPerTarget = animationsPerTarget;
+            return this;
+        }
+
+        public Builder animatedViewsPerPage(int animatedViewsPerPage) {
+            if (animatedViewsPerPage < 0) {
+                throw new IllegalArgumentException("Invalid animated View count: " + animatedViewsPerPage);
+            }
+
+            this.animatedViewsPerPage = animatedViewsPerPage;
+            return this;
+        }
+
+        public Builder hierarchyDepth(int hierarchyDepth) {
+            if (hierarchyDepth < 1) {
+                throw new IllegalArgumentException("Invalid hierarchy depth: " + hierarchyDepth);
+            }
+
+            this.hierarchyDepth = hierarchyDepth;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public StressScene build() {
+            return new StressScene(this);
+        }
+    }
+
+    private final int pageCount;
+    private final int decorCount;
+    private final int animationsPerTarget;
+    private final int animatedViewsPerPage;
+    private final int hierarchyDepth;
+    private final long seed;
+
+    private StressScene(Builder builder) {
+        pageCount = builder.pageCount;
+        decorCount = builder.decorCount;
+        animationsPerTarget = builder.animationsPerTarget;
+        animatedViewsPerPage = builder.animatedViewsPerPage;
+        hierarchyDepth = builder.hierarchyDepth;
+        seed = builder.seed;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public int getDecorCount() {
+        return decorCount;
+    }
+
+    public int getAnimationsPerTarget() {
+        return animationsPerTarget;
+    }
+
+    public int getAnimatedViewsPerPage() {
+        return animatedViewsPerPage;
+    }
+
+    public int getHierarchyDepth() {
+        return hierarchyDepth;
+    }
+
+    /**
+     * Build a page of the scene, with the animated Views at the bottom of the hierarchy. All pages are alike, as the
+     * animations find their Views by id.
+     *
+     * @param context Context of the Views.
+     * @return Root View of the page.
+     */
+    public View buildPage(@NonNull Context context) {
+        Random random = new Random(seed);
+        FrameLayout root = new FrameLayout(context);
+        ViewGroup parent = root;
+        for (int level = 1; level < hierarchyDepth; level++) {
+            addSiblings(context, parent);
+            FrameLayout child = new FrameLayout(context);
+            parent.addView(child);
+            parent = child;
+        }
+
+        addSiblings(context, parent);
+        for (int i = 0; i < animatedViewsPerPage; i++) {
+            View view = buildTarget(context, random, i);
+            view.setId(FIRST_VIEW_ID + i);
+            parent.addView(view);
+        }
+
+        return root;
+    }
+
+    private static void addSiblings(Context context, ViewGroup parent) {
+        for (int i = 0; i < SIBLINGS_PER_LEVEL; i++) {
+            parent.addView(new View(context));
+        }
+    }
+
+    private static View buildTarget(Context context, Random random, int index) {
+        View view = new View(context);
+        view.setBackgroundColor(COLORS[index % COLORS.length]);
+
+        FrameLayout.LayoutParams params = new FrameLayout.LayoutParams(TARGET_SIZE, TARGET_SIZE);
+        params.leftMargin = random.nextInt(MAX_MARGIN);
+        params.topMargin = random.nextInt(MAX_MARGIN);
+        view.setLayoutParams(params);
+        return view;
+    }
+
+    /**
+     * Assign the animations of the animated Views of every page.
+     *
+     * @param builder Builder of the ViewPager showing the pages built by {@link #buildPage(Context)}.
+     */
+    public void animate(@NonNull AnimationBuilder builder) {
+        Random random = new Random(seed);
+        int[] range = new int[2];
+        for (int i = 0; i < animatedViewsPerPage; i++) {
+            for (int j = 0; j < animationsPerTarget; j++) {
+                pickRange(random, range);
+                builder.animate(buildAnimation(random, range), toPage(range), FIRST_VIEW_ID + i);
+            }
+        }
+    }
+
+    /**
+     * Build the Decors of the scene, add them to the layout, and assign their animations.
+     *
+     * @param builder Builder of the layout.
+     * @param layout  Layout of the ViewPager.
+     * @return The Decors, in the order they were added.
+     */
+    public View[] addDecors(@NonNull ExternalAnimationBuilder builder, @NonNull SparkleViewPagerLayout layout) {
+        // A different stream than the in-page animations, so that both don't depend on each other's counts.
+        Random random = new Random(~seed);
+        int[] range = new int[2];
+        View[] decors = new View[decorCount];
+        for (int i = 0; i < decorCount; i++) {
+            View decor = buildTarget(layout.getContext(), random, i);
+            layout.addView(decor);
+            decors[i] = decor;
+
+            for (int j = 0; j < animationsPerTarget; j++) {
+                pickRange(random, range);
+                builder.animate(buildAnimation(random, range), toPage(range), decor);
+            }
+        }
+
+        return decors;
+    }
+
+    /**
+     * Pick the pages of an animation: one eighth of the animations run on all pages, the others on a single page or
+     * a range of three pages.
+     *
+     * @param range Starting and ending pages of the animation, or {@link PageRange#ALL_PAGES}, set by this method.
+     */
+    private void pickRange(Random random, int[] range) {
+        int type = random.nextInt(8);
+        int start = random.nextInt(pageCount);
+        if (type == 0) {
+            range[0] = PageRange.ALL_PAGES;
+            range[1] = PageRange.ALL_PAGES;
+        } else if (type % 2 == 0) {
+            range[0] = start;
+            range[1] = Math.min(start + 2, pageCount - 1);
+        } else {
+            range[0] = start;
+            range[1] = start;
+        }
+    }
+
+    private static Page toPage(int[] range) {
+        if (range[0] == PageRange.ALL_PAGES) {
+            return Page.allPages();
+        }
+
+        return range[0] == range[1] ? Page.singlePage(range[0]) : Page.pageRange(range[0], range[1]);
+    }
+
+    private static Animation buildAnimation(Random random, int[] range) {
+        switch (random.nextInt(ANIMATION_TYPE_COUNT)) {
+            case 0:
+                return new AlphaAnimation(1f, random.nextFloat());
+            case 1:
+                return new TranslationAnimation(0, 0, random.nextInt(MAX_MARGIN), random.nextInt(MAX_MARGIN), false);
+            case 2:
+                float scale = 0.5f + random.nextFloat();
+                return new ScaleAnimation(1f, 1f, scale, scale);
+            case 3:
+                return new RotationAnimation(0, random.nextInt(360));
+            case 4:
+                return new ParallaxAnimation(1f + random.nextInt(4));
+            default:
+                // Keyframes on the scroll position, across the pages of the animation.
+                float start = range[0] == PageRange.ALL_PAGES ? 0 : range[0];
+                float end = range[1] == PageRange.ALL_PAGES ? start + 1 : range[1] + 1;
+                return new KeyframeAnimation.Builder()
+                        .keyframe(KeyframeAnimation.ALPHA, start, 1f)
+                        .keyframe(KeyframeAnimation.ALPHA, end, 0f)
+                        .keyframe(KeyframeAnimation.TRANSLATION_Y, start, 0f)
+                        .keyframe(KeyframeAnimation.TRANSLATION_Y, end, random.nextInt(MAX_MARGIN))
+                        .build();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ifttt.sparklemotion;
+
+import android.support.v4.view.ViewPager;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import com.ifttt.sparklemotion.stress.StressScene;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link StressScene}.
+ */
+@SmallTest
+public class StressSceneTest {
+
+    private SparkleViewPagerLayout mLayout;
+
+    @Before
+    public void setUp() throws Exception {
+        ViewPager viewPager = newViewPager();
+        mLayout = mock(SparkleViewPagerLayout.class);
+        when(mLayout.getViewPager()).thenReturn(viewPager);
+    }
+
+    @Test
+    public void testAnimationCounts() throws Exception {
+        StressScene scene = new StressScene.Builder()
+                .pageCount(50)
+                .decorCount(10)
+                .animationsPerTarget(3)
+                .animatedViewsPerPage(5)
+                .build();
+
+        ExternalAnimationBuilder builder = SparkleMotion.newBuilder(mLayout);
+        scene.animate(builder);
+        View[] decors = scene.addDecors(builder, mLayout);
+
+        FramePlan plan = builder.presenter.getPlan();
+        assertEquals(5, plan.ids.length);
+        assertEquals(StressScene.FIRST_VIEW_ID, plan.ids[0]);
+        assertEquals(15, plan.animations.length);
+        assertEquals(10, decors.length);
+        assertEquals(30, countNonNull(plan.decorAnimations));
+        verify(mLayout).addView(decors[9]);
+    }
+
+    @Test
+    public void testSameSeedSameAnimations() throws Exception {
+        StressScene scene = new StressScene.Builder().seed(42).build();
+
+        ExternalAnimationBuilder first = SparkleMotion.newBuilder(mLayout);
+        scene.animate(first);
+        scene.addDecors(first, mLayout);
+
+        ViewPager otherViewPager = newViewPager();
+        SparkleViewPagerLayout otherLayout = mock(SparkleViewPagerLayout.class);
+        when(otherLayout.getViewPager()).thenReturn(otherViewPager);
+        ExternalAnimationBuilder second = SparkleMotion.newBuilder(otherLayout);
+        StressScene otherScene = new StressScene.Builder().seed(42).build();
+        otherScene.animate(second);
+        otherScene.addDecors(second, otherLayout);
+
+        FramePlan firstPlan = first.presenter.getPlan();
+        FramePlan secondPlan = second.presenter.getPlan();
+        assertEquals(firstPlan.animations.length, secondPlan.animations.length);
+        for (int i = 0; i < firstPlan.animations.length; i++) {
+            assertSame(firstPlan.animations[i].getClass(), secondPlan.animations[i].getClass());
+            assertEquals(firstPlan.pageStarts[i], secondPlan.pageStarts[i]);
+            assertEquals(firstPlan.pageEnds[i], secondPlan.pageEnds[i]);
+        }
+
+        assertEquals(firstPlan.decorAnimations.length, secondPlan.decorAnimations.length);
+        for (int i = 0; i < firstPlan.decorAnimations.length; i++) {
+            assertSame(firstPlan.decorAnimations[i].getClass(), secondPlan.decorAnimations[i].getClass());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPageCount() throws Exception {
+        new StressScene.Builder().pageCount(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidHierarchyDepth() throws Exception {
+        new StressScene.Builder().hierarchyDepth(0);
+    }
+
+    private static int countNonNull(Object[] array) {
+        int count = 0;
+        for (Object element : array) {
+            if (element != null) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static ViewPager newViewPager() {
+        ViewPager viewPager = mock(ViewPager.class);
+        final Object[] tag = new Object[1];
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                tag[0] = invocation.getArguments()[1];
+                return null;
+            }
+        }).when(viewPager).setTag(eq(R.id.presenter_id), any());
+        when(viewPager.getTag(R.id.presenter_id)).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return tag[0];
+            }
+        });
+
+        return viewPager;
+    }
+}
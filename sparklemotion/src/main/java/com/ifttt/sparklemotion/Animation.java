@@ -3,6 +3,8 @@ package com.ifttt.sparklemotion;
 import android.view.View;
 import android.view.animation.Interpolator;
 
+import java.util.Arrays;
+
 /**
  * Abstract class for running SparkleMotion animation. This class contains all common information about
  * the animation to be run on ViewPager pages, newBuilder an abstract method
@@ -11,12 +13,92 @@ import android.view.animation.Interpolator;
  */
 public abstract class Animation {
 
+    /**
+     * Side of the screen of an animation that hasn't been run yet.
+     */
+    static final int SIDE_UNKNOWN = 0;
+
+    /**
+     * Side of the screen of an animation whose offset is less than -1.
+     */
+    static final int SIDE_LEFT = 1;
+
+    /**
+     * Side of the screen of an animation whose offset is within [-1, 1].
+     */
+    static final int SIDE_ON_SCREEN = 2;
+
+    /**
+     * Side of the screen of an animation whose offset is greater than 1.
+     */
+    static final int SIDE_RIGHT = 3;
+
+    /**
+     * State of a {@link ThresholdListener} for a target that hasn't been run yet, see
+     * {@link #dispatchThresholds(View, float, int)}.
+     */
+    static final int NO_THRESHOLD_STATE = -1;
+
+    /**
+     * Number of low bits of a threshold state holding the number of thresholds at or below the last fraction, the
+     * high bits hold the side of the screen.
+     */
+    private static final int REGION_BITS = 16;
+    private static final int REGION_MASK = (1 << REGION_BITS) - 1;
+
+    /**
+     * Maximum length of a trace section name.
+     */
+    private static final int MAX_TRACE_SECTION_LENGTH = 127;
+
+    /**
+     * Progress event id of an animation that doesn't publish progress events.
+     */
+    static final int NO_PROGRESS_EVENT_ID = -1;
+
     private Interpolator interpolator;
 
     private AnimationListener animationListener;
 
+    /**
+     * Sorted fractions of the animation at which {@link #thresholdListener} is notified.
+     */
+    private float[] thresholds;
+
+    private ThresholdListener thresholdListener;
+
+    private int progressEventId = NO_PROGRESS_EVENT_ID;
+
+    private boolean degradable;
+
+    /**
+     * Whether the animation is degraded by the {@link FrameBudget} of its presenter.
+     */
+    boolean degraded;
+
+    /**
+     * Moving average of the time taken by the animation, measured by the {@link FrameBudget} of its presenter.
+     */
+    long costNanos;
+
+    /**
+     * Name of the trace section of the animation, computed when it is added to a presenter.
+     */
+    String traceSection;
+
     private Page page;
 
+    /**
+     * FrameComposer of the presenter running this animation, or null if the animation is not added to a
+     * presenter.
+     */
+    private FrameComposer frameComposer;
+
+    /**
+     * Scroll position of the ViewPager for the current frame, or NaN if it is not known.
+     */
+    private float scrollPosition = Float.NaN;
+
     /**
      * Base constructor of the class, accepting common information about the animation to this
      * instance.
@@ -33,6 +115,10 @@ public abstract class Animation {
         this.interpolator = interpolator;
     }
 
+    Interpolator getInterpolator() {
+        return interpolator;
+    }
+
     void setPage(Page page) {
         this.page = page;
     }
@@ -41,6 +127,48 @@ public abstract class Animation {
         return page == null ? Page.allPages() : page;
     }
 
+    void setFrameComposer(FrameComposer frameComposer) {
+        this.frameComposer = frameComposer;
+    }
+
+    /**
+     * Compute the name of the trace section of the animation from its class name, if it hasn't been computed yet.
+     */
+    void prepareTraceSection() {
+        if (traceSection != null) {
+            return;
+        }
+
+        String name = getClass().getName();
+        String section = "SparkleMotion:" + name.substring(name.lastIndexOf('.') + 1);
+        traceSection = section.length() > MAX_TRACE_SECTION_LENGTH
+                ? section.substring(0, MAX_TRACE_SECTION_LENGTH) : section;
+    }
+
+    /**
+     * @return True if the animation has been added to a presenter, whose FrameComposer receives its values.
+     */
+    boolean hasFrameComposer() {
+        return frameComposer != null;
+    }
+
+    void setScrollPosition(float scrollPosition) {
+        this.scrollPosition = scrollPosition;
+    }
+
+    /**
+     * Return the scroll position of the ViewPager for the frame being animated, measured in pages: the integer part
+     * is the position of the page on the left of the screen, and the fraction is the scrolling offset from that
+     * page. Unlike the offset given to {@link #onAnimate(View, float, float)}, which is relative to a single page,
+     * the scroll position gives a single timeline across all pages.
+     *
+     * @return Scroll position, or NaN if the animation is not run by {@link SparkleMotion} or the position is not
+     * known yet.
+     */
+    protected final float getScrollPosition() {
+        return scrollPosition;
+    }
+
     /**
      * Main method for animating Views within the pages.
      *
@@ -67,6 +195,108 @@ public abstract class Animation {
         }
     }
 
+    /**
+     * Return the side of the screen of the animation for the given offset, matching the callback that
+     * {@link #animate(View, float, float)} will call for the same offset.
+     *
+     * @param offset Fraction of the ViewPager scrolling.
+     * @return One of {@link #SIDE_LEFT}, {@link #SIDE_ON_SCREEN} or {@link #SIDE_RIGHT}.
+     */
+    int getSide(float offset) {
+        if (interpolator != null) {
+            offset = interpolator.getInterpolation(offset);
+        }
+
+        return sideOf(offset);
+    }
+
+    private static int sideOf(float fraction) {
+        if (fraction < -1) {
+            return SIDE_LEFT;
+        } else if (fraction <= 1) {
+            return SIDE_ON_SCREEN;
+        } else {
+            return SIDE_RIGHT;
+        }
+    }
+
+    boolean hasAnimationListener() {
+        return animationListener != null;
+    }
+
+    boolean hasThresholdListener() {
+        return thresholdListener != null;
+    }
+
+    /**
+     * Notify the {@link ThresholdListener} of the thresholds crossed since the previous frame of a target, and of the
+     * target entering or leaving the screen. Only thresholds between the previous fraction and the current one are
+     * checked, so a frame that doesn't cross any threshold costs two comparisons.
+     *
+     * @param v      View being animated.
+     * @param offset Fraction of the ViewPager scrolling, before interpolation.
+     * @param state  State returned by the previous call for the same target, or {@link #NO_THRESHOLD_STATE}.
+     * @return New state of the target.
+     */
+    int dispatchThresholds(View v, float offset, int state) {
+        float fraction = interpolator != null ? interpolator.getInterpolation(offset) : offset;
+        int side = sideOf(fraction);
+        float[] thresholds = this.thresholds;
+        ThresholdListener listener = thresholdListener;
+
+        int previousSide;
+        int region;
+        if (state == NO_THRESHOLD_STATE) {
+            // First frame of the target, nothing has been crossed yet.
+            previousSide = SIDE_UNKNOWN;
+            region = 0;
+            while (region < thresholds.length && thresholds[region] <= fraction) {
+                region++;
+            }
+        } else {
+            previousSide = state >>> REGION_BITS;
+            region = state & REGION_MASK;
+        }
+
+        if (side == SIDE_ON_SCREEN && previousSide != SIDE_ON_SCREEN) {
+            listener.onPageEnter(v);
+        }
+
+        if (state != NO_THRESHOLD_STATE) {
+            while (region < thresholds.length && thresholds[region] <= fraction) {
+                listener.onThresholdCrossed(v, region, thresholds[region], true);
+                region++;
+            }
+
+            while (region > 0 && thresholds[region - 1] > fraction) {
+                region--;
+                listener.onThresholdCrossed(v, region, thresholds[region], false);
+            }
+        }
+
+        if (side != SIDE_ON_SCREEN && previousSide == SIDE_ON_SCREEN) {
+            listener.onPageExit(v);
+        }
+
+        return side << REGION_BITS | region;
+    }
+
+    /**
+     * Notify the {@link ThresholdListener} that a target whose animation stopped running, because the current page
+     * is out of the animation's {@link Page}, has left the screen.
+     *
+     * @param v     View being animated.
+     * @param state State returned by the previous call to {@link #dispatchThresholds(View, float, int)}.
+     * @return {@link #NO_THRESHOLD_STATE}, as the next frame of the target starts over.
+     */
+    int dispatchExit(View v, int state) {
+        if (state != NO_THRESHOLD_STATE && state >>> REGION_BITS == SIDE_ON_SCREEN) {
+            thresholdListener.onPageExit(v);
+        }
+
+        return NO_THRESHOLD_STATE;
+    }
+
     /**
      * Abstract method to be implemented to change View properties. Implement this method to
      * provide custom animations to the target View. This method will be called when the page is
@@ -116,6 +346,150 @@ public abstract class Animation {
     public void onAnimateOffScreenRight(View v, float offset, float offsetInPixel) {
     }
 
+    /**
+     * Return whether the View being animated can be drawn with a hardware layer while the ViewPager is scrolling.
+     * This is true for animations that only change properties that don't require the View to be redrawn, i.e.
+     * alpha, translation, scale and rotation. Animations that change the content of the View, for example by
+     * invalidating it on every frame, should return false, which is the default.
+     *
+     * @return True if a hardware layer can be used for the View, false otherwise.
+     */
+    public boolean canUseHardwareLayer() {
+        return false;
+    }
+
+    /**
+     * Set the translation x of the View. When the animation is run by {@link SparkleMotion}, the value is added to
+     * the translation x set by other animations of the View in the same frame, and the View is only updated once
+     * per frame. Subclasses should prefer this method to {@link View#setTranslationX(float)}.
+     *
+     * @param v     View being animated.
+     * @param value Translation x of the View.
+     */
+    protected final void setTranslationX(View v, float value) {
+        write(v, FrameComposer.TRANSLATION_X, value);
+    }
+
+    /**
+     * Set the translation y of the View. When the animation is run by {@link SparkleMotion}, the value is added to
+     * the translation y set by other animations of the View in the same frame, and the View is only updated once
+     * per frame. Subclasses should prefer this method to {@link View#setTranslationY(float)}.
+     *
+     * @param v     View being animated.
+     * @param value Translation y of the View.
+     */
+    protected final void setTranslationY(View v, float value) {
+        write(v, FrameComposer.TRANSLATION_Y, value);
+    }
+
+    /**
+     * Set the scale x of the View. When the animation is run by {@link SparkleMotion}, the value is multiplied by
+     * the scale x set by other animations of the View in the same frame, and the View is only updated once per
+     * frame. Subclasses should prefer this method to {@link View#setScaleX(float)}.
+     *
+     * @param v     View being animated.
+     * @param value Scale x of the View.
+     */
+    protected final void setScaleX(View v, float value) {
+        write(v, FrameComposer.SCALE_X, value);
+    }
+
+    /**
+     * Set the scale y of the View. When the animation is run by {@link SparkleMotion}, the value is multiplied by
+     * the scale y set by other animations of the View in the same frame, and the View is only updated once per
+     * frame. Subclasses should prefer this method to {@link View#setScaleY(float)}.
+     *
+     * @param v     View being animated.
+     * @param value Scale y of the View.
+     */
+    protected final void setScaleY(View v, float value) {
+        write(v, FrameComposer.SCALE_Y, value);
+    }
+
+    /**
+     * Set the rotation of the View. When the animation is run by {@link SparkleMotion}, the value is added to the
+     * rotation set by other animations of the View in the same frame, and the View is only updated once per frame.
+     * Subclasses should prefer this method to {@link View#setRotation(float)}.
+     *
+     * @param v     View being animated.
+     * @param value Rotation of the View.
+     */
+    protected final void setRotation(View v, float value) {
+        write(v, FrameComposer.ROTATION, value);
+    }
+
+    /**
+     * Set the alpha of the View. When the animation is run by {@link SparkleMotion}, the value is multiplied by the
+     * alpha set by other animations of the View in the same frame, and the View is only updated once per frame.
+     * Subclasses should prefer this method to {@link View#setAlpha(float)}.
+     *
+     * @param v     View being animated.
+     * @param value Alpha of the View.
+     */
+    protected final void setAlpha(View v, float value) {
+        write(v, FrameComposer.ALPHA, value);
+    }
+
+    /**
+     * Write a property of the View through the FrameComposer of the presenter, or directly to the View.
+     *
+     * @param property One of the property constants of {@link FrameComposer}.
+     */
+    void write(View v, int property, float value) {
+        if (frameComposer != null) {
+            frameComposer.write(v, property, value);
+            return;
+        }
+
+        switch (property) {
+            case FrameComposer.TRANSLATION_X:
+                v.setTranslationX(value);
+                break;
+            case FrameComposer.TRANSLATION_Y:
+                v.setTranslationY(value);
+                break;
+            case FrameComposer.SCALE_X:
+                v.setScaleX(value);
+                break;
+            case FrameComposer.SCALE_Y:
+                v.setScaleY(value);
+                break;
+            case FrameComposer.ROTATION:
+                v.setRotation(value);
+                break;
+            case FrameComposer.ALPHA:
+                v.setAlpha(value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown property: " + property);
+        }
+    }
+
+    /**
+     * Mark the animation as degradable: when the presenter has a frame budget and frames run over it, the
+     * animation may be degraded until the ViewPager stops scrolling. A View or Decor whose animations are all
+     * degraded is only animated on every other frame.
+     *
+     * @param degradable True if the animation can be degraded.
+     */
+    public final void setDegradable(boolean degradable) {
+        this.degradable = degradable;
+    }
+
+    public final boolean isDegradable() {
+        return degradable;
+    }
+
+    /**
+     * Return whether the animation is currently degraded, in which case subclasses doing expensive work on every
+     * frame can lower their quality, for example by updating their content at a lower rate.
+     *
+     * @return True if the animation is degraded.
+     */
+    protected final boolean isDegraded() {
+        return degraded;
+    }
+
     /**
      * Set an {@link AnimationListener} for this animation.
      *
@@ -126,16 +500,107 @@ public abstract class Animation {
         animationListener = listener;
     }
 
+    /**
+     * Set a {@link ThresholdListener} for this animation, notified only when the fraction of the animation crosses
+     * one of the given thresholds, and when the animated View enters or leaves the screen. Unlike
+     * {@link AnimationListener}, the listener is not called on frames that don't cross anything.
+     * <p/>
+     * Thresholds are checked on the frames the animation runs: the fraction is within [-1, 1] while the View is on
+     * screen, and within [0, 1) for Decor animations, so thresholds outside of these ranges may be skipped.
+     *
+     * @param thresholds Fractions of the animation, sorted in ascending order.
+     * @param listener   ThresholdListener object, or null to remove the listener.
+     *
+     * @throws IllegalArgumentException when the thresholds are not finite and sorted in strictly ascending order.
+     */
+    public void setThresholdListener(float[] thresholds, ThresholdListener listener) {
+        if (listener == null) {
+            this.thresholds = null;
+            thresholdListener = null;
+            return;
+        }
+
+        if (thresholds.length > REGION_MASK) {
+            throw new IllegalArgumentException("Too many thresholds: " + thresholds.length);
+        }
+
+        for (int i = 0; i < thresholds.length; i++) {
+            if (Float.isNaN(thresholds[i]) || Float.isInfinite(thresholds[i])
+                    || (i > 0 && thresholds[i] <= thresholds[i - 1])) {
+                throw new IllegalArgumentException("Thresholds must be finite and sorted: "
+                        + Arrays.toString(thresholds));
+            }
+        }
+
+        this.thresholds = thresholds.clone();
+        thresholdListener = listener;
+    }
+
+    /**
+     * Publish the progress of this animation to the {@link ProgressEventChannel} of the ViewPager on every frame the
+     * animation runs, see {@link AnimationBuilder#publishProgress(ProgressEventChannel)}.
+     *
+     * @param id Id of the animation in the records of the channel, or -1 to stop publishing.
+     *
+     * @throws IllegalArgumentException when {@code id} is less than -1.
+     */
+    public final void setProgressEventId(int id) {
+        if (id < NO_PROGRESS_EVENT_ID) {
+            throw new IllegalArgumentException("Invalid progress event id: " + id);
+        }
+
+        progressEventId = id;
+    }
+
+    int getProgressEventId() {
+        return progressEventId;
+    }
+
     /**
      * Animation callback interface for external use.
+     * <p/>
+     * Animations whose View is off screen are normally run only once, when they apply their off-screen state. An
+     * animation with an AnimationListener keeps running while its View is off screen, along with the other
+     * animations of the View, so that the listener is called on every frame.
      */
     public interface AnimationListener {
         /**
-         * Called when the animation is running.
+         * Called on every frame the animation is running, including the frames on which its View is off screen.
          *
          * @param view     View being animated.
          * @param fraction Current fraction of the animation.
          */
         void onAnimationRunning(View view, float fraction);
     }
+
+    /**
+     * Callback interface notified when an animation crosses fraction thresholds, see
+     * {@link #setThresholdListener(float[], ThresholdListener)}.
+     */
+    public interface ThresholdListener {
+        /**
+         * Called when the fraction of the animation crosses a threshold.
+         *
+         * @param view      View being animated.
+         * @param index     Index of the threshold.
+         * @param threshold Value of the threshold.
+         * @param forward   True if the fraction increased past the threshold, false if it decreased below it.
+         */
+        void onThresholdCrossed(View view, int index, float threshold, boolean forward);
+
+        /**
+         * Called when the animated View comes on screen, including the first frame it is animated on screen.
+         *
+         * @param view View being animated.
+         */
+        void onPageEnter(View view);
+
+        /**
+         * Called when the animated View leaves the screen, or its animation stops running because the current page
+         * is out of the animation's {@link Page}.
+         *
+         * @param view View being animated.
+         */
+        void onPageExit(View view);
+    }
 }
@@ -0,0 +1,175 @@
+package com.ifttt.sparklemotion;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Bakes {@link Animation}s into {@link BakedAnimation}s, so that animations doing expensive math on every frame are
+ * replayed by table lookup while scrolling.
+ * <p/>
+ * Baking runs {@link Animation#onAnimate(android.view.View, float, float)} of the animation at evenly spaced
+ * offsets across [-1, 1] on a recording View of the given size, and captures every property written by the
+ * animation. Only animations whose values depend on nothing but the offset and the size of the View can be baked:
+ * animations that keep state between frames, read the layout of the View or change its content, like {@link
+ * com.ifttt.sparklemotion.animations.SlideOutAnimation}, should be run as they are.
+ * <p/>
+ * Baking can run on any thread, and {@link #bakeAll(List, ExecutorService)} bakes many animations in parallel, so
+ * that it can be done at setup time off the main thread. Animations must be baked before they are added to
+ * {@link SparkleMotion}; the interpolator of an animation is carried over to its baked animation.
+ */
+public final class AnimationBaker {
+
+    /**
+     * Offset given to the off screen callbacks when they are sampled.
+     */
+    private static final float OFF_SCREEN_OFFSET = 2f;
+
+    private final Context context;
+    private final int width;
+    private final int height;
+    private final int sampleCount;
+    private final boolean decor;
+
+    /**
+     * Whether the recording Views are laid out to the size of the animated View.
+     */
+    private final boolean layout;
+
+    /**
+     * @param context     Context used to create the recording Views.
+     * @param width       Width of the animated View, also used as the page width for the offset in pixels.
+     * @param height      Height of the animated View.
+     * @param sampleCount Number of samples taken across [-1, 1].
+     * @param decor       True if the animations are run for a Decor, whose offset in pixels is always 0.
+     *
+     * @throws IllegalArgumentException when {@code sampleCount} is smaller than 2 or the size is negative.
+     */
+    public AnimationBaker(Context context, int width, int height, int sampleCount, boolean decor) {
+        this(context, width, height, sampleCount, decor, true);
+    }
+
+    /**
+     * @param layout False to leave the recording Views unsized, for unit tests, where Views cannot be laid out.
+     */
+    AnimationBaker(Context context, int width, int height, int sampleCount, boolean decor, boolean layout) {
+        if (sampleCount < 2) {
+            throw new IllegalArgumentException("Invalid sample count: " + sampleCount);
+        }
+
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Invalid size: " + width + "x" + height);
+        }
+
+        this.context = context;
+        this.width = width;
+        this.height = height;
+        this.sampleCount = sampleCount;
+        this.decor = decor;
+        this.layout = layout;
+    }
+
+    /**
+     * Bake an animation on the calling thread.
+     *
+     * @param animation Animation to bake.
+     * @return Baked animation.
+     *
+     * @throws IllegalStateException when the animation has already been added to a presenter.
+     */
+    public BakedAnimation bake(Animation animation) {
+        if (animation.hasFrameComposer()) {
+            throw new IllegalStateException("Animation is already added to a presenter: " + animation);
+        }
+
+        int propertyCount = FrameComposer.PROPERTY_COUNT;
+        float[] values = new float[(sampleCount + 2) * propertyCount];
+        int[] masks = new int[sampleCount + 2];
+        RecordingView view = new RecordingView(context);
+        if (layout) {
+            view.layout(0, 0, width, height);
+        }
+
+        for (int i = 0; i < sampleCount; i++) {
+            float offset = -1f + 2f * i / (sampleCount - 1);
+            view.beginSample();
+            animation.onAnimate(view, offset, offsetInPixel(offset));
+            masks[i] = view.mask;
+            System.arraycopy(view.values, 0, values, i * propertyCount, propertyCount);
+        }
+
+        view.beginSample();
+        animation.onAnimateOffScreenLeft(view, -OFF_SCREEN_OFFSET, offsetInPixel(-OFF_SCREEN_OFFSET));
+        masks[sampleCount] = view.mask;
+        System.arraycopy(view.values, 0, values, sampleCount * propertyCount, propertyCount);
+
+        view.beginSample();
+        animation.onAnimateOffScreenRight(view, OFF_SCREEN_OFFSET, offsetInPixel(OFF_SCREEN_OFFSET));
+        masks[sampleCount + 1] = view.mask;
+        System.arraycopy(view.values, 0, values, (sampleCount + 1) * propertyCount, propertyCount);
+
+        BakedAnimation baked = new BakedAnimation(sampleCount, values, masks);
+        baked.setInterpolator(animation.getInterpolator());
+        return baked;
+    }
+
+    /**
+     * Bake animations in parallel on an executor, and wait for all of them to be baked. An animation appearing more
+     * than once is only baked once.
+     *
+     * @param animations Animations to bake.
+     * @param executor   Executor running the baking tasks.
+     * @return Baked animations, in the same order as {@code animations}.
+     *
+     * @throws InterruptedException  when the calling thread is interrupted while waiting.
+     * @throws IllegalStateException when an animation cannot be baked.
+     */
+    public List<BakedAnimation> bakeAll(List<? extends Animation> animations, ExecutorService executor)
+            throws InterruptedException {
+        IdentityHashMap<Animation, Future<BakedAnimation>> tasks = new IdentityHashMap<>(animations.size());
+        for (int i = 0; i < animations.size(); i++) {
+            final Animation animation = animations.get(i);
+            if (tasks.containsKey(animation)) {
+                continue;
+            }
+
+            tasks.put(animation, executor.submit(new Callable<BakedAnimation>() {
+                @Override
+                public BakedAnimation call() throws Exception {
+                    return bake(animation);
+                }
+            }));
+        }
+
+        List<BakedAnimation> baked = new ArrayList<>(animations.size());
+        for (int i = 0; i < animations.size(); i++) {
+            try {
+                baked.add(tasks.get(animations.get(i)).get());
+            } catch (ExecutionException e) {
+                for (Future<BakedAnimation> task : tasks.values()) {
+                    task.cancel(false);
+                }
+
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException("Failed to bake " + animations.get(i), cause);
+            }
+        }
+
+        return baked;
+    }
+
+    private float offsetInPixel(float offset) {
+        return decor ? 0 : -offset * width;
+    }
+}
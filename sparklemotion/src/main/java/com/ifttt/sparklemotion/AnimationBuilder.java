@@ -1,17 +1,21 @@
 package com.ifttt.sparklemotion;
 
+import android.support.annotation.NonNull;
 import android.support.v4.view.ViewPager;
 
+import com.ifttt.sparklemotion.scene.Scene;
+
 public class AnimationBuilder {
 
-    private final SparkleMotion presenter;
+    final SparkleMotion presenter;
     private final ViewPager viewPager;
 
     AnimationBuilder(ViewPager viewPager) {
         this.viewPager = viewPager;
 
-        if (SparkleMotionCompat.hasPresenter(viewPager)) {
-            presenter = SparkleMotionCompat.getAnimationPresenter(viewPager);
+        // Install the presenter right away, so that every builder of the ViewPager shares it.
+        if (viewPager != null) {
+            presenter = SparkleMotionCompat.obtainAnimationPresenter(viewPager);
         } else {
             presenter = new SparkleMotion();
         }
@@ -21,6 +25,7 @@ public class AnimationBuilder {
      * Assign animations to SparkleMotion, which will then associate the animations to target Views.
      *
      * @param animation Animation to run.
+     * @throws IllegalStateException when the animations have been committed, see {@link #commit()}.
      */
     public void animate(Animation animation, Page page, Integer id) {
         animation.setPage(page);
@@ -32,4 +37,115 @@ public class AnimationBuilder {
 
         SparkleMotionCompat.installAnimationPresenter(viewPager, false, presenter);
     }
+
+    /**
+     * Assign all animations of a scene to SparkleMotion.
+     *
+     * @param scene Scene loaded by {@link com.ifttt.sparklemotion.scene.SceneLoader}.
+     */
+    public void animate(Scene scene) {
+        int count = scene.getAnimationCount();
+        for (int i = 0; i < count; i++) {
+            animate(scene.getAnimation(i), scene.getPage(i), scene.getTargetId(i));
+        }
+    }
+
+    /**
+     * Freeze all animations assigned so far into a frame plan, so that scrolling only executes the plan without
+     * rebuilding it. Animations cannot be assigned to the ViewPager after this call.
+     */
+    public void commit() {
+        if (viewPager == null) {
+            throw new NullPointerException("ViewPager cannot be null");
+        }
+
+        presenter.commit();
+        SparkleMotionCompat.installAnimationPresenter(viewPager, false, presenter);
+    }
+
+    /**
+     * Publish the progress of the animations of the ViewPager that have a progress event id, see
+     * {@link Animation#setProgressEventId(int)}, to a channel drained off the main thread.
+     *
+     * @param channel ProgressEventChannel receiving the records.
+     * @return this instance to chain functions.
+     */
+    public AnimationBuilder publishProgress(@NonNull ProgressEventChannel channel) {
+        presenter.setProgressEventChannel(channel);
+        return this;
+    }
+
+    /**
+     * Record the work done by the presenter and the latency of every animation into the given stats, which can be
+     * polled with {@link PresenterStats#snapshot()}. Without stats, the presenter doesn't measure anything.
+     *
+     * @param stats PresenterStats recording the work of the presenter.
+     * @return this instance to chain functions.
+     */
+    public AnimationBuilder collectStats(@NonNull PresenterStats stats) {
+        presenter.setStats(stats);
+        return this;
+    }
+
+    /**
+     * Wrap the presentation of the animations and every animation in sections of the system trace, so that they
+     * show up in systrace. Sections are only written on API 18 and above.
+     *
+     * @return this instance to chain functions.
+     */
+    public AnimationBuilder trace() {
+        return trace(new SystemTracer());
+    }
+
+    /**
+     * Wrap the presentation of the animations and every animation in sections of the given {@link Tracer}.
+     *
+     * @param tracer Tracer receiving the sections.
+     * @return this instance to chain functions.
+     */
+    public AnimationBuilder trace(@NonNull Tracer tracer) {
+        presenter.setTracer(tracer);
+        return this;
+    }
+
+    /**
+     * Coalesce the ViewPager scrolling callbacks received within a frame, so that animations are run at most once
+     * per frame, on the next vsync.
+     *
+     * @return this instance to chain functions.
+     */
+    public AnimationBuilder coalesceFrames() {
+        return coalesceFrames(new ChoreographerFrameClock());
+    }
+
+    /**
+     * Coalesce the ViewPager scrolling callbacks received within a frame, so that animations are run at most once
+     * per frame of the given {@link FrameClock}.
+     *
+     * @param frameClock FrameClock providing the frames.
+     * @return this instance to chain functions.
+     */
+    public AnimationBuilder coalesceFrames(@NonNull FrameClock frameClock) {
+        presenter.setFrameClock(frameClock);
+        return this;
+    }
+
+    /**
+     * Give the animations of each frame a time budget. When frames run over it during scrolling, the most
+     * expensive animations marked with {@link Animation#setDegradable(boolean)} are degraded, until the ViewPager
+     * stops scrolling.
+     *
+     * @param budgetMillis Time budget of the animations of a frame, in milliseconds.
+     * @return this instance to chain functions.
+     *
+     * @throws IllegalArgumentException when {@code budgetMillis} is not positive.
+     */
+    public AnimationBuilder frameBudget(float budgetMillis) {
+        if (!(budgetMillis > 0)) {
+            throw new IllegalArgumentException("Invalid budget: " + budgetMillis);
+        }
+
+        presenter.setFrameBudget(Math.max(1, (long) (budgetMillis * 1000000)));
+        return this;
+    }
 }
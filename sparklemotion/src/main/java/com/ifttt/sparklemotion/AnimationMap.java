@@ -0,0 +1,127 @@
+package com.ifttt.sparklemotion;
+
+import java.util.Arrays;
+
+/**
+ * Map of {@link Animation}s keyed by the id of their target View. Ids are stored in a sorted primitive array and
+ * the animations of every id in a contiguous array, so that iterating the map neither boxes the ids nor allocates
+ * iterators.
+ */
+final class AnimationMap {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Sorted ids of the target Views.
+     */
+    private int[] ids;
+
+    /**
+     * Animations of the target View with the id at the same index. Arrays may contain unused slots at the end.
+     */
+    private Animation[][] animations;
+
+    /**
+     * Number of animations of the target View with the id at the same index.
+     */
+    private int[] counts;
+
+    private int size;
+
+    /**
+     * Total number of animations in the map.
+     */
+    private int animationCount;
+
+    AnimationMap() {
+        ids = new int[INITIAL_CAPACITY];
+        animations = new Animation[INITIAL_CAPACITY][];
+        counts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add an animation to the target View with the given id.
+     *
+     * @param id        Id of the target View.
+     * @param animation Animation to be associated to the View.
+     * @return True if the id was not in the map before, false otherwise.
+     */
+    boolean add(int id, Animation animation) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        boolean newId = index < 0;
+        if (newId) {
+            index = ~index;
+            insertId(index, id);
+        }
+
+        Animation[] anims = animations[index];
+        if (counts[index] == anims.length) {
+            anims = Arrays.copyOf(anims, anims.length * 2);
+            animations[index] = anims;
+        }
+
+        anims[counts[index]++] = animation;
+        animationCount++;
+        return newId;
+    }
+
+    /**
+     * @return Number of target View ids in the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Total number of animations in the map. The animations of the id at index {@code i} have the flat
+     * indices following those of the ids before it.
+     */
+    int animationCount() {
+        return animationCount;
+    }
+
+    /**
+     * @param index Index of the id, in the range [0, {@link #size()}).
+     * @return The id at the given index.
+     */
+    int idAt(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Return the animations of the id at the given index. Only the first {@link #countAt(int)} elements of the array
+     * are used.
+     *
+     * @param index Index of the id, in the range [0, {@link #size()}).
+     * @return Array of animations.
+     */
+    Animation[] animationsAt(int index) {
+        return animations[index];
+    }
+
+    /**
+     * @param index Index of the id, in the range [0, {@link #size()}).
+     * @return Number of animations of the id at the given index.
+     */
+    int countAt(int index) {
+        return counts[index];
+    }
+
+    private void insertId(int index, int id) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            animations = Arrays.copyOf(animations, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        System.arraycopy(animations, index, animations, index + 1, size - index);
+        System.arraycopy(counts, index, counts, index + 1, size - index);
+
+        ids[index] = id;
+        animations[index] = new Animation[1];
+        counts[index] = 0;
+        size++;
+    }
+}
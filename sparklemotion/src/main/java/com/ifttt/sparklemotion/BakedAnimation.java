@@ -0,0 +1,101 @@
+package com.ifttt.sparklemotion;
+
+import android.view.View;
+
+import com.ifttt.sparklemotion.core.Tween;
+
+/**
+ * {@link Animation} replaying the View properties recorded from another animation by {@link AnimationBaker}.
+ * <p/>
+ * The values of {@link #onAnimate(View, float, float)} are sampled at evenly spaced offsets across [-1, 1], and
+ * evaluated with linear interpolation between the two closest samples. The off screen callbacks are sampled once
+ * and replayed as constants. A property is only written for an offset if the baked animation wrote it for the
+ * closest sample.
+ */
+public final class BakedAnimation extends Animation {
+
+    private static final int PROPERTY_COUNT = FrameComposer.PROPERTY_COUNT;
+
+    /**
+     * Number of samples of {@link #onAnimate(View, float, float)}.
+     */
+    private final int sampleCount;
+
+    /**
+     * Values of every sample, {@link FrameComposer#PROPERTY_COUNT} values per sample. The samples of
+     * {@link #onAnimate(View, float, float)} are followed by the sample of the left and the right off screen
+     * callbacks.
+     */
+    private final float[] values;
+
+    /**
+     * Bit mask of the properties written for every sample, in the same order as {@link #values}.
+     */
+    private final int[] masks;
+
+    BakedAnimation(int sampleCount, float[] values, int[] masks) {
+        super();
+
+        this.sampleCount = sampleCount;
+        this.values = values;
+        this.masks = masks;
+    }
+
+    /**
+     * @return Number of samples taken across [-1, 1].
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
+    @Override
+    public void onAnimate(View v, float offset, float offsetInPixel) {
+        float position = (Math.max(-1f, Math.min(offset, 1f)) + 1f) * 0.5f * (sampleCount - 1);
+        int index = Math.min((int) position, sampleCount - 2);
+        float fraction = position - index;
+
+        int nearest = fraction < 0.5f ? index : index + 1;
+        int other = fraction < 0.5f ? index + 1 : index;
+        int mask = masks[nearest];
+        int start = index * PROPERTY_COUNT;
+        for (int property = 0; property < PROPERTY_COUNT; property++) {
+            int bit = 1 << property;
+            if ((mask & bit) == 0) {
+                continue;
+            }
+
+            float value;
+            if ((masks[other] & bit) != 0) {
+                value = Tween.lerp(values[start + property], values[start + PROPERTY_COUNT + property], fraction);
+            } else {
+                value = values[nearest * PROPERTY_COUNT + property];
+            }
+
+            write(v, property, value);
+        }
+    }
+
+    @Override
+    public void onAnimateOffScreenLeft(View v, float offset, float offsetInPixel) {
+        replay(v, sampleCount);
+    }
+
+    @Override
+    public void onAnimateOffScreenRight(View v, float offset, float offsetInPixel) {
+        replay(v, sampleCount + 1);
+    }
+
+    private void replay(View v, int sample) {
+        int mask = masks[sample];
+        for (int property = 0; property < PROPERTY_COUNT; property++) {
+            if ((mask & (1 << property)) != 0) {
+                write(v, property, values[sample * PROPERTY_COUNT + property]);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.ifttt.sparklemotion;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * Default {@link FrameClock}, backed by {@link Choreographer} so that callbacks run on the next vsync. On API levels
+ * without Choreographer, callbacks are posted to the main thread instead.
+ */
+final class ChoreographerFrameClock implements FrameClock {
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Adapter for the latest callback, reused as long as the same callback is posted.
+     */
+    private CallbackAdapter adapter;
+
+    @Override
+    public void postFrameCallback(FrameCallback callback) {
+        if (adapter == null || adapter.callback != callback) {
+            adapter = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN
+                    ? new ChoreographerCallbackAdapter(callback) : new CallbackAdapter(callback);
+        }
+
+        adapter.post(handler);
+    }
+
+    /**
+     * Adapter that runs a {@link FrameCallback} from the main thread message queue.
+     */
+    private static class CallbackAdapter implements Runnable {
+
+        final FrameCallback callback;
+
+        CallbackAdapter(FrameCallback callback) {
+            this.callback = callback;
+        }
+
+        void post(Handler handler) {
+            handler.post(this);
+        }
+
+        @Override
+        public void run() {
+            callback.doFrame(System.nanoTime());
+        }
+    }
+
+    /**
+     * Adapter that runs a {@link FrameCallback} from {@link Choreographer}.
+     */
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class ChoreographerCallbackAdapter extends CallbackAdapter
+            implements Choreographer.FrameCallback {
+
+        ChoreographerCallbackAdapter(FrameCallback callback) {
+            super(callback);
+        }
+
+        @Override
+        void post(Handler handler) {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            callback.doFrame(frameTimeNanos);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ifttt.sparklemotion;
+
+import android.view.View;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+/**
+ * Reference to a Decor animated by {@link SparkleMotion}, along with the animations assigned to it.
+ * <p/>
+ * By default the Decor is held strongly. When weak, the Decor is only held through the {@link WeakReference}, and
+ * is released as soon as it is detached from the window, so that neither the Decor nor its Context are retained by
+ * the presenter.
+ */
+final class DecorTarget extends WeakReference<View> implements View.OnAttachStateChangeListener {
+
+    /**
+     * Animations assigned to the Decor, in the order they were added.
+     */
+    final ArrayList<Animation> animations = new ArrayList<>(3);
+
+    /**
+     * Strong reference to the Decor, null if the Decor is held weakly or has been released.
+     */
+    private View view;
+
+    private boolean weak;
+
+    DecorTarget(View view) {
+        super(view);
+        this.view = view;
+    }
+
+    /**
+     * @return Decor View, or null if it has been released.
+     */
+    View getView() {
+        return view != null ? view : get();
+    }
+
+    /**
+     * Hold the Decor weakly and release it when it is detached from the window, or strongly.
+     *
+     * @param weak True to hold the Decor weakly.
+     */
+    void setWeak(boolean weak) {
+        if (this.weak == weak) {
+            return;
+        }
+
+        View decor = getView();
+        if (decor == null) {
+            return;
+        }
+
+        this.weak = weak;
+        if (weak) {
+            view = null;
+            decor.addOnAttachStateChangeListener(this);
+        } else {
+            view = decor;
+            decor.removeOnAttachStateChangeListener(this);
+        }
+    }
+
+    /**
+     * Release the Decor and its animations.
+     */
+    void release() {
+        View decor = getView();
+        if (decor != null && weak) {
+            decor.removeOnAttachStateChangeListener(this);
+        }
+
+        view = null;
+        clear();
+        animations.clear();
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View v) {
+        // No-op.
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View v) {
+        release();
+    }
+}
@@ -5,17 +5,10 @@ import android.view.View;
 
 public class ExternalAnimationBuilder extends AnimationBuilder{
     private final SparkleViewPagerLayout viewPagerLayout;
-    private final SparkleMotion presenter;
 
     ExternalAnimationBuilder(SparkleViewPagerLayout layout) {
         super(layout.getViewPager());
         this.viewPagerLayout = layout;
-
-        if (SparkleMotionCompat.hasPresenter(layout.getViewPager())) {
-            presenter = SparkleMotionCompat.getAnimationPresenter(layout.getViewPager());
-        } else {
-            presenter = new SparkleMotion();
-        }
     }
 
     public void animate(Animation animation, Page page, View view) {
@@ -35,4 +28,15 @@ public class ExternalAnimationBuilder extends AnimationBuilder{
 
         SparkleMotionCompat.installAnimationPresenter(viewPager, false, presenter);
     }
+
+    /**
+     * Hold the external Views weakly, and release them along with their animations when they are detached from the
+     * window, so that the presenter kept in the ViewPager doesn't retain them or their Context.
+     *
+     * @return this instance to chain functions.
+     */
+    public ExternalAnimationBuilder weakDecors() {
+        presenter.setWeakDecors(true);
+        return this;
+    }
 }
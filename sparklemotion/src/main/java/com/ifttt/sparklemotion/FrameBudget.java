@@ -0,0 +1,128 @@
+package com.ifttt.sparklemotion;
+
+/**
+ * Scheduler lowering the level of detail of the animations when frames run over a time budget.
+ * <p/>
+ * The cost of every animation is measured on every frame. When the animations of a frame take longer than the
+ * budget, the most expensive {@link Animation#isDegradable() degradable} animations are degraded until their
+ * estimated savings cover the overrun. A View or Decor whose animations are all degraded is only animated on every
+ * other frame, and degraded animations can lower their own quality through {@link Animation#isDegraded()}. Full
+ * quality is restored by {@link #restore(FramePlan)}, once the ViewPager stops scrolling.
+ */
+final class FrameBudget {
+
+    private final long budgetNanos;
+
+    /**
+     * Time spent running the animations of the current frame.
+     */
+    private long frameCostNanos;
+
+    private int frame;
+
+    /**
+     * Whether any animation is degraded.
+     */
+    private boolean degraded;
+
+    /**
+     * @param budgetNanos Time budget of the animations of a frame, in nanoseconds.
+     */
+    FrameBudget(long budgetNanos) {
+        if (budgetNanos <= 0) {
+            throw new IllegalArgumentException("Invalid budget: " + budgetNanos);
+        }
+
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * End the previous frame, degrading animations if it ran over budget, and start a new one.
+     *
+     * @param plan Plan of the animations run by the presenter.
+     */
+    void beginFrame(FramePlan plan) {
+        if (frameCostNanos > budgetNanos) {
+            degrade(plan, frameCostNanos - budgetNanos);
+        }
+
+        frameCostNanos = 0;
+        frame++;
+    }
+
+    /**
+     * @return True if degraded animations are skipped in the current frame.
+     */
+    boolean isSkippedFrame() {
+        return degraded && (frame & 1) != 0;
+    }
+
+    /**
+     * Record the cost of an animation that has run in the current frame.
+     *
+     * @param animation Animation that has run.
+     * @param cost      Time taken by the animation, in nanoseconds.
+     */
+    void record(Animation animation, long cost) {
+        frameCostNanos += cost;
+
+        // Exponential moving average, so that a single slow frame doesn't dominate the estimate.
+        long average = animation.costNanos;
+        animation.costNanos = average == 0 ? cost : average + (cost - average) / 4;
+    }
+
+    /**
+     * Degrade the most expensive degradable animations until the time saved by running them on every other frame
+     * covers the overrun.
+     */
+    private void degrade(FramePlan plan, long overrunNanos) {
+        long saved = 0;
+        while (saved < overrunNanos) {
+            Animation candidate = mostExpensive(plan.animations, null);
+            candidate = mostExpensive(plan.decorAnimations, candidate);
+            if (candidate == null) {
+                return;
+            }
+
+            candidate.degraded = true;
+            degraded = true;
+            saved += candidate.costNanos / 2;
+        }
+    }
+
+    private static Animation mostExpensive(Animation[] animations, Animation candidate) {
+        for (Animation animation : animations) {
+            if (animation != null && animation.isDegradable() && !animation.degraded
+                    && (candidate == null || animation.costNanos > candidate.costNanos)) {
+                candidate = animation;
+            }
+        }
+
+        return candidate;
+    }
+
+    /**
+     * Restore all animations to full quality.
+     *
+     * @param plan Plan of the animations run by the presenter.
+     * @return True if any animation was degraded, in which case the current frame should be applied again.
+     */
+    boolean restore(FramePlan plan) {
+        if (!degraded) {
+            return false;
+        }
+
+        degraded = false;
+        restore(plan.animations);
+        restore(plan.decorAnimations);
+        return true;
+    }
+
+    private static void restore(Animation[] animations) {
+        for (Animation animation : animations) {
+            if (animation != null) {
+                animation.degraded = false;
+            }
+        }
+    }
+}
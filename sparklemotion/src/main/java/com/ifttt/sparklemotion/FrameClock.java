@@ -0,0 +1,29 @@
+package com.ifttt.sparklemotion;
+
+/**
+ * Source of frame callbacks, used by {@link SparkleMotion} to coalesce the scrolling callbacks of a ViewPager
+ * received within the same frame into a single evaluation of the animations.
+ *
+ * @see AnimationBuilder#coalesceFrames(FrameClock)
+ */
+public interface FrameClock {
+
+    /**
+     * Post a callback to be run once on the next frame.
+     *
+     * @param callback Callback to be run.
+     */
+    void postFrameCallback(FrameCallback callback);
+
+    /**
+     * Callback for frames posted to a {@link FrameClock}.
+     */
+    interface FrameCallback {
+        /**
+         * Called when a new frame is being rendered.
+         *
+         * @param frameTimeNanos Time of the frame, in nanoseconds in the {@link System#nanoTime()} time base.
+         */
+        void doFrame(long frameTimeNanos);
+    }
+}
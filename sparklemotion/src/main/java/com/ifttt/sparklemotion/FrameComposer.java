@@ -0,0 +1,238 @@
+package com.ifttt.sparklemotion;
+
+import android.view.View;
+
+import com.ifttt.sparklemotion.core.Property;
+import com.ifttt.sparklemotion.core.PropertyBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Buffer of View property values written by {@link Animation}s during a frame. Instead of calling the View setters
+ * directly, animations contribute values to the buffer, and the buffer applies each property of each View once
+ * when the frame is committed, skipping values that haven't changed.
+ * <p/>
+ * When several animations of the same frame write the same property of a View, their values are composed in a
+ * {@link PropertyBuffer}: translation and rotation values are added, scale and alpha values are multiplied.
+ * <p/>
+ * Outside of a frame, i.e. between {@link #commit()} and the next {@link #begin()}, values are written to the View
+ * directly.
+ */
+final class FrameComposer {
+
+    static final int TRANSLATION_X = Property.TRANSLATION_X;
+    static final int TRANSLATION_Y = Property.TRANSLATION_Y;
+    static final int SCALE_X = Property.SCALE_X;
+    static final int SCALE_Y = Property.SCALE_Y;
+    static final int ROTATION = Property.ROTATION;
+    static final int ALPHA = Property.ALPHA;
+
+    static final int PROPERTY_COUNT = Property.COUNT;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Open addressing hash table of the Views written in the current frame, keyed by identity.
+     */
+    private View[] table;
+
+    /**
+     * Index of the View in {@link #views} for the View at the same index of {@link #table}.
+     */
+    private int[] tableSlots;
+
+    /**
+     * Views written in the current frame, in the order they were first written.
+     */
+    private View[] views;
+
+    /**
+     * Index in {@link #table} of the View at the same index of {@link #views}, used to clear the table.
+     */
+    private int[] viewTableIndices;
+
+    /**
+     * Pending values of the View at the same index of {@link #views}.
+     */
+    private final PropertyBuffer buffer;
+
+    private int size;
+
+    /**
+     * Stats counting the View properties written, or null.
+     */
+    private PresenterStats stats;
+
+    /**
+     * Number of nested frames, values are buffered when this is larger than 0.
+     */
+    private int depth;
+
+    FrameComposer() {
+        table = new View[INITIAL_CAPACITY * 2];
+        tableSlots = new int[INITIAL_CAPACITY * 2];
+        views = new View[INITIAL_CAPACITY];
+        viewTableIndices = new int[INITIAL_CAPACITY];
+        buffer = new PropertyBuffer(INITIAL_CAPACITY);
+    }
+
+    void setStats(PresenterStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Start buffering values for a frame.
+     */
+    void begin() {
+        depth++;
+    }
+
+    /**
+     * Apply all buffered values to their Views and stop buffering values. If frames are nested, values are only
+     * applied when the outermost frame is committed.
+     */
+    void commit() {
+        if (depth == 0 || --depth > 0) {
+            return;
+        }
+
+        for (int i = 0; i < size; i++) {
+            View view = views[i];
+            apply(view, i);
+
+            views[i] = null;
+            table[viewTableIndices[i]] = null;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * Write a property value of a View, buffering it if a frame is in progress.
+     *
+     * @param view     View to write to.
+     * @param property One of the property constants of this class.
+     * @param value    Value of the property.
+     */
+    void write(View view, int property, float value) {
+        if (depth == 0) {
+            if (set(view, property, value) && stats != null) {
+                stats.propertyWrites++;
+            }
+            return;
+        }
+
+        buffer.write(slotOf(view), property, value);
+    }
+
+    /**
+     * Find the slot of the View in the current frame, adding it if it hasn't been written yet.
+     */
+    private int slotOf(View view) {
+        int mask = table.length - 1;
+        int index = hash(view) & mask;
+        while (table[index] != null) {
+            if (table[index] == view) {
+                return tableSlots[index];
+            }
+            index = (index + 1) & mask;
+        }
+
+        if ((size + 1) * 2 > table.length) {
+            grow();
+            return slotOf(view);
+        }
+
+        int slot = size++;
+        table[index] = view;
+        tableSlots[index] = slot;
+        views[slot] = view;
+        viewTableIndices[slot] = index;
+        buffer.clear(slot);
+        return slot;
+    }
+
+    private void grow() {
+        int capacity = views.length * 2;
+        views = Arrays.copyOf(views, capacity);
+        viewTableIndices = Arrays.copyOf(viewTableIndices, capacity);
+        buffer.ensureCapacity(capacity);
+
+        table = new View[capacity * 2];
+        tableSlots = new int[capacity * 2];
+        int mask = table.length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int index = hash(views[slot]) & mask;
+            while (table[index] != null) {
+                index = (index + 1) & mask;
+            }
+
+            table[index] = views[slot];
+            tableSlots[index] = slot;
+            viewTableIndices[slot] = index;
+        }
+    }
+
+    private static int hash(View view) {
+        int hash = System.identityHashCode(view) * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void apply(View view, int slot) {
+        int mask = buffer.getMask(slot);
+        for (int property = 0; property < PROPERTY_COUNT; property++) {
+            if ((mask & (1 << property)) != 0 && set(view, property, buffer.getValue(slot, property))
+                    && stats != null) {
+                stats.propertyWrites++;
+            }
+        }
+    }
+
+    /**
+     * Set a property value to the View, unless the View already has the same value.
+     *
+     * @return True if the View has been changed.
+     */
+    private static boolean set(View view, int property, float value) {
+        switch (property) {
+            case TRANSLATION_X:
+                if (view.getTranslationX() != value) {
+                    view.setTranslationX(value);
+                    return true;
+                }
+                return false;
+            case TRANSLATION_Y:
+                if (view.getTranslationY() != value) {
+                    view.setTranslationY(value);
+                    return true;
+                }
+                return false;
+            case SCALE_X:
+                if (view.getScaleX() != value) {
+                    view.setScaleX(value);
+                    return true;
+                }
+                return false;
+            case SCALE_Y:
+                if (view.getScaleY() != value) {
+                    view.setScaleY(value);
+                    return true;
+                }
+                return false;
+            case ROTATION:
+                if (view.getRotation() != value) {
+                    view.setRotation(value);
+                    return true;
+                }
+                return false;
+            case ALPHA:
+                if (view.getAlpha() != value) {
+                    view.setAlpha(value);
+                    return true;
+                }
+                return false;
+            default:
+                throw new IllegalArgumentException("Unknown property: " + property);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.ifttt.sparklemotion;
+
+import android.view.View;
+
+import com.ifttt.sparklemotion.core.PageIndex;
+import com.ifttt.sparklemotion.core.PageRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Execution plan of the animations of a {@link SparkleMotion} presenter, flattened into contiguous arrays so that
+ * running a frame doesn't walk any map or list.
+ * <p/>
+ * In-page animations are sorted by the id of their target View, and the animations of every id are contiguous, in
+ * the order they were added. The index of an in-page animation within the plan is its flat index, used to save
+ * per-animation state in {@link ViewCache}. Decor animations are grouped by target View, and indexed by their
+ * {@link Page} through a {@link PageIndex}.
+ * <p/>
+ * The plan is not immutable: only its layout, which animations run on which targets and pages, is fixed once built.
+ * The presenter updates {@link #decorThresholdStates} and {@link #decorPosition} on every frame of the Decor
+ * animations, and clears the Decor animations of a released {@link DecorTarget} from {@link #decorAnimations} when
+ * they are next skipped, see {@link #purgeDecorAnimation(int)}. This state belongs to the plan because it is indexed
+ * by its layout, and is dropped with the plan when it is rebuilt.
+ */
+final class FramePlan {
+
+    /**
+     * Sorted ids of the target Views of the in-page animations.
+     */
+    final int[] ids;
+
+    /**
+     * Index of the first animation of every id, with an extra element for the end of the last id.
+     */
+    final int[] idStarts;
+
+    /**
+     * In-page animations, grouped by id.
+     */
+    final Animation[] animations;
+
+    /**
+     * Starting page of every in-page animation, or {@link Page#ALL_PAGES}.
+     */
+    final int[] pageStarts;
+
+    /**
+     * Ending page of every in-page animation, or {@link Page#ALL_PAGES}.
+     */
+    final int[] pageEnds;
+
+    /**
+     * Whether the target Views with the id at the same index can use a hardware layer.
+     */
+    final boolean[] layerIds;
+
+    /**
+     * Targets of all Decor animations.
+     */
+    final DecorTarget[] decorTargets;
+
+    /**
+     * All Decor animations, grouped by target View. Animations of released targets are set to null.
+     */
+    final Animation[] decorAnimations;
+
+    /**
+     * Index of the Decor animations by their {@link Page}.
+     */
+    final PageIndex decorIndex;
+
+    /**
+     * Decors whose animations can all use a hardware layer.
+     */
+    final DecorTarget[] layerDecors;
+
+    /**
+     * States of the threshold listeners of the Decor animations, see
+     * {@link Animation#dispatchThresholds(View, float, int)}.
+     */
+    final int[] decorThresholdStates;
+
+    /**
+     * Position of the ViewPager for the last frame of the Decor animations, or {@link SparkleMotion#NO_POSITION}.
+     */
+    int decorPosition = SparkleMotion.NO_POSITION;
+
+    private FramePlan(int[] ids, int[] idStarts, Animation[] animations, int[] pageStarts, int[] pageEnds,
+                      boolean[] layerIds, DecorTarget[] decorTargets, Animation[] decorAnimations,
+                      PageIndex decorIndex, DecorTarget[] layerDecors) {
+        this.ids = ids;
+        this.idStarts = idStarts;
+        this.animations = animations;
+        this.pageStarts = pageStarts;
+        this.pageEnds = pageEnds;
+        this.layerIds = layerIds;
+        this.decorTargets = decorTargets;
+        this.decorAnimations = decorAnimations;
+        this.decorIndex = decorIndex;
+        this.layerDecors = layerDecors;
+
+        decorThresholdStates = new int[decorAnimations.length];
+        Arrays.fill(decorThresholdStates, Animation.NO_THRESHOLD_STATE);
+    }
+
+    /**
+     * Build a plan from the animations registered to a presenter.
+     *
+     * @param animationMap    In-page animations, keyed by the id of their target View.
+     * @param decorTargets Targets of the Decor animations, released targets are skipped.
+     * @return Plan of the animations.
+     */
+    static FramePlan build(AnimationMap animationMap, ArrayList<DecorTarget> decorTargets) {
+        int idCount = animationMap.size();
+        int count = 0;
+        for (int i = 0; i < idCount; i++) {
+            Animation[] anims = animationMap.animationsAt(i);
+            for (int j = 0; j < animationMap.countAt(i); j++) {
+                if (anims[j] != null) {
+                    count++;
+                }
+            }
+        }
+
+        int[] ids = new int[idCount];
+        int[] idStarts = new int[idCount + 1];
+        Animation[] animations = new Animation[count];
+        int[] pageStarts = new int[count];
+        int[] pageEnds = new int[count];
+        boolean[] layerIds = new boolean[idCount];
+
+        int index = 0;
+        for (int i = 0; i < idCount; i++) {
+            ids[i] = animationMap.idAt(i);
+            idStarts[i] = index;
+
+            Animation[] anims = animationMap.animationsAt(i);
+            boolean canUseHardwareLayer = true;
+            for (int j = 0; j < animationMap.countAt(i); j++) {
+                Animation animation = anims[j];
+                if (animation == null) {
+                    continue;
+                }
+
+                Page page = animation.getPage();
+                animations[index] = animation;
+                pageStarts[index] = page.start;
+                pageEnds[index] = page.end;
+                canUseHardwareLayer &= animation.canUseHardwareLayer();
+                index++;
+            }
+
+            layerIds[i] = canUseHardwareLayer && index > idStarts[i];
+        }
+        idStarts[idCount] = index;
+
+        int decorCount = decorTargets.size();
+        int decorEntryCount = 0;
+        for (int i = 0; i < decorCount; i++) {
+            if (decorTargets.get(i).getView() == null) {
+                continue;
+            }
+
+            ArrayList<Animation> anims = decorTargets.get(i).animations;
+            for (int j = 0; j < anims.size(); j++) {
+                if (anims.get(j) != null) {
+                    decorEntryCount++;
+                }
+            }
+        }
+
+        DecorTarget[] entryTargets = new DecorTarget[decorEntryCount];
+        Animation[] decorEntries = new Animation[decorEntryCount];
+        int[] decorStarts = new int[decorEntryCount];
+        int[] decorEnds = new int[decorEntryCount];
+        ArrayList<DecorTarget> layerDecors = new ArrayList<>(decorCount);
+
+        int entry = 0;
+        for (int i = 0; i < decorCount; i++) {
+            DecorTarget target = decorTargets.get(i);
+            if (target.getView() == null) {
+                continue;
+            }
+
+            ArrayList<Animation> anims = target.animations;
+
+            int firstEntry = entry;
+            boolean canUseHardwareLayer = true;
+            for (int j = 0; j < anims.size(); j++) {
+                Animation animation = anims.get(j);
+                if (animation == null) {
+                    continue;
+                }
+
+                Page page = animation.getPage();
+                entryTargets[entry] = target;
+                decorEntries[entry] = animation;
+                decorStarts[entry] = page.start;
+                decorEnds[entry] = page.end;
+                canUseHardwareLayer &= animation.canUseHardwareLayer();
+                entry++;
+            }
+
+            if (canUseHardwareLayer && entry > firstEntry) {
+                layerDecors.add(target);
+            }
+        }
+
+        return new FramePlan(ids, idStarts, animations, pageStarts, pageEnds, layerIds, entryTargets, decorEntries,
+                new PageIndex(decorStarts, decorEnds, entry),
+                layerDecors.toArray(new DecorTarget[layerDecors.size()]));
+    }
+
+    /**
+     * Clear a Decor animation whose target has been released, so that it is no longer retained by the plan.
+     *
+     * @param entry Index of the Decor animation within the plan.
+     */
+    void purgeDecorAnimation(int entry) {
+        decorAnimations[entry] = null;
+    }
+
+    /**
+     * Check whether an in-page animation should run on a page.
+     *
+     * @param index    Index of the animation within the plan.
+     * @param position Adapter position of the page.
+     * @return True if the animation should run, false otherwise.
+     */
+    boolean shouldAnimate(int index, int position) {
+        return PageRange.contains(pageStarts[index], pageEnds[index], position);
+    }
+}
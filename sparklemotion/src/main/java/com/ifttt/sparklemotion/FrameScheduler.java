@@ -0,0 +1,126 @@
+package com.ifttt.sparklemotion;
+
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Coalesces the scrolling callbacks of a ViewPager into one evaluation per frame. Only the latest Decor position and
+ * the latest position of every page are recorded, and the animations are run once on the next frame from the
+ * {@link FrameClock}.
+ */
+final class FrameScheduler implements FrameClock.FrameCallback {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final SparkleMotion presenter;
+    private final FrameClock frameClock;
+
+    /**
+     * Whether a frame callback has been posted and not run yet.
+     */
+    private boolean scheduled;
+
+    private boolean decorPending;
+    private int decorPosition;
+    private float decorOffset;
+
+    private ViewPager viewPager;
+    private View[] pendingPages = new View[INITIAL_CAPACITY];
+    private float[] pendingOffsets = new float[INITIAL_CAPACITY];
+    private float[] pendingOffsetsInPixel = new float[INITIAL_CAPACITY];
+    private int pendingPageCount;
+
+    FrameScheduler(SparkleMotion presenter, FrameClock frameClock) {
+        this.presenter = presenter;
+        this.frameClock = frameClock;
+    }
+
+    /**
+     * Record the latest position for the Decor animations.
+     *
+     * @param position Position of the current page.
+     * @param offset   Offset of the ViewPager scrolling.
+     */
+    void scheduleDecorAnimations(int position, float offset) {
+        decorPending = true;
+        decorPosition = position;
+        decorOffset = offset;
+        schedule();
+    }
+
+    /**
+     * Record the latest position of a page for the in-page animations, replacing the position recorded for the
+     * same page in the current frame.
+     *
+     * @param viewPager     ViewPager of the page.
+     * @param page          Page View of the ViewPager.
+     * @param offset        Scrolling offset of the page.
+     * @param offsetInPixel Scrolling offset in pixels based on the page View.
+     */
+    void scheduleAnimations(ViewPager viewPager, View page, float offset, float offsetInPixel) {
+        this.viewPager = viewPager;
+
+        int index = 0;
+        while (index < pendingPageCount && pendingPages[index] != page) {
+            index++;
+        }
+
+        if (index == pendingPageCount) {
+            if (pendingPageCount == pendingPages.length) {
+                int capacity = pendingPageCount * 2;
+                pendingPages = Arrays.copyOf(pendingPages, capacity);
+                pendingOffsets = Arrays.copyOf(pendingOffsets, capacity);
+                pendingOffsetsInPixel = Arrays.copyOf(pendingOffsetsInPixel, capacity);
+            }
+
+            pendingPages[pendingPageCount++] = page;
+        }
+
+        pendingOffsets[index] = offset;
+        pendingOffsetsInPixel[index] = offsetInPixel;
+        schedule();
+    }
+
+    /**
+     * Drop the callbacks scheduled for the next frame.
+     */
+    void cancel() {
+        decorPending = false;
+        for (int i = 0; i < pendingPageCount; i++) {
+            pendingPages[i] = null;
+        }
+
+        pendingPageCount = 0;
+        viewPager = null;
+    }
+
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            frameClock.postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        scheduled = false;
+        presenter.setFrameTime(frameTimeNanos);
+        presenter.beginFrame();
+
+        if (decorPending) {
+            decorPending = false;
+            presenter.presentDecorAnimations(decorPosition, decorOffset);
+        }
+
+        for (int i = 0; i < pendingPageCount; i++) {
+            presenter.presentAnimations(viewPager, pendingPages[i], pendingOffsets[i], pendingOffsetsInPixel[i]);
+            pendingPages[i] = null;
+        }
+
+        pendingPageCount = 0;
+        viewPager = null;
+        presenter.setFrameTime(SparkleMotion.NO_FRAME_TIME);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ifttt.sparklemotion;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of latencies with power of two buckets, recorded without allocating. Bucket {@code 0} counts latencies
+ * of 0 nanoseconds, and bucket {@code i} counts latencies within [2^(i - 1), 2^i) nanoseconds.
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKET_COUNT = 64;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    LatencyHistogram() {
+    }
+
+    private LatencyHistogram(LatencyHistogram source) {
+        System.arraycopy(source.counts, 0, counts, 0, BUCKET_COUNT);
+        count = source.count;
+        totalNanos = source.totalNanos;
+        maxNanos = source.maxNanos;
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param nanos Latency in nanoseconds, negative values are recorded as 0.
+     */
+    void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+
+        counts[BUCKET_COUNT - Long.numberOfLeadingZeros(nanos)]++;
+        count++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+    }
+
+    void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    LatencyHistogram copy() {
+        return new LatencyHistogram(this);
+    }
+
+    /**
+     * @return Number of latencies recorded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return Sum of all latencies recorded, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return Largest latency recorded, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * @param bucket Index of the bucket, within [0, {@link #BUCKET_COUNT}).
+     * @return Number of latencies recorded in the bucket.
+     */
+    public long getBucketCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * @param bucket Index of the bucket, within [0, {@link #BUCKET_COUNT}).
+     * @return Largest latency counted by the bucket, in nanoseconds.
+     */
+    public static long getBucketUpperBoundNanos(int bucket) {
+        if (bucket < 0 || bucket >= BUCKET_COUNT) {
+            throw new IllegalArgumentException("Invalid bucket: " + bucket);
+        }
+
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    /**
+     * Return an upper bound of the latency at the given percentile, the upper bound of the bucket holding it.
+     *
+     * @param percentile Percentile within [0, 100].
+     * @return Upper bound of the latency in nanoseconds, capped by the largest latency recorded, or 0 if no latency
+     * has been recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBoundNanos(bucket), maxNanos);
+            }
+        }
+
+        return maxNanos;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ifttt.sparklemotion;
+
+import android.view.View;
+
+import java.util.ArrayList;
+
+/**
+ * Keeps track of the Views that {@link SparkleMotion} switched to a hardware layer while the ViewPager is
+ * scrolling, so that only those Views are switched back when scrolling stops. Views that already use a layer set by
+ * someone else are left untouched.
+ */
+final class LayerManager {
+
+    /**
+     * Views currently using a hardware layer enabled by this manager.
+     */
+    private final ArrayList<View> layeredViews = new ArrayList<>();
+
+    /**
+     * Switch the View to a hardware layer, if it doesn't use a layer yet.
+     *
+     * @param view View being animated.
+     */
+    void enable(View view) {
+        if (view.getLayerType() != View.LAYER_TYPE_NONE) {
+            return;
+        }
+
+        view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        layeredViews.add(view);
+    }
+
+    /**
+     * Switch all Views enabled by {@link #enable(View)} back to no layer.
+     */
+    void disableAll() {
+        int size = layeredViews.size();
+        for (int i = 0; i < size; i++) {
+            layeredViews.get(i).setLayerType(View.LAYER_TYPE_NONE, null);
+        }
+
+        layeredViews.clear();
+    }
+}
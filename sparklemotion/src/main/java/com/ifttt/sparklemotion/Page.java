@@ -1,5 +1,7 @@
 package com.ifttt.sparklemotion;
 
+import com.ifttt.sparklemotion.core.PageRange;
+
 /**
  * A component of building an {@link Animation} that contains information about which page(s) the animation should
  * run. For animations that needs to be run for every page, {@link #allPages()} should be used; for animations that
@@ -11,7 +13,7 @@ public class Page {
     /**
      * Flag used to indicate that this animation should be run for every page.
      */
-    static final int ALL_PAGES = -1;
+    static final int ALL_PAGES = PageRange.ALL_PAGES;
 
     /**
      * Index of the starting page of the animation.
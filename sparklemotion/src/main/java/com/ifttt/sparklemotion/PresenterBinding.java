@@ -0,0 +1,204 @@
+package com.ifttt.sparklemotion;
+
+import android.support.v4.view.ViewPager;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * The single {@link ViewPager.OnPageChangeListener} and {@link ViewPager.PageTransformer} installed into a
+ * ViewPager for a {@link SparkleMotion}, referenced by the tag of the ViewPager.
+ * <p/>
+ * All per-frame work of the presenter is suspended while the ViewPager is detached from the window or the host is
+ * stopped, see {@link #setStarted(boolean)}. When both conditions are lifted, the current frame is applied again, so
+ * that the animated Views catch up with the scrolling that happened in the meantime.
+ */
+final class PresenterBinding extends ViewPager.SimpleOnPageChangeListener
+        implements ViewPager.PageTransformer, View.OnAttachStateChangeListener {
+
+    final ViewPager viewPager;
+    final SparkleMotion presenter;
+
+    private boolean reverseDrawingOrder;
+
+    /**
+     * PageTransformer set through {@link SparkleMotionCompat#setPageTransformer(ViewPager, boolean,
+     * ViewPager.PageTransformer)}, run after the presenter for every page.
+     */
+    private ViewPager.PageTransformer pageTransformer;
+
+    private boolean attached = true;
+    private boolean started = true;
+
+    /**
+     * Recorder of the scrolling of the ViewPager, or null.
+     */
+    private ScrollTraceRecorder scrollTraceRecorder;
+
+    PresenterBinding(ViewPager viewPager, SparkleMotion presenter, boolean reverseDrawingOrder) {
+        this.viewPager = viewPager;
+        this.presenter = presenter;
+        this.reverseDrawingOrder = reverseDrawingOrder;
+    }
+
+    /**
+     * Add the listeners of this binding to the ViewPager, and set it as the PageTransformer.
+     */
+    void bind() {
+        presenter.resume();
+        viewPager.addOnPageChangeListener(this);
+        viewPager.addOnAttachStateChangeListener(this);
+        viewPager.setPageTransformer(reverseDrawingOrder, this);
+        viewPager.setTag(R.id.presenter_id, this);
+    }
+
+    /**
+     * Remove the listeners of this binding from the ViewPager, restoring the PageTransformer set through
+     * {@link SparkleMotionCompat#setPageTransformer(ViewPager, boolean, ViewPager.PageTransformer)} if any.
+     */
+    void unbind() {
+        viewPager.removeOnPageChangeListener(this);
+        viewPager.removeOnAttachStateChangeListener(this);
+        viewPager.setPageTransformer(reverseDrawingOrder, pageTransformer);
+        viewPager.setTag(R.id.presenter_id, null);
+
+        presenter.pause();
+        presenter.observeAdapter(null);
+    }
+
+    /**
+     * Set a PageTransformer to run after the presenter for every page.
+     *
+     * @param reverseDrawingOrder Whether the ViewPager should reverse it child Views' drawing order.
+     * @param pageTransformer     PageTransformer instance, can be null.
+     */
+    void setPageTransformer(boolean reverseDrawingOrder, ViewPager.PageTransformer pageTransformer) {
+        this.reverseDrawingOrder = reverseDrawingOrder;
+        this.pageTransformer = pageTransformer;
+        viewPager.setPageTransformer(reverseDrawingOrder, this);
+    }
+
+    ViewPager.PageTransformer getPageTransformer() {
+        return pageTransformer;
+    }
+
+    /**
+     * Suspend or resume the animations along with the host of the ViewPager.
+     *
+     * @param started False when the host is stopped, true when it is started again.
+     */
+    void setStarted(boolean started) {
+        if (this.started != started) {
+            this.started = started;
+            updateState();
+        }
+    }
+
+    void setScrollTraceRecorder(ScrollTraceRecorder recorder) {
+        scrollTraceRecorder = recorder;
+    }
+
+    /**
+     * Remove a recorder set by {@link #setScrollTraceRecorder(ScrollTraceRecorder)}, unless it has been replaced.
+     */
+    void removeScrollTraceRecorder(ScrollTraceRecorder recorder) {
+        if (scrollTraceRecorder == recorder) {
+            scrollTraceRecorder = null;
+        }
+    }
+
+    boolean isActive() {
+        return attached && started;
+    }
+
+    private void updateState() {
+        if (!isActive()) {
+            presenter.pause();
+        } else if (presenter.isPaused()) {
+            presenter.resume();
+            applyCurrentFrame();
+        }
+    }
+
+    /**
+     * Dispatch the current scrolling position of the ViewPager again, the same way the ViewPager does while
+     * scrolling.
+     */
+    private void applyCurrentFrame() {
+        int clientWidth = viewPager.getWidth() - viewPager.getPaddingLeft() - viewPager.getPaddingRight();
+        if (clientWidth <= 0) {
+            // Not laid out yet, the first layout dispatches the current frame.
+            return;
+        }
+
+        float scroll = (float) viewPager.getScrollX() / (clientWidth + viewPager.getPageMargin());
+        int position = (int) Math.floor(scroll);
+        onPageScrolled(position, scroll - position, 0);
+
+        int childCount = viewPager.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            View child = viewPager.getChildAt(i);
+            ViewGroup.LayoutParams params = child.getLayoutParams();
+            if (params instanceof ViewPager.LayoutParams && ((ViewPager.LayoutParams) params).isDecor) {
+                continue;
+            }
+
+            transformPage(child, (float) (child.getLeft() - viewPager.getScrollX()) / clientWidth);
+        }
+    }
+
+    @Override
+    public void transformPage(View page, float position) {
+        if (scrollTraceRecorder != null) {
+            scrollTraceRecorder.onTransformPage(page, position);
+        }
+
+        presenter.observeAdapter(viewPager.getAdapter());
+        presenter.onTransformPage(viewPager, page, position);
+
+        if (pageTransformer != null) {
+            pageTransformer.transformPage(page, position);
+        }
+    }
+
+    @Override
+    public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        if (scrollTraceRecorder != null) {
+            scrollTraceRecorder.onPageScrolled(position, positionOffset);
+        }
+
+        // Animate any Decor animations.
+        presenter.onPageScrolled(position, positionOffset);
+    }
+
+    @Override
+    public void onPageSelected(int position) {
+        presenter.invalidatePagePositions();
+    }
+
+    @Override
+    public void onPageScrollStateChanged(int state) {
+        // Use hardware layers for the animated Views while scrolling.
+        if (state == ViewPager.SCROLL_STATE_IDLE) {
+            presenter.disableLayers();
+
+            // Degraded animations might have skipped the last frame.
+            if (presenter.restoreQuality() && !presenter.isPaused()) {
+                applyCurrentFrame();
+            }
+        } else {
+            presenter.enableLayers(viewPager);
+        }
+    }
+
+    @Override
+    public void onViewAttachedToWindow(View v) {
+        attached = true;
+        updateState();
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(View v) {
+        attached = false;
+        updateState();
+    }
+}
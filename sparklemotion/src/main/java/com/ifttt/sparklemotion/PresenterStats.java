@@ -0,0 +1,236 @@
+package com.ifttt.sparklemotion;
+
+import android.view.View;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Opt-in instrumentation of a {@link SparkleMotion} presenter, installed by
+ * {@link AnimationBuilder#collectStats(PresenterStats)}. Counts the work done by the presenter, and records the
+ * latency of every run of an animation in the histogram of the animation and in that of its target, the id of an
+ * in-page View or a Decor.
+ * <p/>
+ * Recording doesn't allocate: the histograms are looked up by the index of the animations within the
+ * {@link FramePlan}, and only rebuilt when the plan changes. Presenters without stats skip all of it behind a null
+ * check. Stats are recorded on the main thread, and {@link #snapshot()} and {@link #reset()} must be called on the
+ * main thread as well, for example from a Handler polling them, before shipping the snapshot off the main thread.
+ */
+public final class PresenterStats {
+
+    /**
+     * Immutable copy of the stats of a presenter.
+     */
+    public static final class Snapshot {
+
+        /**
+         * Number of frames the presenter has run.
+         */
+        public final long framesPresented;
+
+        /**
+         * Number of times the in-page animations of a page were presented.
+         */
+        public final long pagesPresented;
+
+        /**
+         * Number of times an animation was run.
+         */
+        public final long animationsEvaluated;
+
+        /**
+         * Number of times an animation was skipped because its {@link Page} doesn't contain the current page.
+         */
+        public final long animationsCulled;
+
+        /**
+         * Number of animated Views looked up in the pages, as opposed to found in the cache of the page.
+         */
+        public final long viewLookups;
+
+        /**
+         * Number of View properties changed by the animations.
+         */
+        public final long propertyWrites;
+
+        /**
+         * Latencies of the animations, keyed by animation.
+         */
+        public final Map<Animation, LatencyHistogram> animationLatencies;
+
+        /**
+         * Latencies of the animations of the in-page Views, keyed by View id.
+         */
+        public final Map<Integer, LatencyHistogram> viewLatencies;
+
+        /**
+         * Latencies of the animations of the Decors, keyed by Decor.
+         */
+        public final Map<View, LatencyHistogram> decorLatencies;
+
+        Snapshot(PresenterStats stats) {
+            framesPresented = stats.framesPresented;
+            pagesPresented = stats.pagesPresented;
+            animationsEvaluated = stats.animationsEvaluated;
+            animationsCulled = stats.animationsCulled;
+            viewLookups = stats.viewLookups;
+            propertyWrites = stats.propertyWrites;
+
+            IdentityHashMap<Animation, LatencyHistogram> animations =
+                    new IdentityHashMap<>(stats.animationLatencies.size());
+            for (Map.Entry<Animation, LatencyHistogram> entry : stats.animationLatencies.entrySet()) {
+                animations.put(entry.getKey(), entry.getValue().copy());
+            }
+            animationLatencies = Collections.unmodifiableMap(animations);
+
+            HashMap<Integer, LatencyHistogram> views = new HashMap<>(stats.viewLatencies.size());
+            for (Map.Entry<Integer, LatencyHistogram> entry : stats.viewLatencies.entrySet()) {
+                views.put(entry.getKey(), entry.getValue().copy());
+            }
+            viewLatencies = Collections.unmodifiableMap(views);
+
+            IdentityHashMap<View, LatencyHistogram> decors = new IdentityHashMap<>(stats.decorLatencies.size());
+            for (Map.Entry<DecorTarget, LatencyHistogram> entry : stats.decorLatencies.entrySet()) {
+                View decor = entry.getKey().getView();
+                if (decor != null) {
+                    decors.put(decor, entry.getValue().copy());
+                }
+            }
+            decorLatencies = Collections.unmodifiableMap(decors);
+        }
+    }
+
+    long framesPresented;
+    long pagesPresented;
+    long animationsEvaluated;
+    long animationsCulled;
+    long viewLookups;
+    long propertyWrites;
+
+    private final IdentityHashMap<Animation, LatencyHistogram> animationLatencies = new IdentityHashMap<>();
+    private final HashMap<Integer, LatencyHistogram> viewLatencies = new HashMap<>();
+    private final IdentityHashMap<DecorTarget, LatencyHistogram> decorLatencies = new IdentityHashMap<>();
+
+    /**
+     * Plan the histogram arrays below are built for.
+     */
+    private FramePlan plan;
+
+    /**
+     * Histograms of the in-page animations and of their target ids, by index within the plan.
+     */
+    private LatencyHistogram[] animationHistograms;
+    private LatencyHistogram[] idHistograms;
+
+    /**
+     * Histograms of the Decor animations and of their targets, by entry within the plan.
+     */
+    private LatencyHistogram[] decorAnimationHistograms;
+    private LatencyHistogram[] decorTargetHistograms;
+
+    /**
+     * Build the histogram arrays for the given plan, if it has changed since the last frame. Histograms of the
+     * animations and targets that were already in the previous plan are kept.
+     *
+     * @param plan Plan of the animations run by the presenter.
+     */
+    void prepare(FramePlan plan) {
+        if (this.plan == plan) {
+            return;
+        }
+
+        this.plan = plan;
+        animationHistograms = new LatencyHistogram[plan.animations.length];
+        idHistograms = new LatencyHistogram[plan.ids.length];
+        for (int i = 0; i < plan.ids.length; i++) {
+            idHistograms[i] = obtain(viewLatencies, plan.ids[i]);
+            for (int j = plan.idStarts[i]; j < plan.idStarts[i + 1]; j++) {
+                animationHistograms[j] = obtain(animationLatencies, plan.animations[j]);
+            }
+        }
+
+        // Forget the Decors released since the last plan.
+        Iterator<DecorTarget> targets = decorLatencies.keySet().iterator();
+        while (targets.hasNext()) {
+            if (targets.next().getView() == null) {
+                targets.remove();
+            }
+        }
+
+        decorAnimationHistograms = new LatencyHistogram[plan.decorAnimations.length];
+        decorTargetHistograms = new LatencyHistogram[plan.decorAnimations.length];
+        for (int entry = 0; entry < plan.decorAnimations.length; entry++) {
+            if (plan.decorAnimations[entry] != null) {
+                decorAnimationHistograms[entry] = obtain(animationLatencies, plan.decorAnimations[entry]);
+                decorTargetHistograms[entry] = obtain(decorLatencies, plan.decorTargets[entry]);
+            }
+        }
+    }
+
+    private static <K> LatencyHistogram obtain(Map<K, LatencyHistogram> histograms, K key) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            histograms.put(key, histogram);
+        }
+
+        return histogram;
+    }
+
+    /**
+     * Record the latency of an in-page animation.
+     *
+     * @param index   Index of the animation within the plan.
+     * @param idIndex Index of the id of its target View within the plan.
+     * @param nanos   Latency of the animation.
+     */
+    void recordAnimation(int index, int idIndex, long nanos) {
+        animationsEvaluated++;
+        animationHistograms[index].record(nanos);
+        idHistograms[idIndex].record(nanos);
+    }
+
+    /**
+     * Record the latency of a Decor animation.
+     *
+     * @param entry Index of the Decor animation within the plan.
+     * @param nanos Latency of the animation.
+     */
+    void recordDecorAnimation(int entry, long nanos) {
+        animationsEvaluated++;
+        decorAnimationHistograms[entry].record(nanos);
+        decorTargetHistograms[entry].record(nanos);
+    }
+
+    /**
+     * @return Copy of the current stats.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Reset all counters and histograms to 0.
+     */
+    public void reset() {
+        framesPresented = 0;
+        pagesPresented = 0;
+        animationsEvaluated = 0;
+        animationsCulled = 0;
+        viewLookups = 0;
+        propertyWrites = 0;
+
+        for (LatencyHistogram histogram : animationLatencies.values()) {
+            histogram.reset();
+        }
+        for (LatencyHistogram histogram : viewLatencies.values()) {
+            histogram.reset();
+        }
+        for (LatencyHistogram histogram : decorLatencies.values()) {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.ifttt.sparklemotion;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Channel streaming the progress of animations from the main thread to a consumer thread, without allocating or
+ * blocking on the main thread.
+ * <p/>
+ * Every record holds the progress event id of an animation, the page it ran for, the scrolling offset and the frame
+ * time, see {@link Animation#setProgressEventId(int)}. Records are written into a preallocated ring buffer of
+ * primitives, for a single producer, the main thread, and a single consumer, which calls {@link #drain(Consumer)}
+ * from its own thread or runs the Runnable returned by {@link #newDrainer(Consumer, long)} on an executor.
+ * <p/>
+ * When the consumer falls behind by more than the capacity of the buffer, the producer overwrites the oldest
+ * records, which are counted as dropped. Every slot is guarded by a sequence number written before and after its
+ * record, so that the consumer detects and skips the records overwritten while it reads them.
+ */
+public final class ProgressEventChannel {
+
+    /**
+     * Number of longs per slot: the sequence number followed by the three longs of a record.
+     */
+    private static final int SLOT_SIZE = 4;
+
+    private static final long INT_MASK = 0xffffffffL;
+
+    /**
+     * Consumer of the records of a {@link ProgressEventChannel}, called on the consumer thread.
+     */
+    public interface Consumer {
+        /**
+         * Called for every record, in the order the records were published.
+         *
+         * @param eventId        Progress event id of the animation.
+         * @param page           Adapter position of the page the animation ran for, or -1 if it is not known. For
+         *                       Decor animations, the position of the current page.
+         * @param offset         Scrolling offset given to the animation.
+         * @param frameTimeNanos Time of the frame, in the {@link System#nanoTime()} time base.
+         */
+        void onProgress(int eventId, int page, float offset, long frameTimeNanos);
+    }
+
+    private final int mask;
+
+    /**
+     * Slots of the ring buffer. A slot holding record {@code n} has the sequence number {@code 2n + 2} once the record
+     * is complete, and {@code 2n + 1} while it is written.
+     */
+    private final AtomicLongArray slots;
+
+    /**
+     * Number of records published, written by the producer only.
+     */
+    private final AtomicLong published = new AtomicLong();
+
+    private final AtomicLong consumed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Sequence of the next record to publish, owned by the producer.
+     */
+    private long head;
+
+    /**
+     * Sequence of the next record to read, owned by the consumer.
+     */
+    private long tail;
+
+    /**
+     * @param capacity Number of records kept before the oldest records are overwritten, rounded up to a power of
+     *                 two.
+     *
+     * @throws IllegalArgumentException when {@code capacity} is not positive or too large.
+     */
+    public ProgressEventChannel(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 26)) {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+
+        mask = size - 1;
+        slots = new AtomicLongArray(size * SLOT_SIZE);
+    }
+
+    /**
+     * Publish a record. Must only be called from the producer thread.
+     */
+    void publish(int eventId, int page, float offset, long frameTimeNanos) {
+        long sequence = head++;
+        int base = (int) (sequence & mask) * SLOT_SIZE;
+
+        slots.set(base, 2 * sequence + 1);
+        slots.set(base + 1, ((long) eventId << 32) | (page & INT_MASK));
+        slots.set(base + 2, Float.floatToRawIntBits(offset) & INT_MASK);
+        slots.set(base + 3, frameTimeNanos);
+        slots.set(base, 2 * sequence + 2);
+
+        published.lazySet(sequence + 1);
+    }
+
+    /**
+     * Pass all records published so far to the consumer. Must only be called from a single consumer thread.
+     *
+     * @param consumer Consumer of the records.
+     * @return Number of records passed to the consumer.
+     */
+    public int drain(Consumer consumer) {
+        int count = 0;
+        long end = published.get();
+        while (tail < end) {
+            if (end - tail > mask + 1) {
+                // The producer has overwritten the oldest records.
+                skipTo(end - mask - 1);
+            }
+
+            long sequence = tail;
+            int base = (int) (sequence & mask) * SLOT_SIZE;
+            long expected = 2 * sequence + 2;
+
+            long before = slots.get(base);
+            long idAndPage = slots.get(base + 1);
+            long offsetBits = slots.get(base + 2);
+            long frameTime = slots.get(base + 3);
+            long after = slots.get(base);
+
+            if (before != expected || after != expected) {
+                // Overwritten while reading, catch up with the producer.
+                end = published.get();
+                skipTo(Math.max(sequence + 1, end - mask - 1));
+                continue;
+            }
+
+            tail = sequence + 1;
+            consumer.onProgress((int) (idAndPage >> 32), (int) idAndPage, Float.intBitsToFloat((int) offsetBits),
+                    frameTime);
+            count++;
+        }
+
+        consumed.addAndGet(count);
+        return count;
+    }
+
+    private void skipTo(long sequence) {
+        dropped.addAndGet(sequence - tail);
+        tail = sequence;
+    }
+
+    /**
+     * Return a Runnable draining this channel until its thread is interrupted, waiting for the given interval
+     * whenever there is nothing to drain. Run it on a dedicated thread or a single thread executor.
+     *
+     * @param consumer           Consumer of the records.
+     * @param pollIntervalMillis Time to wait between two polls of an empty channel, in milliseconds.
+     * @return Runnable draining the channel.
+     */
+    public Runnable newDrainer(final Consumer consumer, long pollIntervalMillis) {
+        final long pollIntervalNanos = TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis);
+        return new Runnable() {
+            @Override
+            public void run() {
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (drain(consumer) == 0) {
+                        LockSupport.parkNanos(this, pollIntervalNanos);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * @return Number of records kept before the oldest records are overwritten.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return Number of records published by the producer.
+     */
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    /**
+     * @return Number of records passed to the consumer.
+     */
+    public long getConsumedCount() {
+        return consumed.get();
+    }
+
+    /**
+     * @return Number of records overwritten before the consumer could read them.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -0,0 +1,120 @@
+package com.ifttt.sparklemotion;
+
+import android.content.Context;
+import android.view.View;
+
+import com.ifttt.sparklemotion.core.Property;
+
+/**
+ * View given to an {@link Animation} while it is baked by {@link AnimationBaker}, capturing every property setter
+ * call of a sample into primitive arrays. Values written more than once within a sample are composed the same way
+ * {@link FrameComposer} composes them.
+ */
+final class RecordingView extends View {
+
+    /**
+     * Values of the current sample, indexed by the property constants of {@link FrameComposer}.
+     */
+    final float[] values = new float[FrameComposer.PROPERTY_COUNT];
+
+    /**
+     * Bit mask of the properties written in the current sample.
+     */
+    int mask;
+
+    /**
+     * Properties of the View, indexed by the property constants of {@link FrameComposer}. They are kept here rather
+     * than in the View, as the recording View is never drawn.
+     */
+    private final float[] properties = new float[FrameComposer.PROPERTY_COUNT];
+
+    RecordingView(Context context) {
+        super(context);
+        beginSample();
+    }
+
+    /**
+     * Clear the values of the previous sample and reset the View to its initial properties, so that every sample is
+     * recorded from the same state.
+     */
+    void beginSample() {
+        properties[FrameComposer.TRANSLATION_X] = 0;
+        properties[FrameComposer.TRANSLATION_Y] = 0;
+        properties[FrameComposer.SCALE_X] = 1;
+        properties[FrameComposer.SCALE_Y] = 1;
+        properties[FrameComposer.ROTATION] = 0;
+        properties[FrameComposer.ALPHA] = 1;
+        mask = 0;
+    }
+
+    private void record(int property, float value) {
+        int bit = 1 << property;
+        if ((mask & bit) == 0) {
+            mask |= bit;
+            values[property] = value;
+        } else {
+            values[property] = Property.compose(property, values[property], value);
+        }
+        properties[property] = value;
+    }
+
+    @Override
+    public float getTranslationX() {
+        return properties[FrameComposer.TRANSLATION_X];
+    }
+
+    @Override
+    public void setTranslationX(float translationX) {
+        record(FrameComposer.TRANSLATION_X, translationX);
+    }
+
+    @Override
+    public float getTranslationY() {
+        return properties[FrameComposer.TRANSLATION_Y];
+    }
+
+    @Override
+    public void setTranslationY(float translationY) {
+        record(FrameComposer.TRANSLATION_Y, translationY);
+    }
+
+    @Override
+    public float getScaleX() {
+        return properties[FrameComposer.SCALE_X];
+    }
+
+    @Override
+    public void setScaleX(float scaleX) {
+        record(FrameComposer.SCALE_X, scaleX);
+    }
+
+    @Override
+    public float getScaleY() {
+        return properties[FrameComposer.SCALE_Y];
+    }
+
+    @Override
+    public void setScaleY(float scaleY) {
+        record(FrameComposer.SCALE_Y, scaleY);
+    }
+
+    @Override
+    public float getRotation() {
+        return properties[FrameComposer.ROTATION];
+    }
+
+    @Override
+    public void setRotation(float rotation) {
+        record(FrameComposer.ROTATION, rotation);
+    }
+
+    @Override
+    public float getAlpha() {
+        return properties[FrameComposer.ALPHA];
+    }
+
+    @Override
+    public void setAlpha(float alpha) {
+        record(FrameComposer.ALPHA, alpha);
+    }
+}
@@ -0,0 +1,228 @@
+package com.ifttt.sparklemotion;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Immutable recording of the scrolling of a ViewPager, see {@link ScrollTraceRecorder}. Every frame holds the time
+ * of the frame, the position and offset given to
+ * {@link android.support.v4.view.ViewPager.OnPageChangeListener#onPageScrolled(int, float, int)}, and the position
+ * given to {@link android.support.v4.view.ViewPager.PageTransformer#transformPage(android.view.View, float)} for
+ * every page transformed in the frame. Pages are identified by keys within [0, {@link #getPageCount()}), in the
+ * order they were first transformed.
+ * <p/>
+ * Traces are stored in a compact binary format, written by {@link #writeTo(OutputStream)} and read by
+ * {@link #readFrom(InputStream)}:
+ * <pre>
+ * int   magic, version, page count, frame count
+ * frame count times:
+ *   long  frame time in nanoseconds
+ *   int   position
+ *   float offset
+ *   short transform count
+ *   transform count times:
+ *     short page key
+ *     float transform position
+ * </pre>
+ */
+public final class ScrollTrace {
+
+    private static final int MAGIC = 0x534d5354;
+    private static final int VERSION = 1;
+
+    /**
+     * Number of frames allocated before any frame is read, the arrays then grow with the frames actually read, so
+     * that the frame count of a corrupted trace cannot allocate more than the size of the trace.
+     */
+    private static final int INITIAL_FRAME_CAPACITY = 256;
+
+    private final int pageCount;
+    private final long[] frameTimes;
+    private final int[] positions;
+    private final float[] offsets;
+
+    /**
+     * Index of the first transform of every frame, with an extra element for the end of the last frame.
+     */
+    private final int[] transformStarts;
+    private final int[] transformPages;
+    private final float[] transformPositions;
+
+    ScrollTrace(int pageCount, long[] frameTimes, int[] positions, float[] offsets, int[] transformStarts,
+                int[] transformPages, float[] transformPositions) {
+        this.pageCount = pageCount;
+        this.frameTimes = frameTimes;
+        this.positions = positions;
+        this.offsets = offsets;
+        this.transformStarts = transformStarts;
+        this.transformPages = transformPages;
+        this.transformPositions = transformPositions;
+    }
+
+    /**
+     * Read a trace written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in Stream to read from, not closed by this method.
+     * @return Trace read from the stream.
+     *
+     * @throws IOException when the stream cannot be read or doesn't hold a trace.
+     */
+    public static ScrollTrace readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a scroll trace");
+        }
+
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported scroll trace version: " + version);
+        }
+
+        int pageCount = data.readInt();
+        int frameCount = data.readInt();
+        if (pageCount < 0 || frameCount < 0) {
+            throw new IOException("Corrupted scroll trace");
+        }
+
+        int frameCapacity = Math.min(frameCount, INITIAL_FRAME_CAPACITY);
+        long[] frameTimes = new long[frameCapacity];
+        int[] positions = new int[frameCapacity];
+        float[] offsets = new float[frameCapacity];
+        int[] transformStarts = new int[frameCapacity + 1];
+        int[] transformPages = new int[frameCapacity * 2];
+        float[] transformPositions = new float[frameCapacity * 2];
+
+        int transformCount = 0;
+        for (int frame = 0; frame < frameCount; frame++) {
+            if (frame == frameCapacity) {
+                frameCapacity = (int) Math.min(frameCapacity * 2L, frameCount);
+                frameTimes = Arrays.copyOf(frameTimes, frameCapacity);
+                positions = Arrays.copyOf(positions, frameCapacity);
+                offsets = Arrays.copyOf(offsets, frameCapacity);
+                transformStarts = Arrays.copyOf(transformStarts, frameCapacity + 1);
+            }
+
+            frameTimes[frame] = data.readLong();
+            positions[frame] = data.readInt();
+            offsets[frame] = data.readFloat();
+            transformStarts[frame] = transformCount;
+
+            int count = data.readUnsignedShort();
+            if (transformCount + count > transformPages.length) {
+                int capacity = (int) Math.min(Math.max(transformPages.length * 2L, transformCount + count),
+                        Integer.MAX_VALUE);
+                transformPages = Arrays.copyOf(transformPages, capacity);
+                transformPositions = Arrays.copyOf(transformPositions, capacity);
+            }
+
+            for (int i = 0; i < count; i++) {
+                int page = data.readUnsignedShort();
+                if (page >= pageCount) {
+                    throw new IOException("Corrupted scroll trace");
+                }
+
+                transformPages[transformCount] = page;
+                transformPositions[transformCount] = data.readFloat();
+                transformCount++;
+            }
+        }
+        transformStarts[frameCount] = transformCount;
+
+        return new ScrollTrace(pageCount, frameTimes, positions, offsets, transformStarts, transformPages,
+                transformPositions);
+    }
+
+    /**
+     * Write the trace in its binary format.
+     *
+     * @param out Stream to write to, not closed by this method.
+     *
+     * @throws IOException when the stream cannot be written.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(pageCount);
+        data.writeInt(frameTimes.length);
+
+        for (int frame = 0; frame < frameTimes.length; frame++) {
+            data.writeLong(frameTimes[frame]);
+            data.writeInt(positions[frame]);
+            data.writeFloat(offsets[frame]);
+            data.writeShort(getTransformCount(frame));
+
+            for (int i = transformStarts[frame]; i < transformStarts[frame + 1]; i++) {
+                data.writeShort(transformPages[i]);
+                data.writeFloat(transformPositions[i]);
+            }
+        }
+
+        data.flush();
+    }
+
+    /**
+     * @return Number of distinct pages transformed in the trace.
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public int getFrameCount() {
+        return frameTimes.length;
+    }
+
+    /**
+     * @param frame Index of the frame.
+     * @return Time of the frame, in nanoseconds in the {@link System#nanoTime()} time base of the recording.
+     */
+    public long getFrameTimeNanos(int frame) {
+        return frameTimes[frame];
+    }
+
+    /**
+     * @param frame Index of the frame.
+     * @return Position of the current page.
+     */
+    public int getPosition(int frame) {
+        return positions[frame];
+    }
+
+    /**
+     * @param frame Index of the frame.
+     * @return Offset of the ViewPager scrolling.
+     */
+    public float getOffset(int frame) {
+        return offsets[frame];
+    }
+
+    /**
+     * @param frame Index of the frame.
+     * @return Number of pages transformed in the frame.
+     */
+    public int getTransformCount(int frame) {
+        return transformStarts[frame + 1] - transformStarts[frame];
+    }
+
+    /**
+     * @param frame     Index of the frame.
+     * @param transform Index of the transform within the frame.
+     * @return Key of the transformed page.
+     */
+    public int getTransformPage(int frame, int transform) {
+        return transformPages[transformStarts[frame] + transform];
+    }
+
+    /**
+     * @param frame     Index of the frame.
+     * @param transform Index of the transform within the frame.
+     * @return Position of the page relative to the scrolling position.
+     */
+    public float getTransformPosition(int frame, int transform) {
+        return transformPositions[transformStarts[frame] + transform];
+    }
+}
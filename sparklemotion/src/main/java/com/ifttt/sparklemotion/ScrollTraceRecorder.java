@@ -0,0 +1,153 @@
+package com.ifttt.sparklemotion;
+
+import android.support.annotation.NonNull;
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Recorder of the scrolling of a ViewPager into a {@link ScrollTrace}, hooked into the OnPageChangeListener and
+ * PageTransformer installed by {@link SparkleMotionCompat}. A frame starts with every call to
+ * {@link ViewPager.OnPageChangeListener#onPageScrolled(int, float, int)}, and holds the pages transformed until the
+ * next one. Recording only writes into preallocated arrays, which grow as needed.
+ * <p/>
+ * The trace can then be replayed headlessly by {@link ScrollTraceReplayer}, for example to benchmark or
+ * regression-test a real fling captured on a device.
+ */
+public final class ScrollTraceRecorder {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Largest number of pages and transforms per frame of the trace format.
+     */
+    private static final int MAX_COUNT = 0xffff;
+
+    private final PresenterBinding binding;
+
+    /**
+     * Pages transformed so far, the index of a page is its key in the trace.
+     */
+    private View[] pages = new View[4];
+    private int pageCount;
+
+    private long[] frameTimes = new long[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private float[] offsets = new float[INITIAL_CAPACITY];
+    private int[] transformStarts = new int[INITIAL_CAPACITY + 1];
+    private int frameCount;
+
+    private int[] transformPages = new int[INITIAL_CAPACITY * 2];
+    private float[] transformPositions = new float[INITIAL_CAPACITY * 2];
+    private int transformCount;
+
+    private ScrollTraceRecorder(PresenterBinding binding) {
+        this.binding = binding;
+    }
+
+    /**
+     * Start recording the scrolling of a ViewPager, replacing any recorder already started for it.
+     *
+     * @param viewPager ViewPager animated by Sparkle Motion.
+     * @return Recorder of the ViewPager.
+     *
+     * @throws IllegalStateException when no Sparkle Motion presenter is installed in the ViewPager.
+     */
+    public static ScrollTraceRecorder start(@NonNull ViewPager viewPager) {
+        PresenterBinding binding = SparkleMotionCompat.getBinding(viewPager);
+        if (binding == null) {
+            throw new IllegalStateException("No animation presenter installed in " + viewPager);
+        }
+
+        ScrollTraceRecorder recorder = new ScrollTraceRecorder(binding);
+        binding.setScrollTraceRecorder(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stop recording, and return the trace recorded so far.
+     *
+     * @return Recorded trace.
+     */
+    public ScrollTrace stop() {
+        binding.removeScrollTraceRecorder(this);
+        Arrays.fill(pages, 0, pageCount, null);
+
+        transformStarts[frameCount] = transformCount;
+        return new ScrollTrace(pageCount, Arrays.copyOf(frameTimes, frameCount), Arrays.copyOf(positions, frameCount),
+                Arrays.copyOf(offsets, frameCount), Arrays.copyOf(transformStarts, frameCount + 1),
+                Arrays.copyOf(transformPages, transformCount), Arrays.copyOf(transformPositions, transformCount));
+    }
+
+    /**
+     * Start a new frame.
+     *
+     * @param position Position of the current page.
+     * @param offset   Offset of the ViewPager scrolling.
+     */
+    void onPageScrolled(int position, float offset) {
+        if (frameCount == frameTimes.length) {
+            int capacity = frameCount * 2;
+            frameTimes = Arrays.copyOf(frameTimes, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            transformStarts = Arrays.copyOf(transformStarts, capacity + 1);
+        }
+
+        frameTimes[frameCount] = System.nanoTime();
+        positions[frameCount] = position;
+        offsets[frameCount] = offset;
+        transformStarts[frameCount] = transformCount;
+        frameCount++;
+    }
+
+    /**
+     * Record the transform of a page in the current frame. Transforms before the first frame are dropped.
+     *
+     * @param page     Page View of the ViewPager.
+     * @param position Position of the page relative to the scrolling position.
+     */
+    void onTransformPage(View page, float position) {
+        if (frameCount == 0 || transformCount - transformStarts[frameCount - 1] == MAX_COUNT) {
+            return;
+        }
+
+        int key = keyOf(page);
+        if (key == MAX_COUNT) {
+            return;
+        }
+
+        if (transformCount == transformPages.length) {
+            int capacity = transformCount * 2;
+            transformPages = Arrays.copyOf(transformPages, capacity);
+            transformPositions = Arrays.copyOf(transformPositions, capacity);
+        }
+
+        transformPages[transformCount] = key;
+        transformPositions[transformCount] = position;
+        transformCount++;
+    }
+
+    /**
+     * @return Key of the page, or {@link #MAX_COUNT} if the trace cannot hold more pages.
+     */
+    private int keyOf(View page) {
+        for (int i = 0; i < pageCount; i++) {
+            if (pages[i] == page) {
+                return i;
+            }
+        }
+
+        if (pageCount == MAX_COUNT) {
+            return MAX_COUNT;
+        }
+
+        if (pageCount == pages.length) {
+            pages = Arrays.copyOf(pages, pageCount * 2);
+        }
+
+        pages[pageCount] = page;
+        return pageCount++;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ifttt.sparklemotion;
+
+import android.support.annotation.NonNull;
+import android.support.v4.view.ViewPager;
+import android.view.View;
+
+/**
+ * Replays a {@link ScrollTrace} through the Sparkle Motion presenter installed in a ViewPager, without scrolling the
+ * ViewPager itself, so that a recorded fling can drive the animations headlessly in benchmarks and tests.
+ * <p/>
+ * Every frame dispatches the recorded scrolling position to the presenter, then transforms the recorded pages,
+ * exactly as the ViewPager did while recording. The recorded frame times are given to the presenter, so that
+ * replaying the same trace is deterministic.
+ */
+public final class ScrollTraceReplayer {
+
+    private final ScrollTrace trace;
+
+    public ScrollTraceReplayer(@NonNull ScrollTrace trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * Replay all frames of the trace.
+     *
+     * @param viewPager ViewPager with a Sparkle Motion presenter installed.
+     * @param pages     Page Views to transform, indexed by their key in the trace.
+     *
+     * @throws IllegalStateException    when no Sparkle Motion presenter is installed in the ViewPager.
+     * @throws IllegalArgumentException when there are fewer pages than in the trace.
+     */
+    public void replay(@NonNull ViewPager viewPager, @NonNull View[] pages) {
+        PresenterBinding binding = checkBinding(viewPager, pages);
+
+        int frameCount = trace.getFrameCount();
+        for (int frame = 0; frame < frameCount; frame++) {
+            replayFrame(binding, pages, frame);
+        }
+    }
+
+    /**
+     * Replay a single frame of the trace.
+     *
+     * @param viewPager ViewPager with a Sparkle Motion presenter installed.
+     * @param pages     Page Views to transform, indexed by their key in the trace.
+     * @param frame     Index of the frame.
+     *
+     * @throws IllegalStateException    when no Sparkle Motion presenter is installed in the ViewPager.
+     * @throws IllegalArgumentException when there are fewer pages than in the trace.
+     */
+    public void replayFrame(@NonNull ViewPager viewPager, @NonNull View[] pages, int frame) {
+        replayFrame(checkBinding(viewPager, pages), pages, frame);
+    }
+
+    private PresenterBinding checkBinding(ViewPager viewPager, View[] pages) {
+        PresenterBinding binding = SparkleMotionCompat.getBinding(viewPager);
+        if (binding == null) {
+            throw new IllegalStateException("No animation presenter installed in " + viewPager);
+        }
+
+        if (pages.length < trace.getPageCount()) {
+            throw new IllegalArgumentException("Expected " + trace.getPageCount() + " pages, got " + pages.length);
+        }
+
+        return binding;
+    }
+
+    private void replayFrame(PresenterBinding binding, View[] pages, int frame) {
+        SparkleMotion presenter = binding.presenter;
+        presenter.setFrameTime(trace.getFrameTimeNanos(frame));
+
+        binding.onPageScrolled(trace.getPosition(frame), trace.getOffset(frame), 0);
+
+        int transformCount = trace.getTransformCount(frame);
+        for (int i = 0; i < transformCount; i++) {
+            binding.transformPage(pages[trace.getTransformPage(frame, i)], trace.getTransformPosition(frame, i));
+        }
+
+        presenter.setFrameTime(SparkleMotion.NO_FRAME_TIME);
+    }
+}
@@ -1,13 +1,15 @@
 package com.ifttt.sparklemotion;
 
+import android.database.DataSetObserver;
 import android.support.annotation.NonNull;
-import android.support.v4.util.SimpleArrayMap;
+import android.support.v4.view.PagerAdapter;
 import android.support.v4.view.ViewPager;
 import android.view.View;
 
+import com.ifttt.sparklemotion.core.PageRange;
+
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 
 /**
  * Animation driver, used to store all {@link Animation} assigned to it and run animations given the current
@@ -17,21 +19,128 @@ import java.util.List;
  * scrolled.
  */
 public class SparkleMotion {
+
+    /**
+     * Adapter position used when the position of a page is not known.
+     */
+    static final int NO_POSITION = -1;
+
+    /**
+     * Frame time used when the animations are not run from a {@link FrameClock}.
+     */
+    static final long NO_FRAME_TIME = -1;
+
+    private static final String TRACE_PRESENT_ANIMATIONS = "SparkleMotion:presentAnimations";
+    private static final String TRACE_PRESENT_DECOR_ANIMATIONS = "SparkleMotion:presentDecorAnimations";
+
+    /**
+     * An AnimationMap that saves all animations with the target View's ID as key.
+     */
+    private AnimationMap animations;
+
+    /**
+     * Targets of all Decor animations, along with their animations, in the order they were added.
+     */
+    private final ArrayList<DecorTarget> decorTargets;
+
+    /**
+     * Whether Decors are held weakly and released when detached from the window.
+     */
+    private boolean weakDecors;
+
+    /**
+     * Plan of all animations executed on every frame, or null if it needs to be rebuilt.
+     */
+    private FramePlan plan;
+
+    /**
+     * Whether the animations have been frozen by {@link #commit()}, after which no animation can be added.
+     */
+    private boolean committed;
+
+    /**
+     * Buffer of the View properties written by the animations, applied once at the end of every frame.
+     */
+    private final FrameComposer frameComposer = new FrameComposer();
+
+    /**
+     * Scheduler coalescing the scrolling callbacks into one evaluation per frame, or null to run the animations
+     * directly from the callbacks.
+     */
+    private FrameScheduler frameScheduler;
+
+    /**
+     * Scheduler degrading animations when frames run over budget, or null if the animations always run at full
+     * quality.
+     */
+    private FrameBudget frameBudget;
+
+    /**
+     * Instrumentation of the presenter, or null if it is disabled.
+     */
+    private PresenterStats stats;
+
+    /**
+     * Receiver of the trace sections of the presenter, or null if tracing is disabled.
+     */
+    private Tracer tracer;
+
     /**
-     * A SimpleArrayMap that saves all animations newBuilder the target View's ID as key.
+     * Views switched to a hardware layer during scrolling.
      */
-    private SimpleArrayMap<Integer, ArrayList<Animation>> animations;
+    private final LayerManager layerManager = new LayerManager();
 
     /**
-     * A SimpleArrayMap that saves all animations newBuilder the target
-     * {@link View} as key.
+     * Generation of the animated Views saved in {@link ViewCache}s, changed whenever the cached Views might be stale.
      */
-    private SimpleArrayMap<View, ArrayList<Animation>> decorAnimations;
+    private int viewCacheGeneration;
 
     /**
-     * An ArrayList that saves the ids of the Views being animated newBuilder Sparkle Motion.
+     * Generation of the page positions saved in {@link ViewCache}s, changed when pages might have moved.
      */
-    private ArrayList<Integer> animatedViews;
+    private int pagePositionGeneration;
+
+    /**
+     * Latest scrolling position of the ViewPager, the sum of the position and offset from
+     * {@link ViewPager.OnPageChangeListener#onPageScrolled(int, float, int)}, or NaN if the ViewPager hasn't
+     * scrolled yet.
+     */
+    private float scrollPosition = Float.NaN;
+
+    /**
+     * Channel receiving the progress of the animations with a progress event id, or null.
+     */
+    private ProgressEventChannel progressEventChannel;
+
+    /**
+     * Time of the frame being run by {@link FrameScheduler}, or {@link #NO_FRAME_TIME} when the animations are run
+     * directly from the scrolling callbacks.
+     */
+    private long frameTimeNanos = NO_FRAME_TIME;
+
+    /**
+     * Whether all per-frame work is suspended, see {@link #pause()}.
+     */
+    private boolean paused;
+
+    /**
+     * Adapter of the ViewPager being observed, so that the cached Views can be invalidated when pages change.
+     */
+    private PagerAdapter observedAdapter;
+
+    private final DataSetObserver dataSetObserver = new DataSetObserver() {
+        @Override
+        public void onChanged() {
+            invalidateViewCache();
+            invalidatePagePositions();
+        }
+
+        @Override
+        public void onInvalidated() {
+            invalidateViewCache();
+            invalidatePagePositions();
+        }
+    };
 
     /**
      * Start constructing a {@link SparkleMotion} builder newBuilder a {@link ViewPager} instance. Animations
@@ -58,9 +167,101 @@ public class SparkleMotion {
     }
 
     SparkleMotion() {
-        animations = new SimpleArrayMap<>(3);
-        decorAnimations = new SimpleArrayMap<>(3);
-        animatedViews = new ArrayList<>(3);
+        animations = new AnimationMap();
+        decorTargets = new ArrayList<>(3);
+    }
+
+    /**
+     * Coalesce the scrolling callbacks received within a frame into one evaluation of the animations on the next
+     * frame of the given clock.
+     *
+     * @param frameClock FrameClock providing the frames, or null to run the animations directly from the
+     *                   scrolling callbacks.
+     */
+    void setFrameClock(FrameClock frameClock) {
+        frameScheduler = frameClock == null ? null : new FrameScheduler(this, frameClock);
+    }
+
+    /**
+     * Degrade the animations marked as degradable while frames run over the given budget, until
+     * {@link #restoreQuality()} is called.
+     *
+     * @param budgetNanos Time budget of the animations of a frame in nanoseconds, or 0 to always run the animations
+     *                    at full quality.
+     */
+    void setFrameBudget(long budgetNanos) {
+        if (frameBudget != null) {
+            frameBudget.restore(getPlan());
+        }
+
+        frameBudget = budgetNanos == 0 ? null : new FrameBudget(budgetNanos);
+    }
+
+    /**
+     * Record the work done by the presenter into the given stats.
+     *
+     * @param stats PresenterStats recording the work, or null to disable the instrumentation.
+     */
+    void setStats(PresenterStats stats) {
+        this.stats = stats;
+        frameComposer.setStats(stats);
+    }
+
+    /**
+     * Wrap the presentation of the animations and every animation in trace sections.
+     *
+     * @param tracer Tracer receiving the sections, or null to disable tracing.
+     */
+    void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Start a new frame of the {@link FrameBudget} and the {@link PresenterStats}, if any. Called once per frame,
+     * before the animations of the frame run.
+     */
+    void beginFrame() {
+        if (stats != null) {
+            stats.framesPresented++;
+        }
+
+        if (frameBudget != null) {
+            frameBudget.beginFrame(getPlan());
+        }
+    }
+
+    /**
+     * Restore the animations degraded by the frame budget to full quality.
+     *
+     * @return True if any animation was degraded, in which case the current frame should be applied again.
+     */
+    boolean restoreQuality() {
+        return frameBudget != null && frameBudget.restore(getPlan());
+    }
+
+    /**
+     * Publish the progress of the animations that have a progress event id to the given channel.
+     *
+     * @param channel ProgressEventChannel receiving the records, or null to stop publishing.
+     */
+    void setProgressEventChannel(ProgressEventChannel channel) {
+        progressEventChannel = channel;
+    }
+
+    /**
+     * Set the time of the frame run by {@link FrameScheduler}.
+     *
+     * @param frameTimeNanos Time of the frame, or {@link #NO_FRAME_TIME} once the frame is done.
+     */
+    void setFrameTime(long frameTimeNanos) {
+        this.frameTimeNanos = frameTimeNanos;
+    }
+
+    /**
+     * @return Time of the current frame, in the {@link System#nanoTime()} time base.
+     */
+    private long currentFrameTime() {
+        return frameTimeNanos != NO_FRAME_TIME ? frameTimeNanos : System.nanoTime();
     }
 
     /**
@@ -70,13 +271,15 @@ public class SparkleMotion {
      * @param animation Animations to be associated to this View.
      */
     void addAnimation(int id, Animation animation) {
-        if (this.animations.get(id) == null) {
-            this.animations.put(id, new ArrayList<Animation>());
-            animatedViews.add(id);
-        }
+        checkNotCommitted();
+
+        animation.setFrameComposer(frameComposer);
+        animation.prepareTraceSection();
+        animations.add(id, animation);
+        plan = null;
 
-        ArrayList<Animation> anims = this.animations.get(id);
-        anims.add(animation);
+        // Indices of the ids and the animations have changed.
+        invalidateViewCache();
     }
 
     /**
@@ -86,51 +289,312 @@ public class SparkleMotion {
      * @param animations Animations to be associated to this Decor.
      */
     void addAnimation(View view, Animation... animations) {
-        if (decorAnimations.get(view) == null) {
-            decorAnimations.put(view, new ArrayList<Animation>(animations.length));
+        checkNotCommitted();
+
+        DecorTarget target = null;
+        for (int i = decorTargets.size() - 1; i >= 0; i--) {
+            View decor = decorTargets.get(i).getView();
+            if (decor == null) {
+                // Drop the Decors released since the last animations were added.
+                decorTargets.remove(i);
+            } else if (decor == view) {
+                target = decorTargets.get(i);
+            }
+        }
+
+        if (target == null) {
+            target = new DecorTarget(view);
+            target.setWeak(weakDecors);
+            decorTargets.add(target);
+        }
+
+        Collections.addAll(target.animations, animations);
+
+        for (Animation animation : animations) {
+            animation.setFrameComposer(frameComposer);
+            animation.prepareTraceSection();
+        }
+
+        plan = null;
+    }
+
+    /**
+     * Hold the Decors weakly, releasing them along with their animations when they are detached from the window,
+     * so that Decors and their Context are not retained by the presenter. Released Decors are skipped and purged
+     * from the frame plan on the next frame.
+     *
+     * @param weakDecors True to hold Decors weakly, false to hold them strongly (default).
+     */
+    void setWeakDecors(boolean weakDecors) {
+        this.weakDecors = weakDecors;
+
+        int decorCount = decorTargets.size();
+        for (int i = 0; i < decorCount; i++) {
+            decorTargets.get(i).setWeak(weakDecors);
         }
+    }
 
-        ArrayList<Animation> anims = decorAnimations.get(view);
-        if (anims != null) {
-            Collections.addAll(anims, animations);
+    /**
+     * Freeze all animations added to this presenter into a {@link FramePlan} whose layout no longer changes, which is
+     * then executed on every frame. Calling this method more than once is a no-op.
+     */
+    void commit() {
+        if (committed) {
+            return;
+        }
+
+        getPlan();
+        committed = true;
+
+        // The plan holds everything needed to run the in-page animations from now on.
+        animations = null;
+    }
+
+    /**
+     * @return True if the animations have been frozen by {@link #commit()}.
+     */
+    boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * @return Plan of the animations, built from the animations added so far if they haven't been committed.
+     */
+    FramePlan getPlan() {
+        if (plan == null) {
+            plan = FramePlan.build(animations, decorTargets);
+        }
+
+        return plan;
+    }
+
+    /**
+     * @throws IllegalStateException when the animations have been committed.
+     */
+    private void checkNotCommitted() {
+        if (committed) {
+            throw new IllegalStateException("Animations cannot be added after commit()");
         }
     }
 
     /**
      * Run the animations based on the View animations saved within the presenter and the offset of
-     * the scrolling.
+     * the scrolling. Animations whose {@link Page} doesn't contain the adapter position of the page are skipped, as
+     * are Views whose animations are all off screen on the same side as in the previous frame of the page.
      *
+     * @param viewPager     ViewPager of the page, used to find the adapter position of the page, can be null if the
+     *                      position is unknown, in which case all animations will run.
      * @param parent        Current page View of the ViewPager.
      * @param offset        Scrolling offset of the ViewPager.
      * @param offsetInPixel Scrolling offset in pixels based on the page View.
      */
-    void presentAnimations(View parent, float offset, float offsetInPixel) {
-        int animMapSize = animations.size();
+    void presentAnimations(ViewPager viewPager, View parent, float offset, float offsetInPixel) {
+        Tracer tracer = this.tracer;
+        if (tracer != null) {
+            tracer.beginSection(TRACE_PRESENT_ANIMATIONS);
+        }
 
-        // Animate all in-page animations.
-        for (int i = 0; i < animMapSize; i++) {
-            int key = animations.keyAt(i);
-            ArrayList<Animation> animations = this.animations.get(key);
+        FramePlan plan = getPlan();
+        int[] ids = plan.ids;
+        int[] idStarts = plan.idStarts;
+        Animation[] anims = plan.animations;
 
-            int animListSize = animations.size();
-            for (int j = 0; j < animListSize; j++) {
-                Animation animation = animations.get(j);
+        ViewCache viewCache = ViewCache.obtain(parent, ids.length, anims.length, viewCacheGeneration);
 
-                final View viewToAnimate;
+        int pagePosition = viewCache.getPosition(pagePositionGeneration);
+        if (pagePosition == NO_POSITION && viewPager != null) {
+            pagePosition = findPagePosition(viewPager, parent, offset);
+            viewCache.setPosition(pagePosition, pagePositionGeneration);
+        }
 
-                if (key == parent.getId()) {
-                    viewToAnimate = parent;
-                } else {
-                    viewToAnimate = parent.findViewById(key);
+        float pageScrollPosition = scrollPosition;
+        if (Float.isNaN(pageScrollPosition) && pagePosition != NO_POSITION) {
+            pageScrollPosition = pagePosition - offset;
+        }
+
+        ProgressEventChannel channel = progressEventChannel;
+        long frameTime = channel != null ? currentFrameTime() : NO_FRAME_TIME;
+        FrameBudget budget = frameBudget;
+        boolean skippedFrame = budget != null && budget.isSkippedFrame();
+        PresenterStats stats = this.stats;
+        if (stats != null) {
+            stats.prepare(plan);
+            stats.pagesPresented++;
+        }
+        boolean measure = budget != null || stats != null;
+
+        // Animate all in-page animations.
+        frameComposer.begin();
+        for (int i = 0; i < ids.length; i++) {
+            int start = idStarts[i];
+            int end = idStarts[i + 1];
+
+            // Views whose animations are all degraded are animated on every other frame. The check comes before
+            // the sides are updated, so that the off-screen state is applied on the next frame.
+            if (skippedFrame && isDegraded(anims, start, end)) {
+                continue;
+            }
+
+            // Skip the View if all of its animations have already applied their off-screen state, unless one of them
+            // has an AnimationListener, which is called on every frame. Otherwise all of them run, as the frame
+            // composer combines the values written by every animation of the View.
+            boolean shouldRun = false;
+            for (int j = start; j < end; j++) {
+                if (viewCache.updateSide(j, anims[j].getSide(offset)) || anims[j].hasAnimationListener()) {
+                    shouldRun = true;
                 }
+            }
+
+            if (!shouldRun) {
+                continue;
+            }
 
-                if (animation == null || viewToAnimate == null) {
+            View viewToAnimate = null;
+            for (int j = start; j < end; j++) {
+                if (pagePosition != NO_POSITION && !plan.shouldAnimate(j, pagePosition)) {
+                    if (stats != null) {
+                        stats.animationsCulled++;
+                    }
                     continue;
                 }
 
-                animation.animate(viewToAnimate, offset, offsetInPixel);
+                if (viewToAnimate == null) {
+                    if (stats != null && !viewCache.isResolved(i)) {
+                        stats.viewLookups++;
+                    }
+
+                    viewToAnimate = viewCache.resolve(parent, i, ids[i]);
+                    if (viewToAnimate == null) {
+                        break;
+                    }
+                }
+
+                Animation animation = anims[j];
+                animation.setScrollPosition(pageScrollPosition);
+                long cost = runAnimation(animation, viewToAnimate, offset, offsetInPixel, tracer, measure);
+                if (budget != null) {
+                    budget.record(animation, cost);
+                }
+                if (stats != null) {
+                    stats.recordAnimation(j, i, cost);
+                }
+
+                if (animation.hasThresholdListener()) {
+                    viewCache.setThresholdState(j,
+                            animation.dispatchThresholds(viewToAnimate, offset, viewCache.getThresholdState(j)));
+                }
+
+                int eventId = animation.getProgressEventId();
+                if (channel != null && eventId != Animation.NO_PROGRESS_EVENT_ID) {
+                    channel.publish(eventId, pagePosition, offset, frameTime);
+                }
             }
         }
+        frameComposer.commit();
+
+        if (tracer != null) {
+            tracer.endSection();
+        }
+    }
+
+    /**
+     * Run an animation, wrapped in its trace section.
+     *
+     * @param measure True to measure the time taken by the animation.
+     * @return Time taken by the animation in nanoseconds, or 0 if it is not measured.
+     */
+    private static long runAnimation(Animation animation, View view, float offset, float offsetInPixel,
+                                     Tracer tracer, boolean measure) {
+        if (tracer != null) {
+            tracer.beginSection(animation.traceSection);
+        }
+
+        long startNanos = measure ? System.nanoTime() : 0;
+        animation.animate(view, offset, offsetInPixel);
+        long cost = measure ? System.nanoTime() - startNanos : 0;
+
+        if (tracer != null) {
+            tracer.endSection();
+        }
+
+        return cost;
+    }
+
+    /**
+     * Handle {@link ViewPager.OnPageChangeListener#onPageScrolled(int, float, int)} by running the Decor animations,
+     * or scheduling them for the next frame if frames are coalesced.
+     *
+     * @param position Position of the current page.
+     * @param offset   Offset of the ViewPager scrolling.
+     */
+    void onPageScrolled(int position, float offset) {
+        setScrollPosition(position, offset);
+
+        if (paused) {
+            return;
+        }
+
+        if (frameScheduler != null) {
+            frameScheduler.scheduleDecorAnimations(position, offset);
+        } else {
+            beginFrame();
+            presentDecorAnimations(position, offset);
+        }
+    }
+
+    /**
+     * Handle {@link ViewPager.PageTransformer#transformPage(View, float)} by running the in-page animations, or
+     * scheduling them for the next frame if frames are coalesced.
+     *
+     * @param viewPager ViewPager of the page.
+     * @param page      Page View of the ViewPager.
+     * @param position  Position of the page relative to the current scrolling position.
+     */
+    void onTransformPage(ViewPager viewPager, View page, float position) {
+        if (paused) {
+            return;
+        }
+
+        float offsetInPixel = page.getWidth() * -position;
+
+        if (frameScheduler != null) {
+            frameScheduler.scheduleAnimations(viewPager, page, position, offsetInPixel);
+        } else {
+            presentAnimations(viewPager, page, position, offsetInPixel);
+        }
+    }
+
+    /**
+     * Save the latest scrolling position of the ViewPager, which is used to find the adapter positions of the
+     * pages. This should be called before the pages are transformed for the same scroll.
+     *
+     * @param position Position of the current page.
+     * @param offset   Offset of the ViewPager scrolling.
+     */
+    void setScrollPosition(int position, float offset) {
+        scrollPosition = position + offset;
+    }
+
+    /**
+     * Find the adapter position of a page from the latest scrolling position and the position of the page relative
+     * to the scrolling position.
+     *
+     * @param viewPager         ViewPager of the page.
+     * @param page              Page View of the ViewPager.
+     * @param transformPosition Position of the page relative to the current scrolling position, as given by
+     *                          {@link ViewPager.PageTransformer#transformPage(View, float)}.
+     * @return Adapter position of the page.
+     */
+    private int findPagePosition(ViewPager viewPager, View page, float transformPosition) {
+        float scroll = Float.isNaN(scrollPosition) ? viewPager.getCurrentItem() : scrollPosition;
+
+        // The transform position is based on the page width, while the scrolling position also accounts for the
+        // page margin.
+        int pageWidth = page.getWidth();
+        float pageOffset = pageWidth > 0
+                ? transformPosition * pageWidth / (pageWidth + viewPager.getPageMargin()) : transformPosition;
+
+        return Math.round(scroll + pageOffset);
     }
 
     /**
@@ -141,33 +605,269 @@ public class SparkleMotion {
      * @param offset   Offset of the ViewPager scrolling.
      */
     void presentDecorAnimations(int position, float offset) {
-        // Animate all decor or other View animations.
-        int animMapSize = decorAnimations.size();
-        for (int i = 0; i < animMapSize; i++) {
-            View view = decorAnimations.keyAt(i);
-            ArrayList<Animation> animations = decorAnimations.get(view);
-
-            int animListSize = animations.size();
-            for (int j = 0; j < animListSize; j++) {
-                Animation animation = animations.get(j);
-                if (animation == null) {
+        Tracer tracer = this.tracer;
+        if (tracer != null) {
+            tracer.beginSection(TRACE_PRESENT_DECOR_ANIMATIONS);
+        }
+
+        FramePlan plan = getPlan();
+        DecorTarget[] decorTargets = plan.decorTargets;
+        Animation[] decorAnimations = plan.decorAnimations;
+        int[] thresholdStates = plan.decorThresholdStates;
+        ProgressEventChannel channel = progressEventChannel;
+        long frameTime = channel != null ? currentFrameTime() : NO_FRAME_TIME;
+        FrameBudget budget = frameBudget;
+        boolean skippedFrame = budget != null && budget.isSkippedFrame();
+        PresenterStats stats = this.stats;
+        if (stats != null) {
+            stats.prepare(plan);
+        }
+        boolean measure = budget != null || stats != null;
+
+        if (plan.decorPosition != position) {
+            if (plan.decorPosition != NO_POSITION) {
+                dispatchDecorExits(plan, plan.decorPosition, position);
+            }
+            plan.decorPosition = position;
+        }
+
+        // Animate the Decor animations that run on every page, merged with those that run on the current page,
+        // in the order they were added.
+        int[] alwaysOn = plan.decorIndex.alwaysOn();
+        int[] active = plan.decorIndex.activeAt(position);
+        if (stats != null) {
+            stats.animationsCulled += decorAnimations.length - alwaysOn.length - active.length;
+        }
+
+        int i = 0;
+        int j = 0;
+        frameComposer.begin();
+        while (i < alwaysOn.length || j < active.length) {
+            final int entry;
+            if (j == active.length || (i < alwaysOn.length && alwaysOn[i] < active[j])) {
+                entry = alwaysOn[i++];
+            } else {
+                entry = active[j++];
+            }
+
+            Animation animation = decorAnimations[entry];
+            if (animation == null) {
+                continue;
+            }
+
+            View decor = decorTargets[entry].getView();
+            if (decor == null) {
+                plan.purgeDecorAnimation(entry);
+                continue;
+            }
+
+            if (skippedFrame && isDegraded(decorTargets[entry].animations)) {
+                continue;
+            }
+
+            animation.setScrollPosition(position + offset);
+            long cost = runAnimation(animation, decor, offset, 0, tracer, measure);
+            if (budget != null) {
+                budget.record(animation, cost);
+            }
+            if (stats != null) {
+                stats.recordDecorAnimation(entry, cost);
+            }
+
+            if (animation.hasThresholdListener()) {
+                thresholdStates[entry] = animation.dispatchThresholds(decor, offset, thresholdStates[entry]);
+            }
+
+            int eventId = animation.getProgressEventId();
+            if (channel != null && eventId != Animation.NO_PROGRESS_EVENT_ID) {
+                channel.publish(eventId, position, offset, frameTime);
+            }
+        }
+        frameComposer.commit();
+
+        if (tracer != null) {
+            tracer.endSection();
+        }
+    }
+
+    /**
+     * @return True if all animations in the given range are degraded.
+     */
+    private static boolean isDegraded(Animation[] anims, int start, int end) {
+        for (int j = start; j < end; j++) {
+            if (!anims[j].degraded) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return True if all animations of a Decor are degraded.
+     */
+    private static boolean isDegraded(ArrayList<Animation> anims) {
+        int count = anims.size();
+        for (int j = 0; j < count; j++) {
+            Animation animation = anims.get(j);
+            if (animation != null && !animation.degraded) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Notify the threshold listeners of the Decor animations that ran on the previous page but not on the current
+     * one.
+     */
+    private static void dispatchDecorExits(FramePlan plan, int previousPosition, int position) {
+        int[] previous = plan.decorIndex.activeAt(previousPosition);
+        int[] current = plan.decorIndex.activeAt(position);
+        int[] thresholdStates = plan.decorThresholdStates;
+
+        // Both arrays are sorted, walk them together to find the entries missing from the current page.
+        int j = 0;
+        for (int entry : previous) {
+            while (j < current.length && current[j] < entry) {
+                j++;
+            }
+
+            if (j < current.length && current[j] == entry) {
+                continue;
+            }
+
+            Animation animation = plan.decorAnimations[entry];
+            View decor = plan.decorTargets[entry].getView();
+            if (animation != null && decor != null && animation.hasThresholdListener()) {
+                thresholdStates[entry] = animation.dispatchExit(decor, thresholdStates[entry]);
+            }
+        }
+    }
+
+    /**
+     * Switch the in-page Views animated by the presenter to a hardware layer, for the Views whose animations all
+     * support it.
+     *
+     * @param viewPager ViewPager whose pages are animated.
+     */
+    void enableLayers(ViewPager viewPager) {
+        if (paused) {
+            return;
+        }
+
+        FramePlan plan = getPlan();
+        int[] ids = plan.ids;
+        boolean[] layerIds = plan.layerIds;
+
+        int childCount = viewPager.getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            View page = viewPager.getChildAt(i);
+            ViewCache viewCache = ViewCache.obtain(page, ids.length, plan.animations.length, viewCacheGeneration);
+
+            for (int j = 0; j < ids.length; j++) {
+                if (!layerIds[j]) {
                     continue;
                 }
 
-                if (!shouldAnimate(animation.getPage(), position)) {
-                    continue;
+                View view = viewCache.resolve(page, j, ids[j]);
+                if (view != null) {
+                    layerManager.enable(view);
                 }
+            }
+        }
+    }
+
+    /**
+     * Switch the Decors animated by the presenter to a hardware layer, for the Decors whose animations all support
+     * it.
+     */
+    void enableDecorLayers() {
+        if (paused) {
+            return;
+        }
 
-                animation.animate(view, offset, 0);
+        DecorTarget[] layerDecors = getPlan().layerDecors;
+        for (DecorTarget target : layerDecors) {
+            View decor = target.getView();
+            if (decor != null) {
+                layerManager.enable(decor);
             }
         }
     }
 
     /**
-     * @return A List of ids that Sparkle Motion animates within the ViewPager.
+     * Switch all Views switched to a hardware layer by {@link #enableLayers(ViewPager)} and
+     * {@link #enableDecorLayers()} back to no layer.
+     */
+    void disableLayers() {
+        layerManager.disableAll();
+    }
+
+    /**
+     * Suspend all per-frame work: scrolling callbacks are ignored, apart from saving the scrolling position,
+     * callbacks scheduled for the next frame are dropped, and hardware layers are disabled.
+     */
+    void pause() {
+        if (paused) {
+            return;
+        }
+
+        paused = true;
+        if (frameScheduler != null) {
+            frameScheduler.cancel();
+        }
+        disableLayers();
+    }
+
+    /**
+     * Resume the per-frame work suspended by {@link #pause()}. The animations run again on the next scrolling
+     * callback.
      */
-    List<Integer> getAnimatedViews() {
-        return animatedViews;
+    void resume() {
+        paused = false;
+    }
+
+    boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Invalidate all Views cached for the ViewPager pages, they will be looked up again on the next frame.
+     */
+    void invalidateViewCache() {
+        viewCacheGeneration++;
+    }
+
+    /**
+     * Invalidate all adapter positions saved for the ViewPager pages, they will be found again on the next frame.
+     */
+    void invalidatePagePositions() {
+        pagePositionGeneration++;
+    }
+
+    /**
+     * Observe the data set of the ViewPager's adapter, so that Views cached for the pages are invalidated when the
+     * adapter changes its pages. Calling this method with the adapter already observed is a no-op.
+     *
+     * @param adapter Current adapter of the ViewPager, can be null.
+     */
+    void observeAdapter(PagerAdapter adapter) {
+        if (adapter == observedAdapter) {
+            return;
+        }
+
+        if (observedAdapter != null) {
+            observedAdapter.unregisterDataSetObserver(dataSetObserver);
+        }
+
+        observedAdapter = adapter;
+        if (adapter != null) {
+            adapter.registerDataSetObserver(dataSetObserver);
+        }
+
+        invalidateViewCache();
     }
 
     /**
@@ -178,7 +878,6 @@ public class SparkleMotion {
      * @return True if the animation should run, false otherwise.
      */
     static boolean shouldAnimate(Page page, int currentPage) {
-        return (page.start == page.end && page.start == Page.ALL_PAGES)
-                || page.start <= currentPage && page.end >= currentPage;
+        return PageRange.contains(page.start, page.end, currentPage);
     }
 }
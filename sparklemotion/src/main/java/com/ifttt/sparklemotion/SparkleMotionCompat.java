@@ -29,6 +29,9 @@ public final class SparkleMotionCompat {
      * Given a ViewPager and a {@link SparkleMotion}, sets a PageTransformer and a
      * OnPageChangeListener that provides functionality of the presenter.
      * The presenter will be referenced as a tag of the View.
+     * <p/>
+     * A ViewPager only has one presenter installed at a time: installing the presenter already
+     * installed is a no-op, and installing another presenter uninstalls the previous one first.
      *
      * @param viewPager ViewPager instance.
      * @param reverseDrawingOrder Whether the ViewPager should reverse it child Views' drawing
@@ -36,61 +39,21 @@ public final class SparkleMotionCompat {
      * @param presenter SparkleMotion instance to be installed.
      * @see {@link ViewPager#setPageTransformer(boolean, ViewPager.PageTransformer)}
      */
-    static void installAnimationPresenter(@NonNull final ViewPager viewPager, boolean reverseDrawingOrder,
-            final SparkleMotion presenter) {
-        Object tagObject = viewPager.getTag(R.id.presenter_id);
-        if (tagObject != null && tagObject == presenter) {
+    static void installAnimationPresenter(@NonNull ViewPager viewPager, boolean reverseDrawingOrder,
+            SparkleMotion presenter) {
+        PresenterBinding installed = getBinding(viewPager);
+        if (installed != null && installed.presenter == presenter) {
             // If the presenter is the same as the one already in the ViewPager, return.
             return;
         }
 
-        // Set PageTransformer
-        ViewPager.PageTransformer transformer = new ViewPager.PageTransformer() {
-            @Override
-            public void transformPage(View page, float position) {
-                int pageWidth = page.getWidth();
-                float offset = pageWidth * -position;
-
-                presenter.presentAnimations(page, position, offset);
-            }
-        };
-
-        // Set OnPageChangeListener
-        viewPager.addOnPageChangeListener(new ViewPager.SimpleOnPageChangeListener() {
-            @Override
-            public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
-                // Animate any Decor animations.
-                presenter.presentDecorAnimations(position, positionOffset);
-            }
-
-            @Override
-            public void onPageScrollStateChanged(int state) {
-                final int layerType =
-                        state == ViewPager.SCROLL_STATE_IDLE ? View.LAYER_TYPE_NONE : View.LAYER_TYPE_HARDWARE;
-
-                final int animatedViewsCount = presenter.getAnimatedViews().size();
-                for (int id : presenter.getAnimatedViews()) {
-                    View child = viewPager.findViewById(id);
-                    if (child != null) {
-                        child.setLayerType(layerType, null);
-                    }
-                }
-
-                if (animatedViewsCount > 0) {
-                    // Set layer type back to none when there is ViewPager animations from Sparkle Motion.
-                    final int viewPagerChildCount = viewPager.getChildCount();
-                    for (int i = 0; i < viewPagerChildCount; i++) {
-                        View child = viewPager.getChildAt(i);
-                        child.setLayerType(View.LAYER_TYPE_NONE, null);
-                    }
-                }
-
-            }
-        });
-
-        viewPager.setPageTransformer(reverseDrawingOrder, transformer);
-
-        viewPager.setTag(R.id.presenter_id, presenter);
+        PresenterBinding binding = new PresenterBinding(viewPager, presenter, reverseDrawingOrder);
+        if (installed != null) {
+            installed.unbind();
+            binding.setPageTransformer(reverseDrawingOrder, installed.getPageTransformer());
+        }
+
+        binding.bind();
     }
 
     /**
@@ -121,6 +84,67 @@ public final class SparkleMotionCompat {
         installAnimationPresenter(viewPager, false);
     }
 
+    /**
+     * Gets the {@link SparkleMotion} installed into the given ViewPager, installing a new one
+     * if there is none.
+     *
+     * @param viewPager ViewPager instance.
+     * @return SparkleMotion instance installed into the ViewPager.
+     */
+    static SparkleMotion obtainAnimationPresenter(@NonNull ViewPager viewPager) {
+        SparkleMotion presenter = getAnimationPresenter(viewPager);
+        if (presenter == null) {
+            presenter = new SparkleMotion();
+            installAnimationPresenter(viewPager, false, presenter);
+        }
+
+        return presenter;
+    }
+
+    /**
+     * Removes the {@link SparkleMotion} installed into the given ViewPager, along with its
+     * PageTransformer and OnPageChangeListener. A PageTransformer set through
+     * {@link #setPageTransformer(ViewPager, boolean, ViewPager.PageTransformer)} is kept.
+     * Calling this method on a ViewPager without a presenter is a no-op.
+     *
+     * @param viewPager ViewPager instance.
+     */
+    public static void uninstallAnimationPresenter(@NonNull ViewPager viewPager) {
+        PresenterBinding binding = getBinding(viewPager);
+        if (binding != null) {
+            binding.unbind();
+        }
+    }
+
+    /**
+     * Suspends all animation work of the given ViewPager while its host is stopped. Call this
+     * method from {@code onStop()} of the Activity or Fragment hosting the ViewPager. The work
+     * is also suspended while the ViewPager is detached from the window.
+     *
+     * @param viewPager ViewPager instance.
+     * @see {@link #resumeAnimations(ViewPager)}
+     */
+    public static void pauseAnimations(@NonNull ViewPager viewPager) {
+        PresenterBinding binding = getBinding(viewPager);
+        if (binding != null) {
+            binding.setStarted(false);
+        }
+    }
+
+    /**
+     * Resumes the animation work suspended by {@link #pauseAnimations(ViewPager)}, applying the
+     * current frame of the ViewPager again. Call this method from {@code onStart()} of the
+     * Activity or Fragment hosting the ViewPager.
+     *
+     * @param viewPager ViewPager instance.
+     */
+    public static void resumeAnimations(@NonNull ViewPager viewPager) {
+        PresenterBinding binding = getBinding(viewPager);
+        if (binding != null) {
+            binding.setStarted(true);
+        }
+    }
+
     /**
      * Sets a {@link android.support.v4.view.ViewPager.PageTransformer} to the given ViewPager.
      * Using this method to set PageTransformer is required for the ViewPagers that already have
@@ -133,29 +157,15 @@ public final class SparkleMotionCompat {
      * @see {@link ViewPager#setPageTransformer(boolean, ViewPager.PageTransformer)}
      * @see {@link android.support.v4.view.ViewPager.PageTransformer}
      */
-    public static void setPageTransformer(@NonNull ViewPager viewPager, boolean reversDrawingOrder,
+    public static void setPageTransformer(@NonNull final ViewPager viewPager, boolean reversDrawingOrder,
             @Nullable final ViewPager.PageTransformer transformer) {
-        Object tagObject = viewPager.getTag(R.id.presenter_id);
-        if (tagObject == null || !(tagObject instanceof SparkleMotion)) {
+        PresenterBinding binding = getBinding(viewPager);
+        if (binding == null) {
             viewPager.setPageTransformer(reversDrawingOrder, transformer);
             return;
         }
 
-        final SparkleMotion presenter = (SparkleMotion) tagObject;
-        ViewPager.PageTransformer transformerWrapper = new ViewPager.PageTransformer() {
-            @Override
-            public void transformPage(View page, float position) {
-                int pageWidth = page.getWidth();
-                float offset = pageWidth * -position;
-
-                presenter.presentAnimations(page, position, offset);
-                if (transformer != null) {
-                    transformer.transformPage(page, position);
-                }
-            }
-        };
-
-        viewPager.setPageTransformer(reversDrawingOrder, transformerWrapper);
+        binding.setPageTransformer(reversDrawingOrder, transformer);
     }
 
     /**
@@ -169,12 +179,23 @@ public final class SparkleMotionCompat {
             return null;
         }
 
+        PresenterBinding binding = getBinding(viewPager);
+        return binding == null ? null : binding.presenter;
+    }
+
+    /**
+     * Gets the {@link PresenterBinding} of the presenter installed into the given ViewPager.
+     *
+     * @param viewPager ViewPager instance.
+     * @return PresenterBinding instance if set, or null.
+     */
+    static PresenterBinding getBinding(ViewPager viewPager) {
         Object tagObject = viewPager.getTag(R.id.presenter_id);
-        if (tagObject == null || !(tagObject instanceof SparkleMotion)) {
+        if (!(tagObject instanceof PresenterBinding)) {
             return null;
         }
 
-        return (SparkleMotion) tagObject;
+        return (PresenterBinding) tagObject;
     }
 
     /**
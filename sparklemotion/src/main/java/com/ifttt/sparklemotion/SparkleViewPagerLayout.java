@@ -87,11 +87,15 @@ public class SparkleViewPagerLayout extends FrameLayout implements ViewPager.OnP
      * @param enable Whether or not hardware layer should be used for Decor content views.
      */
     private void enableLayer(boolean enable) {
-        final int layerType = enable ? LAYER_TYPE_HARDWARE : LAYER_TYPE_NONE;
-//        for (Decor decor : decors) {
-//            if (decor.withLayer) {
-//                decor.contentView.setLayerType(layerType, null);
-//            }
-//        }
+        SparkleMotion presenter = SparkleMotionCompat.getAnimationPresenter(viewPager);
+        if (presenter == null) {
+            return;
+        }
+
+        if (enable) {
+            presenter.enableDecorLayers();
+        } else {
+            presenter.disableLayers();
+        }
     }
 }
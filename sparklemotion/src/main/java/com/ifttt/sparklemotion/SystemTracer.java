@@ -0,0 +1,29 @@
+package com.ifttt.sparklemotion;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Default {@link Tracer}, writing the sections to the system trace through {@link Trace}. On API levels without
+ * {@link Trace}, sections are dropped.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+final class SystemTracer implements Tracer {
+
+    private static final boolean ENABLED = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+
+    @Override
+    public void beginSection(String sectionName) {
+        if (ENABLED) {
+            Trace.beginSection(sectionName);
+        }
+    }
+
+    @Override
+    public void endSection() {
+        if (ENABLED) {
+            Trace.endSection();
+        }
+    }
+}
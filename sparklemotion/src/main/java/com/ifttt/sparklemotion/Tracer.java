@@ -0,0 +1,23 @@
+package com.ifttt.sparklemotion;
+
+/**
+ * Receiver of the trace sections of {@link SparkleMotion}, wrapping the presentation of the in-page and Decor
+ * animations of a frame and every animation they run. Section names are computed when the animations are added,
+ * so that tracing doesn't build any string while scrolling.
+ *
+ * @see AnimationBuilder#trace(Tracer)
+ */
+public interface Tracer {
+
+    /**
+     * Begin a section, nested in the section that is currently open if any.
+     *
+     * @param sectionName Name of the section, at most 127 characters long.
+     */
+    void beginSection(String sectionName);
+
+    /**
+     * End the section that was begun last.
+     */
+    void endSection();
+}
@@ -0,0 +1,205 @@
+package com.ifttt.sparklemotion;
+
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Cache of the Views animated by {@link SparkleMotion} within a single ViewPager page. The cache is saved as a tag
+ * of the page View, so that {@link View#findViewById(int)} is called at most once per animated id for every page,
+ * instead of once per animation for every frame.
+ * <p/>
+ * A page View that is replaced by the adapter starts with an empty cache, as the tag belongs to the old page
+ * View. For pages that are re-inflated in place, the cache is validated against a generation number from the
+ * presenter, which changes whenever the animations or the adapter's data set change.
+ */
+final class ViewCache {
+
+    /**
+     * Resolved Views, indexed by the index of the animated id within the presenter.
+     */
+    private View[] views;
+
+    /**
+     * Whether the View at the same index has been looked up, so that missing Views are not looked up again.
+     */
+    private boolean[] resolved;
+
+    /**
+     * Side of the screen the page was on when each animation was last run, indexed by the flat index of the
+     * animation within the presenter.
+     */
+    private byte[] sides;
+
+    /**
+     * States of the threshold listeners of the animations, indexed by the flat index of the animation within the
+     * presenter, or null until a listener runs on the page.
+     */
+    private int[] thresholdStates;
+
+    /**
+     * Generation of the presenter when this cache was built.
+     */
+    private int generation;
+
+    /**
+     * Adapter position of the page, or {@link SparkleMotion#NO_POSITION} if it is not known yet.
+     */
+    private int position = SparkleMotion.NO_POSITION;
+
+    /**
+     * Position generation of the presenter when {@link #position} was found.
+     */
+    private int positionGeneration;
+
+    private ViewCache(int size, int animationCount, int generation) {
+        views = new View[size];
+        resolved = new boolean[size];
+        sides = new byte[animationCount];
+        this.generation = generation;
+    }
+
+    /**
+     * Get the cache attached to the page View, creating or resetting it if it is missing or out of date.
+     *
+     * @param page       Page View of the ViewPager.
+     * @param size           Number of animated ids in the presenter.
+     * @param animationCount Number of in-page animations in the presenter.
+     * @param generation     Current generation of the presenter.
+     * @return ViewCache of the page.
+     */
+    static ViewCache obtain(View page, int size, int animationCount, int generation) {
+        Object tag = page.getTag(R.id.view_cache_id);
+        if (!(tag instanceof ViewCache)) {
+            ViewCache cache = new ViewCache(size, animationCount, generation);
+            page.setTag(R.id.view_cache_id, cache);
+            return cache;
+        }
+
+        ViewCache cache = (ViewCache) tag;
+        if (cache.generation != generation || cache.views.length != size || cache.sides.length != animationCount) {
+            cache.reset(size, animationCount, generation);
+        }
+
+        return cache;
+    }
+
+    /**
+     * Return the View with the given id within the page, looking it up only if it has not been resolved yet.
+     *
+     * @param page  Page View of the ViewPager.
+     * @param index Index of the animated id within the presenter.
+     * @param id    Id of the View.
+     * @return The View with the given id, or null if the page doesn't have such View.
+     */
+    View resolve(View page, int index, int id) {
+        if (!resolved[index]) {
+            views[index] = id == page.getId() ? page : page.findViewById(id);
+            resolved[index] = true;
+        }
+
+        return views[index];
+    }
+
+    /**
+     * @param index Index of the animated id within the presenter.
+     * @return True if the View with the id has already been looked up in the page.
+     */
+    boolean isResolved(int index) {
+        return resolved[index];
+    }
+
+    /**
+     * Save the side of the screen of an animation for the current frame, and return whether the animation has to
+     * be run. Animations on screen are always run, while animations off screen only need to be run once when they
+     * cross to either side, as their off-screen state doesn't change until they come back on screen.
+     *
+     * @param animationIndex Flat index of the animation within the presenter.
+     * @param side           Side of the screen, see {@link Animation#getSide(float)}.
+     * @return True if the animation has to be run, false if its off-screen state has already been applied.
+     */
+    boolean updateSide(int animationIndex, int side) {
+        if (side == Animation.SIDE_ON_SCREEN) {
+            sides[animationIndex] = (byte) side;
+            return true;
+        }
+
+        if (sides[animationIndex] == side) {
+            return false;
+        }
+
+        sides[animationIndex] = (byte) side;
+        return true;
+    }
+
+    /**
+     * Return the state of the threshold listener of an animation on this page.
+     *
+     * @param animationIndex Flat index of the animation within the presenter.
+     * @return State saved by {@link #setThresholdState(int, int)}, or {@link Animation#NO_THRESHOLD_STATE}.
+     */
+    int getThresholdState(int animationIndex) {
+        return thresholdStates == null ? Animation.NO_THRESHOLD_STATE : thresholdStates[animationIndex];
+    }
+
+    /**
+     * Save the state of the threshold listener of an animation on this page.
+     *
+     * @param animationIndex Flat index of the animation within the presenter.
+     * @param state          State returned by {@link Animation#dispatchThresholds(View, float, int)}.
+     */
+    void setThresholdState(int animationIndex, int state) {
+        if (thresholdStates == null) {
+            thresholdStates = new int[sides.length];
+            Arrays.fill(thresholdStates, Animation.NO_THRESHOLD_STATE);
+        }
+
+        thresholdStates[animationIndex] = state;
+    }
+
+    /**
+     * Return the cached adapter position of the page.
+     *
+     * @param positionGeneration Current position generation of the presenter.
+     * @return Adapter position, or {@link SparkleMotion#NO_POSITION} if the position has to be found again.
+     */
+    int getPosition(int positionGeneration) {
+        return this.positionGeneration == positionGeneration ? position : SparkleMotion.NO_POSITION;
+    }
+
+    /**
+     * Save the adapter position of the page.
+     *
+     * @param position           Adapter position of the page.
+     * @param positionGeneration Current position generation of the presenter.
+     */
+    void setPosition(int position, int positionGeneration) {
+        this.position = position;
+        this.positionGeneration = positionGeneration;
+    }
+
+    private void reset(int size, int animationCount, int generation) {
+        if (views.length == size) {
+            Arrays.fill(views, null);
+            Arrays.fill(resolved, false);
+        } else {
+            views = new View[size];
+            resolved = new boolean[size];
+        }
+
+        if (sides.length == animationCount) {
+            Arrays.fill(sides, (byte) Animation.SIDE_UNKNOWN);
+        } else {
+            sides = new byte[animationCount];
+        }
+
+        if (thresholdStates != null && thresholdStates.length == animationCount) {
+            Arrays.fill(thresholdStates, Animation.NO_THRESHOLD_STATE);
+        } else {
+            thresholdStates = null;
+        }
+
+        this.generation = generation;
+        position = SparkleMotion.NO_POSITION;
+    }
+}
@@ -3,6 +3,7 @@ package com.ifttt.sparklemotion.animations;
 import android.view.View;
 
 import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.core.Tween;
 
 /**
  * Subclass of {@link Animation} that changes alpha of the View.
@@ -26,9 +27,13 @@ public class AlphaAnimation extends Animation {
         this.outAlpha = outAlpha;
     }
 
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
     @Override
     public void onAnimate(View v, float offset, float offsetInPixel) {
-        offset = Math.abs(offset);
-        v.setAlpha(inAlpha + offset * (outAlpha - inAlpha));
+        setAlpha(v, Tween.pageOffset(inAlpha, outAlpha, offset));
     }
 }
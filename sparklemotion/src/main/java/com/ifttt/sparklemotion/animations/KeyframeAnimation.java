@@ -0,0 +1,263 @@
+package com.ifttt.sparklemotion.animations;
+
+import android.view.View;
+import android.view.animation.Interpolator;
+
+import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.core.KeyframeEvaluator;
+import com.ifttt.sparklemotion.core.Property;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Subclass of {@link Animation} that animates any number of View properties through keyframes placed on the
+ * scroll position of the ViewPager, see {@link #getScrollPosition()}. A single KeyframeAnimation can replace
+ * several animations stacked over different pages: for example, fading a View in over page 0, keeping it still on
+ * page 1 and scaling it down over page 2 only takes keyframes at scroll positions 0, 1, 2 and 3.
+ * <p/>
+ * Every property is a track of keyframes sorted by scroll position, and every segment between two keyframes can
+ * have its own {@link Interpolator}. Before the first keyframe and after the last one, the value of the closest
+ * keyframe is used. The keyframes of all tracks are packed into primitive arrays and evaluated by the
+ * {@link KeyframeEvaluator} of their {@link KeyframeTable}, so that evaluating a frame
+ * doesn't allocate.
+ * <p/>
+ * If the scroll position is not known, the offset of the animation is used as the position instead.
+ */
+public class KeyframeAnimation extends Animation {
+
+    public static final int TRANSLATION_X = Property.TRANSLATION_X;
+    public static final int TRANSLATION_Y = Property.TRANSLATION_Y;
+    public static final int SCALE_X = Property.SCALE_X;
+    public static final int SCALE_Y = Property.SCALE_Y;
+    public static final int ROTATION = Property.ROTATION;
+    public static final int ALPHA = Property.ALPHA;
+
+    private static final int PROPERTY_COUNT = Property.COUNT;
+
+    private final KeyframeTable table;
+
+    /**
+     * Index of the first track of this animation within the table.
+     */
+    private final int firstTrack;
+
+    /**
+     * Number of tracks of this animation.
+     */
+    private final int trackCount;
+
+    /**
+     * Index of the first keyframe of the segment of the previous frame, for every track.
+     */
+    private final int[] cursors;
+
+    /**
+     * Values of the tracks of this animation for the current frame.
+     */
+    private final float[] frameValues;
+
+    /**
+     * Constructor for building a KeyframeAnimation from a range of tracks of a {@link KeyframeTable}, which can be
+     * shared with other animations.
+     *
+     * @param table      Table of the keyframes.
+     * @param firstTrack Index of the first track of the animation within the table.
+     * @param trackCount Number of tracks of the animation.
+     *
+     * @throws IllegalArgumentException when the range of tracks is out of the bounds of the table.
+     */
+    public KeyframeAnimation(KeyframeTable table, int firstTrack, int trackCount) {
+        super();
+
+        if (firstTrack < 0 || trackCount < 0 || firstTrack + trackCount > table.getTrackCount()) {
+            throw new IllegalArgumentException("Invalid tracks: (" + firstTrack + " ," + trackCount + ")");
+        }
+
+        this.table = table;
+        this.firstTrack = firstTrack;
+        this.trackCount = trackCount;
+        cursors = new int[trackCount];
+        frameValues = new float[trackCount];
+    }
+
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
+    @Override
+    public void onAnimate(View v, float offset, float offsetInPixel) {
+        float position = getScrollPosition();
+        if (Float.isNaN(position)) {
+            position = offset;
+        }
+
+        KeyframeEvaluator evaluator = table.evaluator;
+        evaluator.evaluate(firstTrack, trackCount, position, cursors, frameValues);
+        for (int i = 0; i < trackCount; i++) {
+            write(v, evaluator.getProperty(firstTrack + i), frameValues[i]);
+        }
+    }
+
+    @Override
+    public void onAnimateOffScreenLeft(View v, float offset, float offsetInPixel) {
+        onAnimate(v, offset, offsetInPixel);
+    }
+
+    @Override
+    public void onAnimateOffScreenRight(View v, float offset, float offsetInPixel) {
+        onAnimate(v, offset, offsetInPixel);
+    }
+
+    /**
+     * @throws IllegalArgumentException when {@code property} is not one of the property constants.
+     */
+    static void checkProperty(int property) {
+        Property.check(property);
+    }
+
+    private void write(View v, int property, float value) {
+        switch (property) {
+            case TRANSLATION_X:
+                setTranslationX(v, value);
+                break;
+            case TRANSLATION_Y:
+                setTranslationY(v, value);
+                break;
+            case SCALE_X:
+                setScaleX(v, value);
+                break;
+            case SCALE_Y:
+                setScaleY(v, value);
+                break;
+            case ROTATION:
+                setRotation(v, value);
+                break;
+            case ALPHA:
+                setAlpha(v, value);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown property: " + property);
+        }
+    }
+
+    /**
+     * Builder of {@link KeyframeAnimation}.
+     */
+    public static class Builder {
+
+        private final List<List<Keyframe>> tracks = new ArrayList<>(PROPERTY_COUNT);
+
+        public Builder() {
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                tracks.add(new ArrayList<Keyframe>());
+            }
+        }
+
+        /**
+         * Add a keyframe, linearly interpolated from the previous keyframe of the same property.
+         *
+         * @param property Property of the View, one of {@link #TRANSLATION_X}, {@link #TRANSLATION_Y},
+         *                 {@link #SCALE_X}, {@link #SCALE_Y}, {@link #ROTATION} or {@link #ALPHA}.
+         * @param position Scroll position of the keyframe, in pages.
+         * @param value    Value of the property at the keyframe.
+         * @return this instance to chain functions.
+         */
+        public Builder keyframe(int property, float position, float value) {
+            return keyframe(property, position, value, null);
+        }
+
+        /**
+         * Add a keyframe, interpolated from the previous keyframe of the same property with the given interpolator.
+         *
+         * @param property     Property of the View, one of {@link #TRANSLATION_X}, {@link #TRANSLATION_Y},
+         *                     {@link #SCALE_X}, {@link #SCALE_Y}, {@link #ROTATION} or {@link #ALPHA}.
+         * @param position     Scroll position of the keyframe, in pages.
+         * @param value        Value of the property at the keyframe.
+         * @param interpolator Interpolator of the segment ending at this keyframe, or null for linear interpolation.
+         * @return this instance to chain functions.
+         *
+         * @throws IllegalArgumentException when {@code property} is unknown, or {@code position} is not a finite
+         *                                  number.
+         */
+        public Builder keyframe(int property, float position, float value, Interpolator interpolator) {
+            checkProperty(property);
+
+            if (Float.isNaN(position) || Float.isInfinite(position)) {
+                throw new IllegalArgumentException("Invalid position: " + position);
+            }
+
+            tracks.get(property).add(new Keyframe(position, value, interpolator));
+            return this;
+        }
+
+        /**
+         * @return KeyframeAnimation with the keyframes added to this builder.
+         */
+        public KeyframeAnimation build() {
+            int trackCount = 0;
+            int keyframeCount = 0;
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                int size = tracks.get(i).size();
+                if (size > 0) {
+                    trackCount++;
+                    keyframeCount += size;
+                }
+            }
+
+            int[] properties = new int[trackCount];
+            int[] trackStarts = new int[trackCount];
+            int[] trackSizes = new int[trackCount];
+            float[] positions = new float[keyframeCount];
+            float[] values = new float[keyframeCount];
+            Interpolator[] interpolators = new Interpolator[keyframeCount];
+
+            int track = 0;
+            int index = 0;
+            for (int i = 0; i < PROPERTY_COUNT; i++) {
+                int size = tracks.get(i).size();
+                if (size == 0) {
+                    continue;
+                }
+
+                Keyframe[] sorted = tracks.get(i).toArray(new Keyframe[size]);
+                Arrays.sort(sorted);
+
+                properties[track] = i;
+                trackStarts[track] = index;
+                trackSizes[track] = size;
+                for (Keyframe keyframe : sorted) {
+                    positions[index] = keyframe.position;
+                    values[index] = keyframe.value;
+                    interpolators[index] = keyframe.interpolator;
+                    index++;
+                }
+                track++;
+            }
+
+            KeyframeTable table = new KeyframeTable(properties, trackStarts, trackSizes, positions, values,
+                    interpolators);
+            return new KeyframeAnimation(table, 0, trackCount);
+        }
+    }
+
+    private static final class Keyframe implements Comparable<Keyframe> {
+
+        final float position;
+        final float value;
+        final Interpolator interpolator;
+
+        Keyframe(float position, float value, Interpolator interpolator) {
+            this.position = position;
+            this.value = value;
+            this.interpolator = interpolator;
+        }
+
+        @Override
+        public int compareTo(Keyframe another) {
+            return Float.compare(position, another.position);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ifttt.sparklemotion.animations;
+
+import android.view.animation.Interpolator;
+
+import com.ifttt.sparklemotion.core.Easing;
+import com.ifttt.sparklemotion.core.KeyframeEvaluator;
+
+/**
+ * Packed keyframe tracks of one or more {@link KeyframeAnimation}s. Every track animates one View property through
+ * a range of keyframes sorted by scroll position, and every animation uses a range of tracks, so that the keyframes
+ * of a whole scene can be held by a few primitive arrays shared by all of its animations. The tracks are evaluated
+ * by a {@link KeyframeEvaluator} of the core module.
+ * <p/>
+ * The arrays are used as is and must not be modified once given to the table.
+ */
+public final class KeyframeTable {
+
+    final KeyframeEvaluator evaluator;
+
+    /**
+     * Constructor for building a KeyframeTable from packed tracks.
+     *
+     * @param properties    Property of every track.
+     * @param trackStarts   Index of the first keyframe of every track.
+     * @param trackSizes    Number of keyframes of every track.
+     * @param positions     Scroll positions of all keyframes, sorted within every track.
+     * @param values        Values of all keyframes.
+     * @param interpolators Interpolators of the segments ending at every keyframe, null for linear interpolation.
+     *
+     * @throws IllegalArgumentException when the sizes of the arrays don't match, or a track is empty, out of bounds
+     *                                  or not sorted.
+     */
+    public KeyframeTable(int[] properties, int[] trackStarts, int[] trackSizes, float[] positions, float[] values,
+                         Interpolator[] interpolators) {
+        evaluator = new KeyframeEvaluator(properties, trackStarts, trackSizes, positions, values,
+                toEasings(interpolators));
+    }
+
+    /**
+     * @return Number of tracks in the table.
+     */
+    public int getTrackCount() {
+        return evaluator.getTrackCount();
+    }
+
+    private static Easing[] toEasings(Interpolator[] interpolators) {
+        Easing[] easings = new Easing[interpolators.length];
+        for (int i = 0; i < interpolators.length; i++) {
+            Interpolator interpolator = interpolators[i];
+            if (interpolator == null) {
+                continue;
+            }
+
+            // Keyframes usually share a few interpolators, keep sharing their easings.
+            easings[i] = i > 0 && interpolator == interpolators[i - 1] ? easings[i - 1]
+                    : new InterpolatorEasing(interpolator);
+        }
+
+        return easings;
+    }
+
+    /**
+     * {@link Easing} of an {@link Interpolator}.
+     */
+    private static final class InterpolatorEasing implements Easing {
+
+        private final Interpolator interpolator;
+
+        InterpolatorEasing(Interpolator interpolator) {
+            this.interpolator = interpolator;
+        }
+
+        @Override
+        public float ease(float fraction) {
+            return interpolator.getInterpolation(fraction);
+        }
+    }
+}
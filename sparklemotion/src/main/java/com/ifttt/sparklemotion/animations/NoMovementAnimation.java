@@ -18,8 +18,13 @@ public class NoMovementAnimation extends Animation {
         super();
     }
 
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
     @Override
     public void onAnimate(View v, float offset, float offsetInPixel) {
-        v.setTranslationX(offsetInPixel);
+        setTranslationX(v, offsetInPixel);
     }
 }
@@ -36,10 +36,15 @@ public class ParallaxAnimation extends Animation {
         this.factor = factor;
     }
 
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
     @Override
     public void onAnimate(View v, float offset, float offsetInPixel) {
         int width = v.getWidth();
 
-        v.setTranslationX(width * -offset / factor);
+        setTranslationX(v, width * -offset / factor);
     }
 }
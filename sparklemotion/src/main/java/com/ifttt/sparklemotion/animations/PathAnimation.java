@@ -9,13 +9,34 @@ import com.ifttt.sparklemotion.Animation;
 /**
  * Subclass of {@link Animation} that animates the view based on a {@link Path}. It is essentially
  * a translation animation, but the translation x and y is changed to follow the path.
+ * <p/>
+ * By default the path is measured on every frame. For paths with many segments, a resolution can be given to bake
+ * the path into a table of points evenly spaced along its length, which is then evaluated with linear
+ * interpolation between the two closest points.
  */
 public class PathAnimation extends Animation {
 
     private final PathMeasure pathMeasure;
 
+    private final float length;
+
     private final boolean absolute;
 
+    /**
+     * Reusable array for coordinates from {@link PathMeasure#getPosTan(float, float[], float[])}.
+     */
+    private final float[] coordinates = new float[2];
+
+    /**
+     * X coordinates of the baked path, or null if the path is not baked.
+     */
+    private final float[] bakedX;
+
+    /**
+     * Y coordinates of the baked path, or null if the path is not baked.
+     */
+    private final float[] bakedY;
+
     /**
      * Constructor for building a PathAnimation for a range of pages.
      *
@@ -23,15 +44,67 @@ public class PathAnimation extends Animation {
      * Decor content View will only animate the translation X value given by the animation, instead of the combination
      * of the translation X value of the animation and ViewPager scrolling.
      *
-     * @param page   Page object newBuilder specific page information about this animation.
      * @param path     Path object that the animated View will follow.
      * @param absolute Flag to set whether this animation should be relative to the scrolling page or not. If set
      *                 to true, the View being animated will ignore the scrolling of the parent View.
      */
     public PathAnimation(Path path, boolean absolute) {
+        this(path, absolute, 0);
+    }
+
+    /**
+     * Constructor for building a PathAnimation that bakes the path into a table of points.
+     *
+     * @param path       Path object that the animated View will follow.
+     * @param absolute   Flag to set whether this animation should be relative to the scrolling page or not. If set
+     *                   to true, the View being animated will ignore the scrolling of the parent View.
+     * @param resolution Number of intervals to split the path into, or 0 to measure the path on every frame.
+     *
+     * @throws IllegalArgumentException when {@code resolution} is smaller than 0.
+     */
+    public PathAnimation(Path path, boolean absolute, int resolution) {
+        this(new PathMeasure(path, false), absolute, resolution);
+    }
+
+    /**
+     * Constructor for building a PathAnimation that follows a measured path, for example a path measured with
+     * {@code forceClosed} set.
+     *
+     * @param pathMeasure PathMeasure of the path that the animated View will follow.
+     * @param absolute    Flag to set whether this animation should be relative to the scrolling page or not. If set
+     *                    to true, the View being animated will ignore the scrolling of the parent View.
+     * @param resolution  Number of intervals to split the path into, or 0 to measure the path on every frame.
+     *
+     * @throws IllegalArgumentException when {@code resolution} is smaller than 0.
+     */
+    public PathAnimation(PathMeasure pathMeasure, boolean absolute, int resolution) {
         super();
-        pathMeasure = new PathMeasure(path, false);
+
+        if (resolution < 0) {
+            throw new IllegalArgumentException("Invalid resolution: " + resolution);
+        }
+
+        this.pathMeasure = pathMeasure;
+        length = pathMeasure.getLength();
         this.absolute = absolute;
+
+        if (resolution > 0) {
+            bakedX = new float[resolution + 1];
+            bakedY = new float[resolution + 1];
+            for (int i = 0; i <= resolution; i++) {
+                pathMeasure.getPosTan(length * i / resolution, coordinates, null);
+                bakedX[i] = coordinates[0];
+                bakedY[i] = coordinates[1];
+            }
+        } else {
+            bakedX = null;
+            bakedY = null;
+        }
+    }
+
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
     }
 
     @Override
@@ -41,9 +114,23 @@ public class PathAnimation extends Animation {
         }
         offset = Math.abs(offset);
 
-        float[] coordinates = new float[2];
-        pathMeasure.getPosTan(pathMeasure.getLength() * offset, coordinates, null);
-        v.setTranslationX(coordinates[0] + offsetInPixel);
-        v.setTranslationY(coordinates[1]);
+        final float x;
+        final float y;
+        if (bakedX != null) {
+            int resolution = bakedX.length - 1;
+            float position = Math.min(offset, 1f) * resolution;
+            int index = Math.min((int) position, resolution - 1);
+            float fraction = position - index;
+
+            x = bakedX[index] + fraction * (bakedX[index + 1] - bakedX[index]);
+            y = bakedY[index] + fraction * (bakedY[index + 1] - bakedY[index]);
+        } else {
+            pathMeasure.getPosTan(length * offset, coordinates, null);
+            x = coordinates[0];
+            y = coordinates[1];
+        }
+
+        setTranslationX(v, x + offsetInPixel);
+        setTranslationY(v, y);
     }
 }
@@ -3,6 +3,7 @@ package com.ifttt.sparklemotion.animations;
 import android.view.View;
 
 import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.core.Tween;
 
 /**
  * Subclass of {@link Animation} that changes View's rotation.
@@ -27,9 +28,12 @@ public class RotationAnimation extends Animation {
     }
 
     @Override
-    public void onAnimate(View v, float offset, float offsetInPixel) {
-        offset = Math.abs(offset);
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
 
-        v.setRotation(inRotation + offset * (outRotation - inRotation));
+    @Override
+    public void onAnimate(View v, float offset, float offsetInPixel) {
+        setRotation(v, Tween.pageOffset(inRotation, outRotation, offset));
     }
 }
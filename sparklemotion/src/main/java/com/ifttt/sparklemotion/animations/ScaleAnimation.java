@@ -3,6 +3,7 @@ package com.ifttt.sparklemotion.animations;
 import android.view.View;
 
 import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.core.Tween;
 
 /**
  * Subclass of {@link Animation} that changes View's scale x and y from a value to another.
@@ -37,10 +38,13 @@ public class ScaleAnimation extends Animation {
     }
 
     @Override
-    public void onAnimate(View v, float offset, float offsetInPixel) {
-        offset = Math.abs(offset);
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
 
-        v.setScaleX(inScaleX + offset * (outScaleX - inScaleX));
-        v.setScaleY(inScaleY + offset * (outScaleY - inScaleY));
+    @Override
+    public void onAnimate(View v, float offset, float offsetInPixel) {
+        setScaleX(v, Tween.pageOffset(inScaleX, outScaleX, offset));
+        setScaleY(v, Tween.pageOffset(inScaleY, outScaleY, offset));
     }
 }
@@ -29,6 +29,11 @@ public class SlideInAnimation extends Animation {
         super();
     }
 
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
     @Override
     public void onAnimate(View view, float offset, float offsetInPixel) {
         if (!originalTranslationSet) {
@@ -36,7 +41,7 @@ public class SlideInAnimation extends Animation {
             initViewPosition(view, 1 - offset);
         } else {
             offset = Math.abs(offset);
-            view.setTranslationX(originalTranslationX + (1 - offset) * distance);
+            setTranslationX(view, originalTranslationX + (1 - offset) * distance);
         }
     }
 
@@ -58,7 +63,7 @@ public class SlideInAnimation extends Animation {
             distance = parent.getWidth() - view.getLeft();
 
             // Once initialized, run the initial animation frame.
-            view.setTranslationX(originalTranslationX + (1 - Math.abs(offset)) * distance);
+            setTranslationX(view, originalTranslationX + (1 - Math.abs(offset)) * distance);
             return;
         }
 
@@ -1,7 +1,6 @@
 package com.ifttt.sparklemotion.animations;
 
 import android.support.v4.view.ViewCompat;
-import android.util.Log;
 import android.view.View;
 import android.view.ViewTreeObserver;
 
@@ -30,6 +29,11 @@ public class SlideOutAnimation extends Animation {
         super();
     }
 
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
     @Override
     public void onAnimate(final View view, float offset, float offsetInPixel) {
         if (!originalTranslationSet) {
@@ -37,9 +41,7 @@ public class SlideOutAnimation extends Animation {
             initViewPosition(view, offset);
         } else {
             offset = Math.abs(offset);
-            view.setTranslationX(originalTranslationX + offset * distance);
-
-            Log.d(SlideOutAnimation.class.getSimpleName(), view + " " + view.getTranslationX() + " ");
+            setTranslationX(view, originalTranslationX + offset * distance);
         }
     }
 
@@ -56,7 +58,7 @@ public class SlideOutAnimation extends Animation {
             distance = -(view.getLeft() + view.getWidth() * view.getScaleX());
 
             // Once initialized, run the initial animation frame.
-            view.setTranslationX(originalTranslationX + Math.abs(offset) * distance);
+            setTranslationX(view, originalTranslationX + Math.abs(offset) * distance);
         } else {
             view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
                 @Override
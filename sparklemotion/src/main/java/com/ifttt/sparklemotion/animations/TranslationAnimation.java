@@ -3,6 +3,7 @@ package com.ifttt.sparklemotion.animations;
 import android.view.View;
 
 import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.core.Tween;
 
 /**
  * Subclass of {@link Animation} that changes the View's translation x and y.
@@ -45,14 +46,18 @@ public class TranslationAnimation extends Animation {
         mAbsolute = absolute;
     }
 
+    @Override
+    public boolean canUseHardwareLayer() {
+        return true;
+    }
+
     @Override
     public void onAnimate(View v, float offset, float offsetInPixel) {
         if (!mAbsolute) {
             offsetInPixel = 0;
         }
 
-        offset = Math.abs(offset);
-        v.setTranslationX(inTranslationX + offset * (outTranslationX - inTranslationX) + offsetInPixel);
-        v.setTranslationY(inTranslationY + offset * (outTranslationY - inTranslationY));
+        setTranslationX(v, Tween.pageOffset(inTranslationX, outTranslationX, offset) + offsetInPixel);
+        setTranslationY(v, Tween.pageOffset(inTranslationY, outTranslationY, offset));
     }
 }
@@ -0,0 +1,52 @@
+package com.ifttt.sparklemotion.scene;
+
+import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.Page;
+
+/**
+ * Animations of a scene loaded by {@link SceneLoader}, along with their target View ids and {@link Page}s. A scene
+ * is run by passing it to {@link com.ifttt.sparklemotion.AnimationBuilder#animate(Scene)}.
+ */
+public final class Scene {
+
+    private final int[] targetIds;
+    private final Page[] pages;
+    private final Animation[] animations;
+
+    Scene(int[] targetIds, Page[] pages, Animation[] animations) {
+        this.targetIds = targetIds;
+        this.pages = pages;
+        this.animations = animations;
+    }
+
+    /**
+     * @return Number of animations in the scene.
+     */
+    public int getAnimationCount() {
+        return animations.length;
+    }
+
+    /**
+     * @param index Index of the animation, in the range [0, {@link #getAnimationCount()}).
+     * @return The animation at the given index.
+     */
+    public Animation getAnimation(int index) {
+        return animations[index];
+    }
+
+    /**
+     * @param index Index of the animation, in the range [0, {@link #getAnimationCount()}).
+     * @return Page of the animation at the given index.
+     */
+    public Page getPage(int index) {
+        return pages[index];
+    }
+
+    /**
+     * @param index Index of the animation, in the range [0, {@link #getAnimationCount()}).
+     * @return Id of the target View of the animation at the given index.
+     */
+    public int getTargetId(int index) {
+        return targetIds[index];
+    }
+}
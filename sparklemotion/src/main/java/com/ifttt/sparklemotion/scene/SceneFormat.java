@@ -0,0 +1,67 @@
+package com.ifttt.sparklemotion.scene;
+
+/**
+ * Layout of a compiled scene, shared by the scene compiler and {@link SceneLoader}. This class doesn't depend on
+ * Android, so that scenes can be compiled on the JVM.
+ * <p/>
+ * All numbers are big-endian. A scene is laid out as follows, with sections in this order:
+ * <ul>
+ * <li>Header: magic number ({@code int}), version ({@code int}), and the number of target names, animations,
+ * tracks and keyframes ({@code int} each).</li>
+ * <li>Target names: for every name, its length in bytes ({@code short}) followed by its UTF-8 bytes.</li>
+ * <li>Animations: for every animation, the index of its target name, its first and last page (both
+ * {@link #ALL_PAGES} for every page), its first track and its number of tracks ({@code int} each).</li>
+ * <li>Tracks: for every track, its property, its first keyframe and its number of keyframes ({@code int}
+ * each).</li>
+ * <li>Keyframes: the scroll positions of all keyframes ({@code float} each), then their values ({@code float}
+ * each), then the interpolators of the segments ending at them ({@code byte} each).</li>
+ * </ul>
+ * The tracks of every animation are contiguous, and the keyframes of every track are contiguous and sorted by
+ * scroll position, so that the sections can be read in bulk into the arrays of a single keyframe table.
+ */
+public final class SceneFormat {
+
+    /**
+     * Magic number of a compiled scene, "SPKS" in ASCII.
+     */
+    public static final int MAGIC = 0x53504b53;
+
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 24;
+
+    /**
+     * Size of an animation record in bytes.
+     */
+    public static final int ANIMATION_SIZE = 20;
+
+    /**
+     * Size of a track record in bytes.
+     */
+    public static final int TRACK_SIZE = 12;
+
+    /**
+     * Page of an animation that runs on every page.
+     */
+    public static final int ALL_PAGES = -1;
+
+    // Properties, with the same values as the property constants of KeyframeAnimation.
+    public static final int PROPERTY_TRANSLATION_X = 0;
+    public static final int PROPERTY_TRANSLATION_Y = 1;
+    public static final int PROPERTY_SCALE_X = 2;
+    public static final int PROPERTY_SCALE_Y = 3;
+    public static final int PROPERTY_ROTATION = 4;
+    public static final int PROPERTY_ALPHA = 5;
+
+    public static final byte INTERPOLATOR_LINEAR = 0;
+    public static final byte INTERPOLATOR_ACCELERATE = 1;
+    public static final byte INTERPOLATOR_DECELERATE = 2;
+    public static final byte INTERPOLATOR_ACCELERATE_DECELERATE = 3;
+
+    private SceneFormat() {
+        throw new AssertionError("No instances.");
+    }
+}
@@ -0,0 +1,294 @@
+package com.ifttt.sparklemotion.scene;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.Resources;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+import com.ifttt.sparklemotion.Animation;
+import com.ifttt.sparklemotion.Page;
+import com.ifttt.sparklemotion.animations.KeyframeAnimation;
+import com.ifttt.sparklemotion.animations.KeyframeTable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+
+/**
+ * Loader of scenes compiled to the {@link SceneFormat}. The keyframes of all animations of a scene are read in bulk
+ * into a single {@link KeyframeTable}, so that loading a scene only creates one {@link KeyframeAnimation} and one
+ * {@link Page} per animation, instead of building every animation and its keyframes one by one.
+ * <p/>
+ * Scenes stored as uncompressed assets or files are memory-mapped; other streams are read into a direct buffer.
+ * To keep a scene asset uncompressed, add its extension to {@code aaptOptions.noCompress} in the build script.
+ */
+public final class SceneLoader {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private SceneLoader() {
+        throw new AssertionError("No instance");
+    }
+
+    /**
+     * Load a scene from an asset of the application.
+     *
+     * @param context   Context of the application.
+     * @param assetName Name of the asset.
+     * @return Loaded scene, with target names resolved as View ids of the application.
+     * @throws IOException when the asset cannot be read.
+     */
+    public static Scene load(Context context, String assetName) throws IOException {
+        IdResolver resolver = resourceIds(context);
+
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = context.getAssets().openFd(assetName);
+        } catch (FileNotFoundException e) {
+            // The asset is compressed and cannot be mapped.
+            InputStream inputStream = context.getAssets().open(assetName);
+            try {
+                return load(inputStream, resolver);
+            } finally {
+                inputStream.close();
+            }
+        }
+
+        FileInputStream inputStream = descriptor.createInputStream();
+        try {
+            FileChannel channel = inputStream.getChannel();
+            return load(channel.map(FileChannel.MapMode.READ_ONLY, descriptor.getStartOffset(),
+                    descriptor.getLength()), resolver);
+        } finally {
+            inputStream.close();
+            descriptor.close();
+        }
+    }
+
+    /**
+     * Load a scene from a file by memory-mapping it.
+     *
+     * @param file     Compiled scene file.
+     * @param resolver Resolver of the target names of the scene.
+     * @return Loaded scene.
+     * @throws IOException when the file cannot be read.
+     */
+    public static Scene load(File file, IdResolver resolver) throws IOException {
+        FileInputStream inputStream = new FileInputStream(file);
+        try {
+            FileChannel channel = inputStream.getChannel();
+            return load(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), resolver);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Load a scene from a stream, read into a direct buffer. The stream is not closed.
+     *
+     * @param inputStream Stream of a compiled scene.
+     * @param resolver    Resolver of the target names of the scene.
+     * @return Loaded scene.
+     * @throws IOException when the stream cannot be read.
+     */
+    public static Scene load(InputStream inputStream, IdResolver resolver) throws IOException {
+        ReadableByteChannel channel = Channels.newChannel(inputStream);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(inputStream.available(), INITIAL_BUFFER_SIZE));
+        while (channel.read(buffer) >= 0) {
+            if (!buffer.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+        }
+
+        buffer.flip();
+        return load(buffer, resolver);
+    }
+
+    /**
+     * Load a scene from a buffer, from its position to its limit. The position of the buffer is not changed.
+     *
+     * @param buffer   Buffer of a compiled scene.
+     * @param resolver Resolver of the target names of the scene.
+     * @return Loaded scene.
+     *
+     * @throws IllegalArgumentException when the buffer is not a valid scene, or a target name cannot be resolved.
+     */
+    public static Scene load(ByteBuffer buffer, IdResolver resolver) {
+        ByteBuffer in = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+        if (in.remaining() < SceneFormat.HEADER_SIZE || in.getInt() != SceneFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a compiled scene");
+        }
+
+        int version = in.getInt();
+        if (version != SceneFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported scene version: " + version);
+        }
+
+        int nameCount = in.getInt();
+        int animationCount = in.getInt();
+        int trackCount = in.getInt();
+        int keyframeCount = in.getInt();
+        if (nameCount < 0 || animationCount < 0 || trackCount < 0 || keyframeCount < 0) {
+            throw new IllegalArgumentException("Invalid scene header");
+        }
+
+        // Check the counts against the size of the scene before allocating anything from them, every name has at
+        // least its length and every keyframe has a position, a value and an interpolator.
+        long minimumSize = (long) nameCount * 2 + (long) animationCount * SceneFormat.ANIMATION_SIZE
+                + (long) trackCount * SceneFormat.TRACK_SIZE + (long) keyframeCount * (4 + 4 + 1);
+        if (in.remaining() < minimumSize) {
+            throw new IllegalArgumentException("Truncated scene");
+        }
+
+        int[] nameIds = new int[nameCount];
+        byte[] nameBytes = new byte[0];
+        for (int i = 0; i < nameCount; i++) {
+            int length = in.getShort() & 0xffff;
+            if (in.remaining() < length) {
+                throw new IllegalArgumentException("Truncated scene");
+            }
+
+            if (nameBytes.length < length) {
+                nameBytes = new byte[length];
+            }
+
+            in.get(nameBytes, 0, length);
+            String name = new String(nameBytes, 0, length, UTF_8);
+            nameIds[i] = resolver.getId(name);
+            if (nameIds[i] == 0) {
+                throw new IllegalArgumentException("Unknown target: " + name);
+            }
+        }
+
+        // Every keyframe has a position, a value and an interpolator.
+        long remaining = (long) animationCount * SceneFormat.ANIMATION_SIZE
+                + (long) trackCount * SceneFormat.TRACK_SIZE + (long) keyframeCount * (4 + 4 + 1);
+        if (in.remaining() < remaining) {
+            throw new IllegalArgumentException("Truncated scene");
+        }
+
+        int[] animationRecords = new int[animationCount * SceneFormat.ANIMATION_SIZE / 4];
+        in.asIntBuffer().get(animationRecords);
+        in.position(in.position() + animationRecords.length * 4);
+
+        int[] trackRecords = new int[trackCount * SceneFormat.TRACK_SIZE / 4];
+        in.asIntBuffer().get(trackRecords);
+        in.position(in.position() + trackRecords.length * 4);
+
+        int[] properties = new int[trackCount];
+        int[] trackStarts = new int[trackCount];
+        int[] trackSizes = new int[trackCount];
+        for (int i = 0, record = 0; i < trackCount; i++) {
+            properties[i] = trackRecords[record++];
+            trackStarts[i] = trackRecords[record++];
+            trackSizes[i] = trackRecords[record++];
+        }
+
+        float[] positions = new float[keyframeCount];
+        float[] values = new float[keyframeCount];
+        in.asFloatBuffer().get(positions);
+        in.position(in.position() + keyframeCount * 4);
+        in.asFloatBuffer().get(values);
+        in.position(in.position() + keyframeCount * 4);
+
+        Interpolator[] interpolators = new Interpolator[keyframeCount];
+        Interpolator[] shared = new Interpolator[SceneFormat.INTERPOLATOR_ACCELERATE_DECELERATE + 1];
+        for (int i = 0; i < keyframeCount; i++) {
+            interpolators[i] = getInterpolator(in.get(), shared);
+        }
+
+        KeyframeTable table = new KeyframeTable(properties, trackStarts, trackSizes, positions, values,
+                interpolators);
+
+        int[] targetIds = new int[animationCount];
+        Page[] pages = new Page[animationCount];
+        Animation[] animations = new Animation[animationCount];
+        for (int i = 0, record = 0; i < animationCount; i++) {
+            int nameIndex = animationRecords[record++];
+            int start = animationRecords[record++];
+            int end = animationRecords[record++];
+            int firstTrack = animationRecords[record++];
+            int animationTrackCount = animationRecords[record++];
+            if (nameIndex < 0 || nameIndex >= nameCount) {
+                throw new IllegalArgumentException("Invalid target of animation " + i);
+            }
+
+            targetIds[i] = nameIds[nameIndex];
+            pages[i] = start == SceneFormat.ALL_PAGES ? Page.allPages() : Page.pageRange(start, end);
+            animations[i] = new KeyframeAnimation(table, firstTrack, animationTrackCount);
+        }
+
+        return new Scene(targetIds, pages, animations);
+    }
+
+    /**
+     * Build an {@link IdResolver} that resolves target names as View ids declared in the resources of the
+     * application, i.e. {@code R.id.name}.
+     *
+     * @param context Context of the application.
+     * @return IdResolver of the application.
+     */
+    public static IdResolver resourceIds(Context context) {
+        final Resources resources = context.getResources();
+        final String packageName = context.getPackageName();
+        return new IdResolver() {
+            @Override
+            public int getId(String name) {
+                return resources.getIdentifier(name, "id", packageName);
+            }
+        };
+    }
+
+    private static Interpolator getInterpolator(byte type, Interpolator[] shared) {
+        if (type == SceneFormat.INTERPOLATOR_LINEAR) {
+            return null;
+        }
+
+        if (type < 0 || type >= shared.length) {
+            throw new IllegalArgumentException("Unknown interpolator: " + type);
+        }
+
+        if (shared[type] == null) {
+            switch (type) {
+                case SceneFormat.INTERPOLATOR_ACCELERATE:
+                    shared[type] = new AccelerateInterpolator();
+                    break;
+                case SceneFormat.INTERPOLATOR_DECELERATE:
+                    shared[type] = new DecelerateInterpolator();
+                    break;
+                default:
+                    shared[type] = new AccelerateDecelerateInterpolator();
+                    break;
+            }
+        }
+
+        return shared[type];
+    }
+
+    /**
+     * Resolver of the target names of a scene to View ids.
+     */
+    public interface IdResolver {
+        /**
+         * @param name Target name from the scene.
+         * @return Id of the View, or 0 if the name is unknown.
+         */
+        int getId(String name);
+    }
+}
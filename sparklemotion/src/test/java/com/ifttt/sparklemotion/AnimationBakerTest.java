@@ -0,0 +1,159 @@
+package com.ifttt.sparklemotion;
+
+import android.content.Context;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import com.ifttt.sparklemotion.animations.AlphaAnimation;
+import com.ifttt.sparklemotion.animations.ScaleAnimation;
+import com.ifttt.sparklemotion.animations.TranslationAnimation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@SmallTest
+public class AnimationBakerTest {
+
+    private Context mContext;
+
+    @Before
+    public void setUp() throws Exception {
+        mContext = mock(Context.class);
+    }
+
+    @Test
+    public void testBakedValuesMatchSamples() throws Exception {
+        ScaleAnimation animation = new ScaleAnimation(1f, 1f, 0.5f, 0.5f);
+        BakedAnimation baked = new AnimationBaker(mContext, 100, 100, 9, false, false).bake(animation);
+        assertEquals(9, baked.getSampleCount());
+
+        float[] offsets = {-1f, -0.5f, 0f, 0.25f, 0.75f, 1f};
+        for (float offset : offsets) {
+            assertEquals(scaleXOf(animation, offset), scaleXOf(baked, offset), 0.0001f);
+        }
+    }
+
+    @Test
+    public void testBakedValuesInterpolated() throws Exception {
+        BakedAnimation baked = new AnimationBaker(mContext, 100, 100, 3, false, false)
+                .bake(new AlphaAnimation(1f, 0f));
+
+        View view = mock(View.class);
+        SetterAnswer answer = new SetterAnswer();
+        doAnswer(answer).when(view).setAlpha(Mockito.anyFloat());
+
+        // Samples at -1, 0 and 1, the alpha at 0.5 is between the last two.
+        baked.onAnimate(view, 0.5f, 0);
+        assertEquals(0.5f, answer.value, 0.0001f);
+    }
+
+    @Test
+    public void testOffsetInPixelBaked() throws Exception {
+        TranslationAnimation animation = new TranslationAnimation(0, 0, 50, 0, true);
+        BakedAnimation baked = new AnimationBaker(mContext, 100, 100, 9, false, false).bake(animation);
+
+        View view = mock(View.class);
+        SetterAnswer answer = new SetterAnswer();
+        doAnswer(answer).when(view).setTranslationX(Mockito.anyFloat());
+        baked.onAnimate(view, 0.5f, -50);
+        assertEquals(-25f, answer.value, 0.0001f);
+
+        BakedAnimation bakedDecor = new AnimationBaker(mContext, 100, 100, 9, true, false).bake(animation);
+        bakedDecor.onAnimate(view, 0.5f, 0);
+        assertEquals(25f, answer.value, 0.0001f);
+    }
+
+    @Test
+    public void testUnwrittenPropertiesSkipped() throws Exception {
+        BakedAnimation baked = new AnimationBaker(mContext, 100, 100, 5, false, false)
+                .bake(new ScaleAnimation(1f, 1f, 0.5f, 0.5f));
+
+        View view = mock(View.class);
+        baked.onAnimate(view, 0.3f, 0);
+        baked.onAnimateOffScreenLeft(view, -2f, 0);
+
+        verify(view).setScaleX(Mockito.anyFloat());
+        verify(view, never()).setAlpha(Mockito.anyFloat());
+        verify(view, never()).setTranslationX(Mockito.anyFloat());
+    }
+
+    @Test
+    public void testSamplesStartFromInitialProperties() throws Exception {
+        Animation animation = new Animation() {
+            @Override
+            public void onAnimate(View v, float offset, float offsetInPixel) {
+                v.setAlpha(v.getAlpha() / 2);
+                v.setTranslationX(v.getTranslationX() + offset);
+            }
+        };
+        BakedAnimation baked = new AnimationBaker(mContext, 100, 100, 5, false, false).bake(animation);
+
+        View view = mock(View.class);
+        SetterAnswer alpha = new SetterAnswer();
+        SetterAnswer translationX = new SetterAnswer();
+        doAnswer(alpha).when(view).setAlpha(Mockito.anyFloat());
+        doAnswer(translationX).when(view).setTranslationX(Mockito.anyFloat());
+        baked.onAnimate(view, 0.5f, 0);
+        assertEquals(0.5f, alpha.value, 0.0001f);
+        assertEquals(0.5f, translationX.value, 0.0001f);
+    }
+
+    @Test
+    public void testBakeAll() throws Exception {
+        Animation first = new AlphaAnimation(1f, 0f);
+        Animation second = new ScaleAnimation(1f, 1f, 0.5f, 0.5f);
+        List<Animation> animations = Arrays.asList(first, second, first);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<BakedAnimation> baked = new AnimationBaker(mContext, 100, 100, 5, false, false)
+                    .bakeAll(animations, executor);
+
+            assertEquals(3, baked.size());
+            assertSame(baked.get(0), baked.get(2));
+            assertEquals(scaleXOf(second, 0.5f), scaleXOf(baked.get(1), 0.5f), 0.0001f);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testBakeAddedAnimation() throws Exception {
+        Animation animation = new AlphaAnimation(1f, 0f);
+        animation.setFrameComposer(new FrameComposer());
+
+        try {
+            new AnimationBaker(mContext, 100, 100, 5, false, false).bake(animation);
+            fail("Animations added to a presenter cannot be baked");
+        } catch (IllegalStateException e) {
+            // Expected.
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSampleCount() throws Exception {
+        new AnimationBaker(mContext, 100, 100, 1, false);
+    }
+
+    private static float scaleXOf(Animation animation, float offset) {
+        View view = mock(View.class);
+        SetterAnswer answer = new SetterAnswer();
+        doAnswer(answer).when(view).setScaleX(Mockito.anyFloat());
+        animation.onAnimate(view, offset, 0);
+        return answer.value;
+    }
+}
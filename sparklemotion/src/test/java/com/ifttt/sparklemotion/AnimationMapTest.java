@@ -0,0 +1,53 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+@SmallTest
+public class AnimationMapTest {
+
+    @Test
+    public void testSortedIds() throws Exception {
+        AnimationMap map = new AnimationMap();
+        int[] ids = { 30, 10, 50, 20, 40, 60 };
+        for (int id : ids) {
+            assertTrue(map.add(id, new DummyAnimation()));
+        }
+
+        assertEquals(ids.length, map.size());
+        for (int i = 0; i < map.size(); i++) {
+            assertEquals((i + 1) * 10, map.idAt(i));
+        }
+    }
+
+    @Test
+    public void testAnimationsOrder() throws Exception {
+        AnimationMap map = new AnimationMap();
+        Animation[] animations = new Animation[5];
+        for (int i = 0; i < animations.length; i++) {
+            animations[i] = new DummyAnimation();
+            assertEquals(i == 0, map.add(1, animations[i]));
+            map.add(i + 2, new DummyAnimation());
+        }
+
+        assertEquals(animations.length, map.countAt(0));
+        for (int i = 0; i < animations.length; i++) {
+            assertSame(animations[i], map.animationsAt(0)[i]);
+        }
+        assertFalse(map.add(1, new DummyAnimation()));
+    }
+
+    private static final class DummyAnimation extends Animation {
+
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+        }
+    }
+}
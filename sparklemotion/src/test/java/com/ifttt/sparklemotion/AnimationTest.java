@@ -1,9 +1,13 @@
 package com.ifttt.sparklemotion;
 
 import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+
 import static junit.framework.Assert.assertEquals;
 
 @SmallTest
@@ -16,4 +20,82 @@ public final class AnimationTest {
         assertEquals(false, SparkleMotion.shouldAnimate(Page.singlePage(0), 2));
         assertEquals(false, SparkleMotion.shouldAnimate(Page.pageRange(0, 1), 2));
     }
+
+    @Test
+    public void testThresholdsCrossed() throws Exception {
+        Animation animation = new EmptyAnimation();
+        RecordingListener listener = new RecordingListener();
+        animation.setThresholdListener(new float[] { -0.5f, 0f, 0.5f }, listener);
+
+        int state = animation.dispatchThresholds(null, -0.8f, Animation.NO_THRESHOLD_STATE);
+        state = animation.dispatchThresholds(null, -0.7f, state);
+        assertEquals(Arrays.asList("enter"), listener.events);
+
+        state = animation.dispatchThresholds(null, 0.6f, state);
+        assertEquals(Arrays.asList("enter", "+0", "+1", "+2"), listener.events);
+
+        animation.dispatchThresholds(null, 0.2f, state);
+        assertEquals(Arrays.asList("enter", "+0", "+1", "+2", "-2"), listener.events);
+    }
+
+    @Test
+    public void testThresholdsNotCrossedOnFirstFrame() throws Exception {
+        Animation animation = new EmptyAnimation();
+        RecordingListener listener = new RecordingListener();
+        animation.setThresholdListener(new float[] { 0f }, listener);
+
+        int state = animation.dispatchThresholds(null, 0.5f, Animation.NO_THRESHOLD_STATE);
+        animation.dispatchThresholds(null, 0.7f, state);
+        assertEquals(Arrays.asList("enter"), listener.events);
+    }
+
+    @Test
+    public void testPageEnterExit() throws Exception {
+        Animation animation = new EmptyAnimation();
+        RecordingListener listener = new RecordingListener();
+        animation.setThresholdListener(new float[0], listener);
+
+        int state = animation.dispatchThresholds(null, 1.5f, Animation.NO_THRESHOLD_STATE);
+        assertEquals(0, listener.events.size());
+
+        state = animation.dispatchThresholds(null, 0.5f, state);
+        state = animation.dispatchThresholds(null, -1.5f, state);
+        assertEquals(Arrays.asList("enter", "exit"), listener.events);
+
+        state = animation.dispatchThresholds(null, 0f, state);
+        assertEquals(Animation.NO_THRESHOLD_STATE, animation.dispatchExit(null, state));
+        assertEquals(Arrays.asList("enter", "exit", "enter", "exit"), listener.events);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsortedThresholds() throws Exception {
+        new EmptyAnimation().setThresholdListener(new float[] { 0.5f, 0f }, new RecordingListener());
+    }
+
+    private static final class EmptyAnimation extends Animation {
+
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+        }
+    }
+
+    private static final class RecordingListener implements Animation.ThresholdListener {
+
+        final ArrayList<String> events = new ArrayList<>();
+
+        @Override
+        public void onThresholdCrossed(View view, int index, float threshold, boolean forward) {
+            events.add((forward ? "+" : "-") + index);
+        }
+
+        @Override
+        public void onPageEnter(View view) {
+            events.add("enter");
+        }
+
+        @Override
+        public void onPageExit(View view) {
+            events.add("exit");
+        }
+    }
 }
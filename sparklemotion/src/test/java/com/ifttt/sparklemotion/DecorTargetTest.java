@@ -0,0 +1,57 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit test for {@link DecorTarget}.
+ */
+@SmallTest
+public class DecorTargetTest {
+
+    private View mDecor;
+    private DecorTarget mTarget;
+
+    @Before
+    public void setUp() throws Exception {
+        mDecor = mock(View.class);
+        mTarget = new DecorTarget(mDecor);
+        mTarget.animations.add(mock(Animation.class));
+    }
+
+    @Test
+    public void testStrongByDefault() throws Exception {
+        assertSame(mDecor, mTarget.getView());
+        verify(mDecor, never()).addOnAttachStateChangeListener(mTarget);
+    }
+
+    @Test
+    public void testWeakRegistersListener() throws Exception {
+        mTarget.setWeak(true);
+        verify(mDecor).addOnAttachStateChangeListener(mTarget);
+        assertSame(mDecor, mTarget.getView());
+
+        mTarget.setWeak(false);
+        verify(mDecor).removeOnAttachStateChangeListener(mTarget);
+    }
+
+    @Test
+    public void testReleasedOnDetach() throws Exception {
+        mTarget.setWeak(true);
+        mTarget.onViewDetachedFromWindow(mDecor);
+
+        assertNull(mTarget.getView());
+        assertEquals(0, mTarget.animations.size());
+        verify(mDecor).removeOnAttachStateChangeListener(mTarget);
+    }
+}
@@ -0,0 +1,106 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link FrameBudget}.
+ */
+@SmallTest
+public class FrameBudgetTest {
+
+    private static final long MILLIS = 1000000;
+
+    private Animation mExpensive;
+    private Animation mCheap;
+    private Animation mFixed;
+    private FramePlan mPlan;
+
+    @Before
+    public void setUp() throws Exception {
+        mExpensive = new EmptyAnimation();
+        mExpensive.setDegradable(true);
+        mCheap = new EmptyAnimation();
+        mCheap.setDegradable(true);
+        mFixed = new EmptyAnimation();
+
+        AnimationMap animationMap = new AnimationMap();
+        animationMap.add(1, mExpensive);
+        animationMap.add(2, mCheap);
+        animationMap.add(3, mFixed);
+        mPlan = FramePlan.build(animationMap, new ArrayList<DecorTarget>());
+    }
+
+    @Test
+    public void testMostExpensiveDegradableDegraded() throws Exception {
+        FrameBudget budget = new FrameBudget(8 * MILLIS);
+        mCheap.costNanos = 10;
+        mFixed.costNanos = 20 * MILLIS;
+
+        budget.beginFrame(mPlan);
+        budget.record(mExpensive, 10 * MILLIS);
+        budget.beginFrame(mPlan);
+
+        // Running the expensive animation on every other frame covers the overrun.
+        assertTrue(mExpensive.isDegraded());
+        assertFalse(mCheap.isDegraded());
+        assertFalse(mFixed.isDegraded());
+    }
+
+    @Test
+    public void testWithinBudget() throws Exception {
+        FrameBudget budget = new FrameBudget(100 * MILLIS);
+
+        budget.beginFrame(mPlan);
+        budget.record(mExpensive, MILLIS);
+        budget.beginFrame(mPlan);
+
+        assertFalse(mExpensive.isDegraded());
+        assertFalse(budget.isSkippedFrame());
+    }
+
+    @Test
+    public void testSkippedFramesAlternate() throws Exception {
+        FrameBudget budget = new FrameBudget(MILLIS);
+
+        budget.beginFrame(mPlan);
+        budget.record(mExpensive, 10 * MILLIS);
+        budget.beginFrame(mPlan);
+
+        boolean skipped = budget.isSkippedFrame();
+        budget.beginFrame(mPlan);
+        assertTrue(skipped != budget.isSkippedFrame());
+        budget.beginFrame(mPlan);
+        assertTrue(skipped == budget.isSkippedFrame());
+    }
+
+    @Test
+    public void testRestore() throws Exception {
+        FrameBudget budget = new FrameBudget(MILLIS);
+        assertFalse(budget.restore(mPlan));
+
+        budget.beginFrame(mPlan);
+        budget.record(mExpensive, 10 * MILLIS);
+        budget.beginFrame(mPlan);
+        assertTrue(mExpensive.isDegraded());
+
+        assertTrue(budget.restore(mPlan));
+        assertFalse(mExpensive.isDegraded());
+        assertFalse(mCheap.isDegraded());
+        assertFalse(budget.isSkippedFrame());
+    }
+
+    private static final class EmptyAnimation extends Animation {
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+        }
+    }
+}
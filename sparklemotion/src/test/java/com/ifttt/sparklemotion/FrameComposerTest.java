@@ -0,0 +1,77 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link FrameComposer}.
+ */
+@SmallTest
+public class FrameComposerTest {
+
+    private FrameComposer mComposer;
+    private View mDummyView;
+
+    @Before
+    public void setUp() throws Exception {
+        mComposer = new FrameComposer();
+        mDummyView = mock(View.class);
+        when(mDummyView.getAlpha()).thenReturn(1f);
+    }
+
+    @Test
+    public void testComposition() throws Exception {
+        mComposer.begin();
+        mComposer.write(mDummyView, FrameComposer.TRANSLATION_X, 10f);
+        mComposer.write(mDummyView, FrameComposer.TRANSLATION_X, 5f);
+        mComposer.write(mDummyView, FrameComposer.SCALE_X, 2f);
+        mComposer.write(mDummyView, FrameComposer.SCALE_X, 3f);
+        verify(mDummyView, never()).setTranslationX(Mockito.anyFloat());
+        verify(mDummyView, never()).setScaleX(Mockito.anyFloat());
+
+        mComposer.commit();
+        verify(mDummyView, times(1)).setTranslationX(15f);
+        verify(mDummyView, times(1)).setScaleX(6f);
+    }
+
+    @Test
+    public void testUnchangedValue() throws Exception {
+        mComposer.begin();
+        mComposer.write(mDummyView, FrameComposer.ALPHA, 1f);
+        mComposer.commit();
+
+        verify(mDummyView, never()).setAlpha(Mockito.anyFloat());
+    }
+
+    @Test
+    public void testManyViews() throws Exception {
+        View[] views = new View[40];
+        mComposer.begin();
+        for (int i = 0; i < views.length; i++) {
+            views[i] = mock(View.class);
+            mComposer.write(views[i], FrameComposer.ROTATION, i + 1);
+            mComposer.write(views[i], FrameComposer.ROTATION, 1f);
+        }
+        mComposer.commit();
+
+        for (int i = 0; i < views.length; i++) {
+            verify(views[i], times(1)).setRotation(i + 2);
+        }
+    }
+
+    @Test
+    public void testOutsideOfFrame() throws Exception {
+        mComposer.write(mDummyView, FrameComposer.TRANSLATION_Y, 10f);
+        verify(mDummyView, times(1)).setTranslationY(10f);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link FramePlan}.
+ */
+@SmallTest
+public class FramePlanTest {
+
+    private AnimationMap mAnimationMap;
+    private ArrayList<DecorTarget> mDecorTargets;
+
+    @Before
+    public void setUp() throws Exception {
+        mAnimationMap = new AnimationMap();
+        mDecorTargets = new ArrayList<>();
+    }
+
+    @Test
+    public void testAnimationsGroupedBySortedId() throws Exception {
+        Animation first = new LayerAnimation(true);
+        Animation second = new LayerAnimation(true);
+        Animation third = new LayerAnimation(true);
+        first.setPage(Page.singlePage(1));
+        mAnimationMap.add(3, first);
+        mAnimationMap.add(1, second);
+        mAnimationMap.add(3, third);
+
+        FramePlan plan = FramePlan.build(mAnimationMap, mDecorTargets);
+
+        assertArrayEquals(new int[] { 1, 3 }, plan.ids);
+        assertArrayEquals(new int[] { 0, 1, 3 }, plan.idStarts);
+        assertSame(second, plan.animations[0]);
+        assertSame(first, plan.animations[1]);
+        assertSame(third, plan.animations[2]);
+        assertArrayEquals(new int[] { Page.ALL_PAGES, 1, Page.ALL_PAGES }, plan.pageStarts);
+        assertArrayEquals(new int[] { Page.ALL_PAGES, 1, Page.ALL_PAGES }, plan.pageEnds);
+    }
+
+    @Test
+    public void testShouldAnimate() throws Exception {
+        Animation ranged = new LayerAnimation(true);
+        ranged.setPage(Page.pageRange(1, 2));
+        mAnimationMap.add(1, ranged);
+        mAnimationMap.add(2, new LayerAnimation(true));
+
+        FramePlan plan = FramePlan.build(mAnimationMap, mDecorTargets);
+
+        assertFalse(plan.shouldAnimate(0, 0));
+        assertTrue(plan.shouldAnimate(0, 1));
+        assertTrue(plan.shouldAnimate(0, 2));
+        assertFalse(plan.shouldAnimate(0, 3));
+        assertTrue(plan.shouldAnimate(1, 5));
+    }
+
+    @Test
+    public void testLayerIds() throws Exception {
+        mAnimationMap.add(1, new LayerAnimation(true));
+        mAnimationMap.add(1, new LayerAnimation(false));
+        mAnimationMap.add(2, new LayerAnimation(true));
+
+        FramePlan plan = FramePlan.build(mAnimationMap, mDecorTargets);
+
+        assertFalse(plan.layerIds[0]);
+        assertTrue(plan.layerIds[1]);
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        FramePlan plan = FramePlan.build(mAnimationMap, mDecorTargets);
+
+        assertEquals(0, plan.ids.length);
+        assertArrayEquals(new int[] { 0 }, plan.idStarts);
+        assertEquals(0, plan.decorAnimations.length);
+        assertEquals(0, plan.decorIndex.alwaysOn().length);
+        assertEquals(0, plan.layerDecors.length);
+    }
+
+    private static final class LayerAnimation extends Animation {
+
+        private final boolean canUseHardwareLayer;
+
+        LayerAnimation(boolean canUseHardwareLayer) {
+            this.canUseHardwareLayer = canUseHardwareLayer;
+        }
+
+        @Override
+        public boolean canUseHardwareLayer() {
+            return canUseHardwareLayer;
+        }
+
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+        }
+    }
+}
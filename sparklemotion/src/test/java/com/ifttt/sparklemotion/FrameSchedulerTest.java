@@ -0,0 +1,129 @@
+package com.ifttt.sparklemotion;
+
+import android.support.v4.view.ViewPager;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link FrameScheduler}.
+ */
+@SmallTest
+public class FrameSchedulerTest {
+
+    private RecordingPresenter mPresenter;
+    private FakeFrameClock mFrameClock;
+    private FrameScheduler mScheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        mPresenter = new RecordingPresenter();
+        mFrameClock = new FakeFrameClock();
+        mScheduler = new FrameScheduler(mPresenter, mFrameClock);
+    }
+
+    @Test
+    public void testDecorAnimationsCoalesced() throws Exception {
+        mScheduler.scheduleDecorAnimations(0, 0.2f);
+        mScheduler.scheduleDecorAnimations(0, 0.4f);
+        mScheduler.scheduleDecorAnimations(1, 0.1f);
+
+        assertEquals(1, mFrameClock.posted);
+        assertEquals(0, mPresenter.decorCount);
+
+        mFrameClock.doFrame();
+        assertEquals(1, mPresenter.decorCount);
+        assertEquals(1, mPresenter.decorPosition);
+        assertEquals(0.1f, mPresenter.decorOffset);
+
+        // Nothing scheduled for the next frame.
+        mFrameClock.doFrame();
+        assertEquals(1, mPresenter.decorCount);
+    }
+
+    @Test
+    public void testAnimationsDedupedPerPage() throws Exception {
+        ViewPager viewPager = mock(ViewPager.class);
+        View first = mock(View.class);
+        View second = mock(View.class);
+
+        mScheduler.scheduleAnimations(viewPager, first, 0.2f, -20f);
+        mScheduler.scheduleAnimations(viewPager, second, -0.8f, 80f);
+        mScheduler.scheduleAnimations(viewPager, first, 0.5f, -50f);
+
+        assertEquals(1, mFrameClock.posted);
+
+        mFrameClock.doFrame();
+        assertEquals(2, mPresenter.pages.size());
+        assertSame(first, mPresenter.pages.get(0));
+        assertEquals(0.5f, mPresenter.offsets.get(0));
+        assertSame(second, mPresenter.pages.get(1));
+        assertEquals(-0.8f, mPresenter.offsets.get(1));
+    }
+
+    @Test
+    public void testNextFrameScheduled() throws Exception {
+        mScheduler.scheduleDecorAnimations(0, 0.2f);
+        mFrameClock.doFrame();
+
+        mScheduler.scheduleDecorAnimations(0, 0.4f);
+        assertEquals(2, mFrameClock.posted);
+
+        mFrameClock.doFrame();
+        assertEquals(2, mPresenter.decorCount);
+        assertEquals(0.4f, mPresenter.decorOffset);
+    }
+
+    private static final class FakeFrameClock implements FrameClock {
+
+        int posted;
+        long frameTimeNanos;
+        FrameCallback callback;
+
+        @Override
+        public void postFrameCallback(FrameCallback callback) {
+            posted++;
+            this.callback = callback;
+        }
+
+        void doFrame() {
+            frameTimeNanos += 16666667L;
+
+            FrameCallback pending = callback;
+            callback = null;
+            if (pending != null) {
+                pending.doFrame(frameTimeNanos);
+            }
+        }
+    }
+
+    private static final class RecordingPresenter extends SparkleMotion {
+
+        int decorCount;
+        int decorPosition;
+        float decorOffset;
+        final ArrayList<View> pages = new ArrayList<>();
+        final ArrayList<Float> offsets = new ArrayList<>();
+
+        @Override
+        void presentDecorAnimations(int position, float offset) {
+            decorCount++;
+            decorPosition = position;
+            decorOffset = offset;
+        }
+
+        @Override
+        void presentAnimations(ViewPager viewPager, View parent, float offset, float offsetInPixel) {
+            pages.add(parent);
+            offsets.add(offset);
+        }
+    }
+}
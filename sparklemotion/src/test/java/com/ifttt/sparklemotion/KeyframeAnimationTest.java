@@ -0,0 +1,115 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+import android.view.animation.Interpolator;
+import com.ifttt.sparklemotion.animations.KeyframeAnimation;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link KeyframeAnimation}.
+ */
+@SmallTest
+public class KeyframeAnimationTest {
+
+    private View mDummyView;
+    private SetterAnswer mAlphaAnswer;
+    private SetterAnswer mScaleXAnswer;
+
+    @Before
+    public void setUp() throws Exception {
+        mDummyView = mock(View.class);
+        mAlphaAnswer = new SetterAnswer();
+        mScaleXAnswer = new SetterAnswer();
+        doAnswer(mAlphaAnswer).when(mDummyView).setAlpha(Mockito.anyFloat());
+        doAnswer(mScaleXAnswer).when(mDummyView).setScaleX(Mockito.anyFloat());
+    }
+
+    @Test
+    public void testMultipleSegments() throws Exception {
+        KeyframeAnimation animation = new KeyframeAnimation.Builder()
+                .keyframe(KeyframeAnimation.ALPHA, 0f, 0f)
+                .keyframe(KeyframeAnimation.ALPHA, 1f, 1f)
+                .keyframe(KeyframeAnimation.ALPHA, 3f, 0f)
+                .build();
+
+        animate(animation, 0.5f);
+        assertEquals(0.5f, mAlphaAnswer.value, 0.001f);
+
+        animate(animation, 2.5f);
+        assertEquals(0.25f, mAlphaAnswer.value, 0.001f);
+
+        animate(animation, 1.5f);
+        assertEquals(0.75f, mAlphaAnswer.value, 0.001f);
+    }
+
+    @Test
+    public void testClampedOutsideKeyframes() throws Exception {
+        KeyframeAnimation animation = new KeyframeAnimation.Builder()
+                .keyframe(KeyframeAnimation.ALPHA, 1f, 0.2f)
+                .keyframe(KeyframeAnimation.ALPHA, 2f, 0.8f)
+                .build();
+
+        animate(animation, 0f);
+        assertEquals(0.2f, mAlphaAnswer.value, 0.001f);
+
+        animate(animation, 5f);
+        assertEquals(0.8f, mAlphaAnswer.value, 0.001f);
+    }
+
+    @Test
+    public void testUnsortedKeyframes() throws Exception {
+        KeyframeAnimation animation = new KeyframeAnimation.Builder()
+                .keyframe(KeyframeAnimation.SCALE_X, 2f, 2f)
+                .keyframe(KeyframeAnimation.SCALE_X, 0f, 1f)
+                .keyframe(KeyframeAnimation.ALPHA, 0f, 1f)
+                .build();
+
+        animate(animation, 1f);
+        assertEquals(1.5f, mScaleXAnswer.value, 0.001f);
+        assertEquals(1f, mAlphaAnswer.value, 0.001f);
+    }
+
+    @Test
+    public void testSegmentInterpolator() throws Exception {
+        KeyframeAnimation animation = new KeyframeAnimation.Builder()
+                .keyframe(KeyframeAnimation.ALPHA, 0f, 0f)
+                .keyframe(KeyframeAnimation.ALPHA, 1f, 1f, new Interpolator() {
+                    @Override
+                    public float getInterpolation(float input) {
+                        return input * input;
+                    }
+                })
+                .build();
+
+        animate(animation, 0.5f);
+        assertEquals(0.25f, mAlphaAnswer.value, 0.001f);
+    }
+
+    @Test
+    public void testUnknownScrollPosition() throws Exception {
+        KeyframeAnimation animation = new KeyframeAnimation.Builder()
+                .keyframe(KeyframeAnimation.ALPHA, -1f, 0f)
+                .keyframe(KeyframeAnimation.ALPHA, 1f, 1f)
+                .build();
+
+        animation.onAnimate(mDummyView, 0f, 0f);
+        assertEquals(0.5f, mAlphaAnswer.value, 0.001f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownProperty() throws Exception {
+        new KeyframeAnimation.Builder().keyframe(42, 0f, 0f);
+    }
+
+    private void animate(KeyframeAnimation animation, float scrollPosition) {
+        ((Animation) animation).setScrollPosition(scrollPosition);
+        animation.onAnimate(mDummyView, 0f, 0f);
+    }
+}
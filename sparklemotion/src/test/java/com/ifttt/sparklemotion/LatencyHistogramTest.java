@@ -0,0 +1,68 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ */
+@SmallTest
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(1000);
+        histogram.record(1023);
+        histogram.record(1024);
+
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(1));
+        assertEquals(2, histogram.getBucketCount(10));
+        assertEquals(1, histogram.getBucketCount(11));
+        assertEquals(5, histogram.getCount());
+        assertEquals(3048, histogram.getTotalNanos());
+        assertEquals(1024, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void testBucketUpperBound() throws Exception {
+        assertEquals(0, LatencyHistogram.getBucketUpperBoundNanos(0));
+        assertEquals(1, LatencyHistogram.getBucketUpperBoundNanos(1));
+        assertEquals(1023, LatencyHistogram.getBucketUpperBoundNanos(10));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.getBucketUpperBoundNanos(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void testPercentile() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentileNanos(50));
+
+        for (int i = 0; i < 9; i++) {
+            histogram.record(100);
+        }
+        histogram.record(5000);
+
+        assertEquals(127, histogram.getPercentileNanos(50));
+        assertEquals(127, histogram.getPercentileNanos(90));
+        assertEquals(5000, histogram.getPercentileNanos(100));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(100);
+        LatencyHistogram copy = histogram.copy();
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getBucketCount(7));
+        assertEquals(1, copy.getCount());
+        assertEquals(1, copy.getBucketCount(7));
+    }
+}
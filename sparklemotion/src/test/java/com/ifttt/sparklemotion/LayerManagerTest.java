@@ -0,0 +1,49 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link LayerManager}.
+ */
+@SmallTest
+public class LayerManagerTest {
+
+    @Test
+    public void testEnableAndDisable() throws Exception {
+        View view = mock(View.class);
+        when(view.getLayerType()).thenReturn(View.LAYER_TYPE_NONE);
+
+        LayerManager layerManager = new LayerManager();
+        layerManager.enable(view);
+        verify(view, times(1)).setLayerType(View.LAYER_TYPE_HARDWARE, null);
+
+        layerManager.disableAll();
+        verify(view, times(1)).setLayerType(View.LAYER_TYPE_NONE, null);
+
+        // Views are only switched back once.
+        layerManager.disableAll();
+        verify(view, times(1)).setLayerType(View.LAYER_TYPE_NONE, null);
+    }
+
+    @Test
+    public void testExistingLayer() throws Exception {
+        View view = mock(View.class);
+        when(view.getLayerType()).thenReturn(View.LAYER_TYPE_SOFTWARE);
+
+        LayerManager layerManager = new LayerManager();
+        layerManager.enable(view);
+        layerManager.disableAll();
+
+        verify(view, never()).setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        verify(view, never()).setLayerType(View.LAYER_TYPE_NONE, null);
+    }
+}
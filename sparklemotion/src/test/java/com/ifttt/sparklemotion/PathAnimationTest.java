@@ -0,0 +1,113 @@
+package com.ifttt.sparklemotion;
+
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import com.ifttt.sparklemotion.animations.PathAnimation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyFloat;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link PathAnimation}.
+ */
+@SmallTest
+public class PathAnimationTest {
+
+    private static final float LENGTH = 10f;
+
+    private PathMeasure mPathMeasure;
+    private View mDummyView;
+    private SetterAnswer mTranslationXAnswer;
+    private SetterAnswer mTranslationYAnswer;
+
+    @Before
+    public void setUp() throws Exception {
+        // A curve whose y grows with the square of the distance, so that interpolating between baked points is
+        // distinguishable from measuring the path.
+        mPathMeasure = mock(PathMeasure.class);
+        when(mPathMeasure.getLength()).thenReturn(LENGTH);
+        when(mPathMeasure.getPosTan(anyFloat(), any(float[].class), any(float[].class))).thenAnswer(
+                new Answer<Boolean>() {
+                    @Override
+                    public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                        float distance = (Float) invocation.getArguments()[0];
+                        float[] coordinates = (float[]) invocation.getArguments()[1];
+                        coordinates[0] = distance;
+                        coordinates[1] = distance * distance;
+                        return true;
+                    }
+                });
+
+        mDummyView = mock(View.class);
+        mTranslationXAnswer = new SetterAnswer();
+        mTranslationYAnswer = new SetterAnswer();
+        doAnswer(mTranslationXAnswer).when(mDummyView).setTranslationX(Mockito.anyFloat());
+        doAnswer(mTranslationYAnswer).when(mDummyView).setTranslationY(Mockito.anyFloat());
+    }
+
+    @Test
+    public void testBakedInterpolation() throws Exception {
+        PathAnimation animation = new PathAnimation(mPathMeasure, true, 2);
+
+        // Halfway between the points at distances 0 and 5.
+        animation.onAnimate(mDummyView, 0.25f, 0);
+        assertEquals(2.5f, mTranslationXAnswer.value, 0.001f);
+        assertEquals(12.5f, mTranslationYAnswer.value, 0.001f);
+
+        // Between the points at distances 5 and 10.
+        animation.onAnimate(mDummyView, -0.75f, 0);
+        assertEquals(7.5f, mTranslationXAnswer.value, 0.001f);
+        assertEquals(62.5f, mTranslationYAnswer.value, 0.001f);
+    }
+
+    @Test
+    public void testBakedBounds() throws Exception {
+        PathAnimation animation = new PathAnimation(mPathMeasure, true, 4);
+
+        animation.onAnimate(mDummyView, 0f, 0);
+        assertEquals(0f, mTranslationXAnswer.value, 0.001f);
+        assertEquals(0f, mTranslationYAnswer.value, 0.001f);
+
+        animation.onAnimate(mDummyView, 1f, 0);
+        assertEquals(10f, mTranslationXAnswer.value, 0.001f);
+        assertEquals(100f, mTranslationYAnswer.value, 0.001f);
+
+        animation.onAnimate(mDummyView, -1f, 0);
+        assertEquals(10f, mTranslationXAnswer.value, 0.001f);
+        assertEquals(100f, mTranslationYAnswer.value, 0.001f);
+    }
+
+    @Test
+    public void testMeasuredOnEveryFrame() throws Exception {
+        PathAnimation animation = new PathAnimation(mPathMeasure, true, 0);
+        verify(mPathMeasure, times(0)).getPosTan(anyFloat(), any(float[].class), any(float[].class));
+
+        animation.onAnimate(mDummyView, 0.25f, 0);
+        assertEquals(2.5f, mTranslationXAnswer.value, 0.001f);
+        assertEquals(6.25f, mTranslationYAnswer.value, 0.001f);
+
+        animation.onAnimate(mDummyView, 0.25f, 0);
+        verify(mPathMeasure, times(2)).getPosTan(eq(2.5f), any(float[].class), any(float[].class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeResolution() throws Exception {
+        new PathAnimation(new Path(), true, -1);
+    }
+}
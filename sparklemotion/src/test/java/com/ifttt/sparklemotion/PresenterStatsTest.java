@@ -0,0 +1,84 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import com.ifttt.sparklemotion.animations.AlphaAnimation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link PresenterStats}.
+ */
+@SmallTest
+public class PresenterStatsTest {
+
+    private SparkleMotion mPresenter;
+    private PresenterStats mStats;
+
+    @Before
+    public void setUp() throws Exception {
+        mPresenter = new SparkleMotion();
+        mStats = new PresenterStats();
+        mPresenter.setStats(mStats);
+    }
+
+    @Test
+    public void testDecorAnimationsRecorded() throws Exception {
+        View decor = mock(View.class);
+        Animation animation = new AlphaAnimation(1f, 0f);
+        Animation culled = new AlphaAnimation(1f, 0f);
+        culled.setPage(Page.singlePage(2));
+        mPresenter.addAnimation(decor, animation, culled);
+
+        mPresenter.beginFrame();
+        mPresenter.presentDecorAnimations(0, 0.5f);
+
+        PresenterStats.Snapshot snapshot = mStats.snapshot();
+        assertEquals(1, snapshot.framesPresented);
+        assertEquals(1, snapshot.animationsEvaluated);
+        assertEquals(1, snapshot.animationsCulled);
+        assertEquals(1, snapshot.propertyWrites);
+        assertEquals(1, snapshot.animationLatencies.get(animation).getCount());
+        assertEquals(0, snapshot.animationLatencies.get(culled).getCount());
+        assertEquals(1, snapshot.decorLatencies.get(decor).getCount());
+    }
+
+    @Test
+    public void testSnapshotIsCopy() throws Exception {
+        View decor = mock(View.class);
+        Animation animation = new AlphaAnimation(1f, 0f);
+        mPresenter.addAnimation(decor, animation);
+
+        mPresenter.presentDecorAnimations(0, 0.5f);
+        PresenterStats.Snapshot snapshot = mStats.snapshot();
+        mPresenter.presentDecorAnimations(0, 0.6f);
+
+        assertEquals(1, snapshot.animationsEvaluated);
+        assertEquals(1, snapshot.animationLatencies.get(animation).getCount());
+        assertEquals(2, mStats.snapshot().animationLatencies.get(animation).getCount());
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        View decor = mock(View.class);
+        Animation animation = new AlphaAnimation(1f, 0f);
+        mPresenter.addAnimation(decor, animation);
+        mPresenter.presentDecorAnimations(0, 0.5f);
+
+        mStats.reset();
+
+        PresenterStats.Snapshot snapshot = mStats.snapshot();
+        assertEquals(0, snapshot.animationsEvaluated);
+        assertEquals(0, snapshot.propertyWrites);
+        assertEquals(0, snapshot.animationLatencies.get(animation).getCount());
+
+        mPresenter.presentDecorAnimations(0, 0.6f);
+        assertTrue(mStats.snapshot().animationsEvaluated == 1);
+    }
+}
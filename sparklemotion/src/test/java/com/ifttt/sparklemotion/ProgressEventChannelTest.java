@@ -0,0 +1,117 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit test for {@link ProgressEventChannel}.
+ */
+@SmallTest
+public class ProgressEventChannelTest {
+
+    private RecordingConsumer mConsumer;
+
+    @Before
+    public void setUp() throws Exception {
+        mConsumer = new RecordingConsumer();
+    }
+
+    @Test
+    public void testCapacityRoundedUp() throws Exception {
+        assertEquals(8, new ProgressEventChannel(5).getCapacity());
+        assertEquals(8, new ProgressEventChannel(8).getCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() throws Exception {
+        new ProgressEventChannel(0);
+    }
+
+    @Test
+    public void testDrainInOrder() throws Exception {
+        ProgressEventChannel channel = new ProgressEventChannel(4);
+        channel.publish(1, 2, -0.5f, 100L);
+        channel.publish(3, -1, 0.25f, 200L);
+
+        assertEquals(2, channel.drain(mConsumer));
+        assertEquals(1, mConsumer.eventIds.get(0).intValue());
+        assertEquals(2, mConsumer.pages.get(0).intValue());
+        assertEquals(-0.5f, mConsumer.offsets.get(0), 0f);
+        assertEquals(100L, mConsumer.frameTimes.get(0).longValue());
+        assertEquals(3, mConsumer.eventIds.get(1).intValue());
+        assertEquals(-1, mConsumer.pages.get(1).intValue());
+        assertEquals(0.25f, mConsumer.offsets.get(1), 0f);
+        assertEquals(200L, mConsumer.frameTimes.get(1).longValue());
+
+        assertEquals(0, channel.drain(mConsumer));
+        assertEquals(2, channel.getPublishedCount());
+        assertEquals(2, channel.getConsumedCount());
+        assertEquals(0, channel.getDroppedCount());
+    }
+
+    @Test
+    public void testOverflowDropsOldest() throws Exception {
+        ProgressEventChannel channel = new ProgressEventChannel(4);
+        for (int i = 0; i < 10; i++) {
+            channel.publish(i, 0, 0f, i);
+        }
+
+        assertEquals(4, channel.drain(mConsumer));
+        assertEquals(6, mConsumer.eventIds.get(0).intValue());
+        assertEquals(9, mConsumer.eventIds.get(3).intValue());
+        assertEquals(6, channel.getDroppedCount());
+        assertEquals(4, channel.getConsumedCount());
+    }
+
+    @Test
+    public void testConcurrentConsumer() throws Exception {
+        final ProgressEventChannel channel = new ProgressEventChannel(64);
+        final int count = 100000;
+        final long[] last = { -1 };
+        final boolean[] ordered = { true };
+        final ProgressEventChannel.Consumer consumer = new ProgressEventChannel.Consumer() {
+            @Override
+            public void onProgress(int eventId, int page, float offset, long frameTimeNanos) {
+                // Every record is consistent and newer than the previous one.
+                ordered[0] &= frameTimeNanos > last[0] && eventId == (int) frameTimeNanos && page == -eventId
+                        && offset == eventId;
+                last[0] = frameTimeNanos;
+            }
+        };
+
+        Thread thread = new Thread(channel.newDrainer(consumer, 0));
+        thread.start();
+        for (int i = 0; i < count; i++) {
+            channel.publish(i, -i, i, i);
+        }
+        thread.interrupt();
+        thread.join();
+        channel.drain(consumer);
+
+        assertTrue(ordered[0]);
+        assertEquals(count, channel.getConsumedCount() + channel.getDroppedCount());
+    }
+
+    private static final class RecordingConsumer implements ProgressEventChannel.Consumer {
+
+        final ArrayList<Integer> eventIds = new ArrayList<>();
+        final ArrayList<Integer> pages = new ArrayList<>();
+        final ArrayList<Float> offsets = new ArrayList<>();
+        final ArrayList<Long> frameTimes = new ArrayList<>();
+
+        @Override
+        public void onProgress(int eventId, int page, float offset, long frameTimeNanos) {
+            eventIds.add(eventId);
+            pages.add(page);
+            offsets.add(offset);
+            frameTimes.add(frameTimeNanos);
+        }
+    }
+}
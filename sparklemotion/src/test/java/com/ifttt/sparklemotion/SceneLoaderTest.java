@@ -0,0 +1,103 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+import com.ifttt.sparklemotion.scene.Scene;
+import com.ifttt.sparklemotion.scene.SceneLoader;
+import com.ifttt.sparklemotion.scene.compiler.SceneCompiler;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit test for {@link SceneLoader}.
+ */
+@SmallTest
+public class SceneLoaderTest {
+
+    private static final String SCENE = ""
+            + "animate title pages 1-2\n"
+            + "    alpha 1:0 2:1\n"
+            + "animate plane\n"
+            + "    path 0 1 2 \"M0 0 H100 V100\"\n"
+            + "animate title pages 3\n"
+            + "    rotation 3:0 4:90\n";
+
+    private static final SceneLoader.IdResolver RESOLVER = new SceneLoader.IdResolver() {
+        @Override
+        public int getId(String name) {
+            return name.equals("title") ? 1 : name.equals("plane") ? 2 : 0;
+        }
+    };
+
+    @Test
+    public void testLoadAnimations() throws Exception {
+        Scene scene = SceneLoader.load(ByteBuffer.wrap(SceneCompiler.compile(SCENE)), RESOLVER);
+
+        assertEquals(3, scene.getAnimationCount());
+        assertEquals(1, scene.getTargetId(0));
+        assertEquals(2, scene.getTargetId(1));
+        assertEquals(1, scene.getTargetId(2));
+        assertEquals(1, scene.getPage(0).start);
+        assertEquals(2, scene.getPage(0).end);
+        assertEquals(Page.ALL_PAGES, scene.getPage(1).start);
+        assertEquals(3, scene.getPage(2).start);
+        assertEquals(3, scene.getPage(2).end);
+    }
+
+    @Test
+    public void testLoadedKeyframes() throws Exception {
+        Scene scene = SceneLoader.load(new ByteArrayInputStream(SceneCompiler.compile(SCENE)), RESOLVER);
+
+        View view = mock(View.class);
+        SetterAnswer translationX = new SetterAnswer();
+        SetterAnswer translationY = new SetterAnswer();
+        SetterAnswer rotation = new SetterAnswer();
+        doAnswer(translationX).when(view).setTranslationX(Mockito.anyFloat());
+        doAnswer(translationY).when(view).setTranslationY(Mockito.anyFloat());
+        doAnswer(rotation).when(view).setRotation(Mockito.anyFloat());
+
+        Animation path = scene.getAnimation(1);
+        path.setScrollPosition(0.75f);
+        path.onAnimate(view, 0f, 0f);
+        assertEquals(100f, translationX.value, 0.001f);
+        assertEquals(50f, translationY.value, 0.001f);
+
+        Animation spin = scene.getAnimation(2);
+        spin.setScrollPosition(3.5f);
+        spin.onAnimate(view, 0f, 0f);
+        assertEquals(45f, rotation.value, 0.001f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownTarget() throws Exception {
+        SceneLoader.load(ByteBuffer.wrap(SceneCompiler.compile("animate missing\n    alpha 0:1\n")), RESOLVER);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAScene() throws Exception {
+        SceneLoader.load(ByteBuffer.wrap(new byte[32]), RESOLVER);
+    }
+
+    @Test
+    public void testCorruptedCounts() throws Exception {
+        // Name, animation, track and keyframe counts follow the magic and the version.
+        for (int offset = 8; offset < 24; offset += 4) {
+            ByteBuffer buffer = ByteBuffer.wrap(SceneCompiler.compile(SCENE));
+            buffer.putInt(offset, Integer.MAX_VALUE);
+            try {
+                SceneLoader.load(buffer, RESOLVER);
+                fail("Loaded a scene with a corrupted count at " + offset);
+            } catch (IllegalArgumentException e) {
+                // Expected.
+            }
+        }
+    }
+}
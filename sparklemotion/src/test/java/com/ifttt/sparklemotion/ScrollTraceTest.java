@@ -0,0 +1,202 @@
+package com.ifttt.sparklemotion;
+
+import android.support.v4.view.ViewPager;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link ScrollTrace}, {@link ScrollTraceRecorder} and {@link ScrollTraceReplayer}.
+ */
+@SmallTest
+public class ScrollTraceTest {
+
+    private ViewPager mViewPager;
+    private View mPage1;
+    private View mPage2;
+
+    @Before
+    public void setUp() throws Exception {
+        mViewPager = newViewPager();
+        mPage1 = mock(View.class);
+        mPage2 = mock(View.class);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ScrollTrace trace = new ScrollTrace(2, new long[]{10L, 20L}, new int[]{0, 1}, new float[]{0.5f, 0f},
+                new int[]{0, 2, 3}, new int[]{0, 1, 1}, new float[]{-0.5f, 0.5f, 0f});
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.writeTo(out);
+        ScrollTrace read = ScrollTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(2, read.getPageCount());
+        assertEquals(2, read.getFrameCount());
+        assertEquals(20L, read.getFrameTimeNanos(1));
+        assertEquals(1, read.getPosition(1));
+        assertEquals(0.5f, read.getOffset(0));
+        assertEquals(2, read.getTransformCount(0));
+        assertEquals(1, read.getTransformCount(1));
+        assertEquals(1, read.getTransformPage(0, 1));
+        assertEquals(0.5f, read.getTransformPosition(0, 1));
+        assertEquals(0f, read.getTransformPosition(1, 0));
+    }
+
+    @Test
+    public void testReadInvalidTrace() throws Exception {
+        try {
+            ScrollTrace.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 0, 0, 0, 1}));
+            fail();
+        } catch (IOException e) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testReadManyFrames() throws Exception {
+        int frameCount = 1000;
+        long[] frameTimes = new long[frameCount];
+        int[] positions = new int[frameCount];
+        float[] offsets = new float[frameCount];
+        int[] transformStarts = new int[frameCount + 1];
+        int[] transformPages = new int[frameCount * 3];
+        float[] transformPositions = new float[frameCount * 3];
+        for (int frame = 0; frame < frameCount; frame++) {
+            frameTimes[frame] = frame * 16L;
+            transformStarts[frame + 1] = (frame + 1) * 3;
+            transformPositions[frame * 3] = frame;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new ScrollTrace(1, frameTimes, positions, offsets, transformStarts, transformPages, transformPositions)
+                .writeTo(out);
+        ScrollTrace read = ScrollTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(frameCount, read.getFrameCount());
+        assertEquals(999 * 16L, read.getFrameTimeNanos(999));
+        assertEquals(3, read.getTransformCount(999));
+        assertEquals(999f, read.getTransformPosition(999, 0));
+    }
+
+    @Test
+    public void testReadCorruptedFrameCount() throws Exception {
+        ScrollTrace trace = new ScrollTrace(1, new long[]{10L}, new int[]{0}, new float[]{0f}, new int[]{0, 1},
+                new int[]{0}, new float[]{0f});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.writeTo(out);
+
+        // The frame count follows the magic, the version and the page count.
+        byte[] bytes = out.toByteArray();
+        bytes[12] = 0x7f;
+        bytes[13] = (byte) 0xff;
+        bytes[14] = (byte) 0xff;
+        bytes[15] = (byte) 0xff;
+
+        try {
+            ScrollTrace.readFrom(new ByteArrayInputStream(bytes));
+            fail();
+        } catch (IOException e) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        SparkleMotion presenter = new SparkleMotion();
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, presenter);
+        PresenterBinding binding = SparkleMotionCompat.getBinding(mViewPager);
+
+        ScrollTraceRecorder recorder = ScrollTraceRecorder.start(mViewPager);
+        binding.onPageScrolled(0, 0.25f, 25);
+        binding.transformPage(mPage1, -0.25f);
+        binding.transformPage(mPage2, 0.75f);
+        binding.onPageScrolled(0, 0.5f, 50);
+        binding.transformPage(mPage2, 0.5f);
+        ScrollTrace trace = recorder.stop();
+
+        // Stopped recorders no longer record.
+        binding.onPageScrolled(1, 0f, 0);
+
+        assertEquals(2, trace.getPageCount());
+        assertEquals(2, trace.getFrameCount());
+        assertEquals(0.5f, trace.getOffset(1));
+        assertEquals(2, trace.getTransformCount(0));
+        assertEquals(1, trace.getTransformPage(1, 0));
+        assertEquals(0.5f, trace.getTransformPosition(1, 0));
+
+        ViewPager replayPager = newViewPager();
+        SparkleMotion replayPresenter = new SparkleMotion();
+        CountingAnimation animation = new CountingAnimation();
+        replayPresenter.addAnimation(mock(View.class), animation);
+        SparkleMotionCompat.installAnimationPresenter(replayPager, false, replayPresenter);
+
+        new ScrollTraceReplayer(trace).replay(replayPager, new View[]{mPage1, mPage2});
+
+        assertEquals(2, animation.count);
+        assertEquals(0.5f, animation.lastOffset);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReplayTooFewPages() throws Exception {
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, new SparkleMotion());
+        ScrollTrace trace = new ScrollTrace(2, new long[0], new int[0], new float[0], new int[]{0}, new int[0],
+                new float[0]);
+
+        new ScrollTraceReplayer(trace).replay(mViewPager, new View[]{mPage1});
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRecordWithoutPresenter() throws Exception {
+        ScrollTraceRecorder.start(mViewPager);
+    }
+
+    private static ViewPager newViewPager() {
+        ViewPager viewPager = mock(ViewPager.class);
+        final Object[] tag = new Object[1];
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                tag[0] = invocation.getArguments()[1];
+                return null;
+            }
+        }).when(viewPager).setTag(eq(R.id.presenter_id), any());
+        when(viewPager.getTag(R.id.presenter_id)).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return tag[0];
+            }
+        });
+        when(viewPager.getWidth()).thenReturn(100);
+
+        return viewPager;
+    }
+
+    private static final class CountingAnimation extends Animation {
+
+        int count;
+        float lastOffset;
+
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+            count++;
+            lastOffset = offset;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.ifttt.sparklemotion;
+
+import android.support.v4.view.ViewPager;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link SparkleMotionCompat}.
+ */
+@SmallTest
+public class SparkleMotionCompatTest {
+
+    private static final int PAGE_ID = 1;
+
+    private ViewPager mViewPager;
+    private View mPage;
+
+    @Before
+    public void setUp() throws Exception {
+        mViewPager = mock(ViewPager.class);
+        keepPresenterTag(mViewPager);
+
+        mPage = mock(View.class);
+        when(mPage.getId()).thenReturn(PAGE_ID);
+        when(mPage.getWidth()).thenReturn(100);
+        when(mViewPager.getWidth()).thenReturn(100);
+        when(mViewPager.getChildCount()).thenReturn(1);
+        when(mViewPager.getChildAt(0)).thenReturn(mPage);
+    }
+
+    @Test
+    public void testInstallIsIdempotent() throws Exception {
+        SparkleMotion presenter = new SparkleMotion();
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, presenter);
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, presenter);
+
+        verify(mViewPager, times(1)).addOnPageChangeListener(any(ViewPager.OnPageChangeListener.class));
+        verify(mViewPager, times(1)).setPageTransformer(eq(false), any(ViewPager.PageTransformer.class));
+        assertSame(presenter, SparkleMotionCompat.getAnimationPresenter(mViewPager));
+    }
+
+    @Test
+    public void testInstallReplacesPresenter() throws Exception {
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, new SparkleMotion());
+        PresenterBinding first = SparkleMotionCompat.getBinding(mViewPager);
+
+        SparkleMotion presenter = new SparkleMotion();
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, presenter);
+
+        verify(mViewPager).removeOnPageChangeListener(first);
+        assertTrue(first.presenter.isPaused());
+        assertSame(presenter, SparkleMotionCompat.getAnimationPresenter(mViewPager));
+    }
+
+    @Test
+    public void testUninstall() throws Exception {
+        SparkleMotionCompat.installAnimationPresenter(mViewPager);
+        PresenterBinding binding = SparkleMotionCompat.getBinding(mViewPager);
+
+        SparkleMotionCompat.uninstallAnimationPresenter(mViewPager);
+
+        verify(mViewPager).removeOnPageChangeListener(binding);
+        verify(mViewPager).removeOnAttachStateChangeListener(binding);
+        assertNull(SparkleMotionCompat.getAnimationPresenter(mViewPager));
+    }
+
+    @Test
+    public void testBuildersSharePresenter() throws Exception {
+        SparkleViewPagerLayout layout = mock(SparkleViewPagerLayout.class);
+        when(layout.getViewPager()).thenReturn(mViewPager);
+
+        AnimationBuilder builder = SparkleMotion.newBuilder(mViewPager);
+        ExternalAnimationBuilder externalBuilder = SparkleMotion.newBuilder(layout);
+
+        assertSame(builder.presenter, externalBuilder.presenter);
+        verify(mViewPager, times(1)).addOnPageChangeListener(any(ViewPager.OnPageChangeListener.class));
+    }
+
+    @Test
+    public void testPausedWhileStopped() throws Exception {
+        SparkleMotion presenter = new SparkleMotion();
+        CountingAnimation animation = new CountingAnimation();
+        presenter.addAnimation(PAGE_ID, animation);
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, presenter);
+        PresenterBinding binding = SparkleMotionCompat.getBinding(mViewPager);
+
+        SparkleMotionCompat.pauseAnimations(mViewPager);
+        binding.transformPage(mPage, 0f);
+        assertEquals(0, animation.count);
+
+        // Resuming applies the current frame again.
+        SparkleMotionCompat.resumeAnimations(mViewPager);
+        assertFalse(presenter.isPaused());
+        assertEquals(1, animation.count);
+    }
+
+    @Test
+    public void testPausedWhileDetached() throws Exception {
+        SparkleMotion presenter = new SparkleMotion();
+        CountingAnimation animation = new CountingAnimation();
+        presenter.addAnimation(PAGE_ID, animation);
+        SparkleMotionCompat.installAnimationPresenter(mViewPager, false, presenter);
+        PresenterBinding binding = SparkleMotionCompat.getBinding(mViewPager);
+
+        binding.onViewDetachedFromWindow(mViewPager);
+        SparkleMotionCompat.resumeAnimations(mViewPager);
+        binding.transformPage(mPage, 0f);
+        assertTrue(presenter.isPaused());
+        assertEquals(0, animation.count);
+
+        binding.onViewAttachedToWindow(mViewPager);
+        assertEquals(1, animation.count);
+    }
+
+    /**
+     * Keep the presenter tag of the ViewPager, as the tags of a mock View are not saved.
+     */
+    private static void keepPresenterTag(ViewPager viewPager) {
+        final Object[] tag = new Object[1];
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                tag[0] = invocation.getArguments()[1];
+                return null;
+            }
+        }).when(viewPager).setTag(eq(R.id.presenter_id), any());
+        when(viewPager.getTag(R.id.presenter_id)).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return tag[0];
+            }
+        });
+    }
+
+    private static final class CountingAnimation extends Animation {
+
+        int count;
+
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+            count++;
+        }
+    }
+}
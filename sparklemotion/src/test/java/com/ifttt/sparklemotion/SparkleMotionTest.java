@@ -0,0 +1,349 @@
+package com.ifttt.sparklemotion;
+
+import android.support.v4.view.ViewPager;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+import android.view.animation.Interpolator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link SparkleMotion}.
+ */
+@SmallTest
+public class SparkleMotionTest {
+
+    private static final int PAGE_ID = 1;
+
+    private SparkleMotion mPresenter;
+    private ViewPager mDummyViewPager;
+    private View mDummyPage;
+
+    @Before
+    public void setUp() throws Exception {
+        mPresenter = new SparkleMotion();
+
+        mDummyViewPager = mock(ViewPager.class);
+        when(mDummyViewPager.getCurrentItem()).thenReturn(1);
+
+        mDummyPage = mock(View.class);
+        when(mDummyPage.getId()).thenReturn(PAGE_ID);
+        when(mDummyPage.getWidth()).thenReturn(100);
+    }
+
+    @Test
+    public void testInPageAnimationPage() throws Exception {
+        CountingAnimation animation = new CountingAnimation();
+        animation.setPage(Page.singlePage(2));
+        mPresenter.addAnimation(PAGE_ID, animation);
+
+        // Current page.
+        mPresenter.presentAnimations(mDummyViewPager, mDummyPage, 0f, 0f);
+        assertEquals(0, animation.count);
+
+        // Next page.
+        mPresenter.presentAnimations(mDummyViewPager, mDummyPage, 1f, -100f);
+        assertEquals(1, animation.count);
+    }
+
+    @Test
+    public void testInPageAnimationScrollPosition() throws Exception {
+        CountingAnimation animation = new CountingAnimation();
+        animation.setPage(Page.singlePage(2));
+        mPresenter.addAnimation(PAGE_ID, animation);
+
+        mPresenter.setScrollPosition(1, 0.6f);
+        mPresenter.presentAnimations(mDummyViewPager, mDummyPage, 0.4f, -40f);
+        assertEquals(1, animation.count);
+    }
+
+    @Test
+    public void testInPageAnimationUnknownPosition() throws Exception {
+        CountingAnimation animation = new CountingAnimation();
+        animation.setPage(Page.singlePage(2));
+        mPresenter.addAnimation(PAGE_ID, animation);
+
+        mPresenter.presentAnimations(null, mDummyPage, 0f, 0f);
+        assertEquals(1, animation.count);
+    }
+
+    @Test
+    public void testDecorAnimationPage() throws Exception {
+        View decor = mock(View.class);
+        CountingAnimation allPages = new CountingAnimation();
+        CountingAnimation singlePage = new CountingAnimation();
+        singlePage.setPage(Page.singlePage(1));
+        mPresenter.addAnimation(decor, allPages, singlePage);
+
+        mPresenter.presentDecorAnimations(0, 0.5f);
+        assertEquals(1, allPages.count);
+        assertEquals(0, singlePage.count);
+
+        mPresenter.presentDecorAnimations(1, 0.5f);
+        assertEquals(2, allPages.count);
+        assertEquals(1, singlePage.count);
+    }
+
+    @Test
+    public void testOffScreenAnimationCulled() throws Exception {
+        keepViewCache(mDummyPage);
+        CountingAnimation animation = new CountingAnimation();
+        mPresenter.addAnimation(PAGE_ID, animation);
+
+        mPresenter.presentAnimations(null, mDummyPage, 2f, -200f);
+        mPresenter.presentAnimations(null, mDummyPage, 1.5f, -150f);
+        assertEquals(1, animation.offScreenRightCount);
+
+        mPresenter.presentAnimations(null, mDummyPage, 0.5f, -50f);
+        mPresenter.presentAnimations(null, mDummyPage, -1.5f, 150f);
+        mPresenter.presentAnimations(null, mDummyPage, -2f, 200f);
+        assertEquals(1, animation.count);
+        assertEquals(1, animation.offScreenLeftCount);
+
+        mPresenter.presentAnimations(null, mDummyPage, 1.5f, -150f);
+        assertEquals(2, animation.offScreenRightCount);
+    }
+
+    @Test
+    public void testOffScreenAnimationNotCulledWithOnScreenAnimation() throws Exception {
+        keepViewCache(mDummyPage);
+        CountingAnimation offScreen = new CountingAnimation();
+        CountingAnimation onScreen = new CountingAnimation();
+        onScreen.setInterpolator(new Interpolator() {
+            @Override
+            public float getInterpolation(float input) {
+                return input / 2;
+            }
+        });
+        mPresenter.addAnimation(PAGE_ID, offScreen);
+        mPresenter.addAnimation(PAGE_ID, onScreen);
+
+        mPresenter.presentAnimations(null, mDummyPage, 1.5f, -150f);
+        mPresenter.presentAnimations(null, mDummyPage, 1.6f, -160f);
+
+        // The off-screen state is written again along with the other animation of the View.
+        assertEquals(2, offScreen.offScreenRightCount);
+        assertEquals(2, onScreen.count);
+    }
+
+    @Test
+    public void testCommittedAnimationsRun() throws Exception {
+        CountingAnimation animation = new CountingAnimation();
+        CountingAnimation decorAnimation = new CountingAnimation();
+        mPresenter.addAnimation(PAGE_ID, animation);
+        mPresenter.addAnimation(mock(View.class), decorAnimation);
+        mPresenter.commit();
+
+        mPresenter.presentAnimations(null, mDummyPage, 0f, 0f);
+        mPresenter.presentDecorAnimations(0, 0f);
+        assertEquals(1, animation.count);
+        assertEquals(1, decorAnimation.count);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAnimationAfterCommit() throws Exception {
+        mPresenter.addAnimation(PAGE_ID, new CountingAnimation());
+        mPresenter.commit();
+
+        mPresenter.addAnimation(PAGE_ID, new CountingAnimation());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddDecorAnimationAfterCommit() throws Exception {
+        mPresenter.commit();
+
+        mPresenter.addAnimation(mock(View.class), new CountingAnimation());
+    }
+
+    @Test
+    public void testPlanRebuiltBeforeCommit() throws Exception {
+        mPresenter.addAnimation(PAGE_ID, new CountingAnimation());
+        FramePlan plan = mPresenter.getPlan();
+        assertSame(plan, mPresenter.getPlan());
+
+        mPresenter.addAnimation(PAGE_ID, new CountingAnimation());
+        assertEquals(2, mPresenter.getPlan().animations.length);
+    }
+
+    @Test
+    public void testWeakDecorReleasedOnDetach() throws Exception {
+        View decor = mock(View.class);
+        final View.OnAttachStateChangeListener[] listener = new View.OnAttachStateChangeListener[1];
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                listener[0] = (View.OnAttachStateChangeListener) invocation.getArguments()[0];
+                return null;
+            }
+        }).when(decor).addOnAttachStateChangeListener(any(View.OnAttachStateChangeListener.class));
+
+        CountingAnimation animation = new CountingAnimation();
+        mPresenter.setWeakDecors(true);
+        mPresenter.addAnimation(decor, animation);
+        mPresenter.commit();
+
+        mPresenter.presentDecorAnimations(0, 0f);
+        assertEquals(1, animation.count);
+
+        listener[0].onViewDetachedFromWindow(decor);
+        mPresenter.presentDecorAnimations(0, 0.5f);
+        assertEquals(1, animation.count);
+        assertNull(mPresenter.getPlan().decorAnimations[0]);
+    }
+
+    @Test
+    public void testDecorThresholdListener() throws Exception {
+        View decor = mock(View.class);
+        CountingAnimation animation = new CountingAnimation();
+        animation.setPage(Page.singlePage(1));
+        final int[] events = new int[3];
+        animation.setThresholdListener(new float[] { 0.5f }, new Animation.ThresholdListener() {
+            @Override
+            public void onThresholdCrossed(View view, int index, float threshold, boolean forward) {
+                events[0]++;
+            }
+
+            @Override
+            public void onPageEnter(View view) {
+                events[1]++;
+            }
+
+            @Override
+            public void onPageExit(View view) {
+                events[2]++;
+            }
+        });
+        mPresenter.addAnimation(decor, animation);
+
+        mPresenter.presentDecorAnimations(1, 0.2f);
+        mPresenter.presentDecorAnimations(1, 0.3f);
+        mPresenter.presentDecorAnimations(1, 0.6f);
+        mPresenter.presentDecorAnimations(2, 0f);
+
+        assertEquals(1, events[0]);
+        assertEquals(1, events[1]);
+        assertEquals(1, events[2]);
+    }
+
+    @Test
+    public void testProgressEventsPublished() throws Exception {
+        ProgressEventChannel channel = new ProgressEventChannel(8);
+        mPresenter.setProgressEventChannel(channel);
+
+        CountingAnimation published = new CountingAnimation();
+        published.setProgressEventId(7);
+        mPresenter.addAnimation(mock(View.class), published, new CountingAnimation());
+
+        mPresenter.setFrameTime(42L);
+        mPresenter.presentDecorAnimations(1, 0.5f);
+
+        final int[] record = new int[2];
+        assertEquals(1, channel.drain(new ProgressEventChannel.Consumer() {
+            @Override
+            public void onProgress(int eventId, int page, float offset, long frameTimeNanos) {
+                record[0] = eventId;
+                record[1] = page;
+                assertEquals(42L, frameTimeNanos);
+            }
+        }));
+        assertEquals(7, record[0]);
+        assertEquals(1, record[1]);
+    }
+
+    @Test
+    public void testTraceSections() throws Exception {
+        final StringBuilder trace = new StringBuilder();
+        mPresenter.setTracer(new Tracer() {
+            @Override
+            public void beginSection(String sectionName) {
+                trace.append('[').append(sectionName);
+            }
+
+            @Override
+            public void endSection() {
+                trace.append(']');
+            }
+        });
+
+        mPresenter.addAnimation(mock(View.class), new CountingAnimation());
+        mPresenter.presentDecorAnimations(0, 0.5f);
+
+        assertEquals("[SparkleMotion:presentDecorAnimations[SparkleMotion:SparkleMotionTest$CountingAnimation]]",
+                trace.toString());
+    }
+
+    @Test
+    public void testOffScreenAnimationWithListenerNotCulled() throws Exception {
+        keepViewCache(mDummyPage);
+        CountingAnimation animation = new CountingAnimation();
+        final int[] listenerCount = new int[1];
+        animation.setAnimationListener(new Animation.AnimationListener() {
+            @Override
+            public void onAnimationRunning(View view, float fraction) {
+                listenerCount[0]++;
+            }
+        });
+        mPresenter.addAnimation(PAGE_ID, animation);
+
+        mPresenter.presentAnimations(null, mDummyPage, 1.5f, -150f);
+        mPresenter.presentAnimations(null, mDummyPage, 1.6f, -160f);
+        mPresenter.presentAnimations(null, mDummyPage, 1.7f, -170f);
+
+        assertEquals(3, animation.offScreenRightCount);
+        assertEquals(3, listenerCount[0]);
+    }
+
+    /**
+     * Keep the ViewCache of the page between frames, as the tags of a mock View are not saved.
+     */
+    private static void keepViewCache(View page) {
+        final Object[] viewCache = new Object[1];
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                viewCache[0] = invocation.getArguments()[1];
+                return null;
+            }
+        }).when(page).setTag(eq(R.id.view_cache_id), any());
+        when(page.getTag(R.id.view_cache_id)).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                return viewCache[0];
+            }
+        });
+    }
+
+    private static final class CountingAnimation extends Animation {
+
+        int count;
+        int offScreenLeftCount;
+        int offScreenRightCount;
+
+        @Override
+        public void onAnimate(View v, float offset, float offsetInPixel) {
+            count++;
+        }
+
+        @Override
+        public void onAnimateOffScreenLeft(View v, float offset, float offsetInPixel) {
+            offScreenLeftCount++;
+        }
+
+        @Override
+        public void onAnimateOffScreenRight(View v, float offset, float offsetInPixel) {
+            offScreenRightCount++;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ifttt.sparklemotion;
+
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit test for {@link ViewCache}.
+ */
+@SmallTest
+public class ViewCacheTest {
+
+    private static final int PAGE_ID = 1;
+
+    private View mDummyPage;
+
+    @Before
+    public void setUp() throws Exception {
+        mDummyPage = mock(View.class);
+        when(mDummyPage.getId()).thenReturn(PAGE_ID);
+    }
+
+    @Test
+    public void testResolveOnce() throws Exception {
+        ViewCache cache = ViewCache.obtain(mDummyPage, 1, 1, 0);
+        when(mDummyPage.getTag(R.id.view_cache_id)).thenReturn(cache);
+
+        assertSame(mDummyPage, cache.resolve(mDummyPage, 0, PAGE_ID));
+        assertSame(mDummyPage, ViewCache.obtain(mDummyPage, 1, 1, 0).resolve(mDummyPage, 0, PAGE_ID));
+        verify(mDummyPage, times(1)).getId();
+    }
+
+    @Test
+    public void testGenerationChange() throws Exception {
+        ViewCache cache = ViewCache.obtain(mDummyPage, 1, 1, 0);
+        when(mDummyPage.getTag(R.id.view_cache_id)).thenReturn(cache);
+        cache.resolve(mDummyPage, 0, PAGE_ID);
+
+        assertSame(cache, ViewCache.obtain(mDummyPage, 1, 1, 1));
+        cache.resolve(mDummyPage, 0, PAGE_ID);
+        verify(mDummyPage, times(2)).getId();
+    }
+
+    @Test
+    public void testNewPage() throws Exception {
+        ViewCache cache = ViewCache.obtain(mDummyPage, 1, 1, 0);
+        View newPage = mock(View.class);
+
+        assertNotSame(cache, ViewCache.obtain(newPage, 1, 1, 0));
+    }
+
+    @Test
+    public void testUpdateSide() throws Exception {
+        ViewCache cache = ViewCache.obtain(mDummyPage, 1, 1, 0);
+
+        assertTrue(cache.updateSide(0, Animation.SIDE_ON_SCREEN));
+        assertTrue(cache.updateSide(0, Animation.SIDE_ON_SCREEN));
+        assertTrue(cache.updateSide(0, Animation.SIDE_RIGHT));
+        assertFalse(cache.updateSide(0, Animation.SIDE_RIGHT));
+        assertTrue(cache.updateSide(0, Animation.SIDE_LEFT));
+        assertFalse(cache.updateSide(0, Animation.SIDE_LEFT));
+    }
+
+    @Test
+    public void testGenerationChangeResetsSides() throws Exception {
+        ViewCache cache = ViewCache.obtain(mDummyPage, 1, 1, 0);
+        when(mDummyPage.getTag(R.id.view_cache_id)).thenReturn(cache);
+        cache.updateSide(0, Animation.SIDE_RIGHT);
+
+        assertTrue(ViewCache.obtain(mDummyPage, 1, 1, 1).updateSide(0, Animation.SIDE_RIGHT));
+    }
+}